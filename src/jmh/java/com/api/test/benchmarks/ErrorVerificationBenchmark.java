@@ -0,0 +1,70 @@
+package com.api.test.benchmarks;
+
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_ERRORS_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_PAGE_COUNT_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TRACEID_KEY;
+
+import com.api.test.verifications.ErrorExpectation;
+import com.api.test.verifications.ErrorVerificationEngine;
+import io.restassured.path.json.JsonPath;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Verifies an invalid page count error body the way {@code ErrorMessagesVerification} used to, with
+ * a fresh {@code jsonPath()} parse per field, and with the parse-once {@link
+ * ErrorVerificationEngine}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorVerificationBenchmark {
+
+  private static final String BODY =
+      "{\"type\":\"https://tools.ietf.org/html/rfc7231#section-6.5.1\","
+          + "\"title\":\"One or more validation errors occurred.\",\"status\":400,"
+          + "\"traceId\":\"00-5a1e3b0c9f2d4e6a8b7c1d2e3f405162-1a2b3c4d5e6f7081-00\","
+          + "\"errors\":{\"$.pageCount\":[\"The JSON value could not be converted to"
+          + " System.Int32. Path: $.pageCount | LineNumber: 0 | BytePositionInLine: 42.\"]}}";
+
+  private final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+  private final ErrorVerificationEngine engine =
+      new ErrorVerificationEngine(
+          ErrorExpectation.validation(
+              ERROR_MESSAGE_PAGE_COUNT_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32));
+
+  @Benchmark
+  public void verifyWithJsonPathPerField(Blackhole blackhole) {
+    blackhole.consume(new JsonPath(BODY).getString(ERROR_MESSAGE_TITLE_KEY));
+    blackhole.consume(new JsonPath(BODY).get(ERROR_MESSAGE_TRACEID_KEY));
+    blackhole.consume(
+        new JsonPath(BODY)
+            .getMap(ERROR_MESSAGE_ERRORS_KEY)
+            .containsKey(ERROR_MESSAGE_PAGE_COUNT_KEY));
+    blackhole.consume(
+        new JsonPath(BODY)
+            .getString(
+                String.format(
+                    "%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PAGE_COUNT_KEY)));
+  }
+
+  @Benchmark
+  public String verifyWithEngine() {
+    return engine.check(body);
+  }
+}
@@ -0,0 +1,68 @@
+package com.api.test.benchmarks;
+
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.api.test.requests.ApiClientContext;
+import com.api.test.requests.BookRequests;
+import com.api.test.server.LocalApiServer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full {@code BaseRequest.sendRequest} round trips against the {@link LocalApiServer} on the
+ * loopback interface. With the network taken out, the score is bounded by the client: REST-assured
+ * request building, filters, serialization and response parsing, plus the embedded server sharing
+ * the same machine.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+  private LocalApiServer server;
+  private BookRequests bookRequests;
+  private Book book;
+
+  @Setup
+  public void setup() {
+    server = LocalApiServer.start(0);
+    System.setProperty("baseUrl", server.getBaseUrl());
+    bookRequests = new BookRequests();
+    book = new BookRepository().getFakeNewBook();
+    book.setId(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    ApiClientContext.shutdownAll();
+    server.stop();
+  }
+
+  @Benchmark
+  public int getBookById() {
+    return bookRequests.getBookById(1).statusCode();
+  }
+
+  @Benchmark
+  public Book getBookByIdAsModel() {
+    return bookRequests.getBookById(1).as(Book.class);
+  }
+
+  @Benchmark
+  public int updateBook() {
+    return bookRequests.updateBook(1, book).statusCode();
+  }
+}
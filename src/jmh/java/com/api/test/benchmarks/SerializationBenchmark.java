@@ -0,0 +1,100 @@
+package com.api.test.benchmarks;
+
+import com.api.test.json.JsonSerializer;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.LoadDataFromJson;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes and reads a fixture {@link Book} and {@link Author} with the pretty-printing Gson the
+ * suite used to build payloads with, a compact Gson, and the shared Jackson {@link JsonSerializer}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+  private final Gson prettyGson = new GsonBuilder().setPrettyPrinting().create();
+  private final Gson gson = new Gson();
+
+  private Book book;
+  private Author author;
+  private byte[] bookJson;
+  private byte[] authorJson;
+
+  @Setup
+  public void setup() {
+    LoadDataFromJson loader = new LoadDataFromJson();
+    book = loader.loadObjects("data/books/books.json", Book.class).get(0);
+    author = loader.loadObjects("data/authors/authors.json", Author.class).get(0);
+    bookJson = JsonSerializer.toBytes(book);
+    authorJson = JsonSerializer.toBytes(author);
+  }
+
+  @Benchmark
+  public byte[] writeBookPrettyGson() {
+    return prettyGson.toJson(book).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeBookGson() {
+    return gson.toJson(book).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeBookJackson() {
+    return JsonSerializer.toBytes(book);
+  }
+
+  @Benchmark
+  public Book readBookGson() {
+    return gson.fromJson(new String(bookJson, StandardCharsets.UTF_8), Book.class);
+  }
+
+  @Benchmark
+  public Book readBookJackson() {
+    return JsonSerializer.fromBytes(bookJson, Book.class);
+  }
+
+  @Benchmark
+  public byte[] writeAuthorPrettyGson() {
+    return prettyGson.toJson(author).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeAuthorGson() {
+    return gson.toJson(author).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] writeAuthorJackson() {
+    return JsonSerializer.toBytes(author);
+  }
+
+  @Benchmark
+  public Author readAuthorGson() {
+    return gson.fromJson(new String(authorJson, StandardCharsets.UTF_8), Author.class);
+  }
+
+  @Benchmark
+  public Author readAuthorJackson() {
+    return JsonSerializer.fromBytes(authorJson, Author.class);
+  }
+}
@@ -0,0 +1,77 @@
+package com.api.test.benchmarks;
+
+import com.api.test.json.JsonSerializer;
+import com.api.test.models.Author;
+import com.api.test.models.AuthorRecord;
+import com.api.test.models.Book;
+import com.api.test.models.BookRecord;
+import com.api.test.repositories.AuthorRepository;
+import com.api.test.repositories.BookRepository;
+import com.api.test.repositories.BulkDataGenerator;
+import com.api.test.repositories.LoadDataFromJson;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of producing test data: generating fake books and authors with the repositories and with the
+ * {@link BulkDataGenerator} tables, and loading the fixture files with {@link
+ * LoadDataFromJson#loadObjects(String, Class)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TestDataBenchmark {
+
+  private final BookRepository bookRepository = new BookRepository();
+  private final AuthorRepository authorRepository = new AuthorRepository();
+  private final LoadDataFromJson loader = new LoadDataFromJson();
+  private final BulkDataGenerator generator = new BulkDataGenerator(42);
+  private long index;
+
+  @Benchmark
+  public Book fakeNewBook() {
+    return bookRepository.getFakeNewBook();
+  }
+
+  @Benchmark
+  public Author fakeNewAuthor() {
+    return authorRepository.getFakeNewAuthor();
+  }
+
+  @Benchmark
+  public BookRecord bulkBook() {
+    return generator.book(index++);
+  }
+
+  @Benchmark
+  public AuthorRecord bulkAuthor() {
+    return generator.author(index++);
+  }
+
+  @Benchmark
+  public byte[] bulkBookPayload() {
+    return JsonSerializer.toBytes(generator.book(index++));
+  }
+
+  @Benchmark
+  public List<Book> loadBooks() {
+    return loader.loadObjects("data/books/books.json", Book.class);
+  }
+
+  @Benchmark
+  public List<Author> loadAuthors() {
+    return loader.loadObjects("data/authors/authors.json", Author.class);
+  }
+}
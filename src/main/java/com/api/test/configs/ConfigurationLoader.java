@@ -2,29 +2,112 @@ package com.api.test.configs;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
 import java.util.Properties;
 
+/**
+ * The {@code ConfigurationLoader} class reads the settings of the project from {@code
+ * application.properties} on the classpath. A system property with the same name takes precedence
+ * over the file, so any setting can be overridden from the command line, e.g. {@code
+ * -Dload.rate=200}.
+ *
+ * <p>A profile can be selected with the {@code config.profile} system property or, if that is not
+ * set, the {@code CONFIG_PROFILE} environment variable. The settings of {@code
+ * application-<profile>.properties} are then laid over the base file, e.g. {@code
+ * -Dconfig.profile=prod} runs the suite with the heavy settings of {@code
+ * application-prod.properties}. Typed performance settings are read once into a {@link
+ * PerformanceConfig}.
+ */
 public class ConfigurationLoader {
 
+  public static final String PROFILE_PROPERTY = "config.profile";
+  public static final String PROFILE_ENV = "CONFIG_PROFILE";
+
   private static Properties properties = new Properties();
+  private static final String activeProfile;
 
   static {
-    try (InputStream input =
-        ConfigurationLoader.class.getClassLoader().getResourceAsStream("application.properties")) {
-      if (input == null) {
-        throw new RuntimeException("application.properties not found in classpath");
-      }
-      properties.load(input);
-    } catch (IOException ex) {
-      throw new RuntimeException("Failed to load application.properties", ex);
+    load("application.properties", properties);
+    String profile = System.getProperty(PROFILE_PROPERTY, System.getenv(PROFILE_ENV));
+    activeProfile = profile == null || profile.trim().isEmpty() ? null : profile.trim();
+    if (activeProfile != null) {
+      load(String.format("application-%s.properties", activeProfile), properties);
     }
   }
 
+  /** Returns the selected profile, e.g. {@code dev}, or empty if only the base file is used. */
+  public static Optional<String> getActiveProfile() {
+    return Optional.ofNullable(activeProfile);
+  }
+
   public static String getProperty(String key) {
-    String value = properties.getProperty(key);
+    String value = lookup(key);
     if (value == null) {
       throw new RuntimeException("Property " + key + " not found in application.properties");
     }
     return value;
   }
+
+  public static String getProperty(String key, String defaultValue) {
+    String value = lookup(key);
+    return value == null ? defaultValue : value;
+  }
+
+  public static int getIntProperty(String key, int defaultValue) {
+    String value = lookup(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException ex) {
+      throw new RuntimeException("Property " + key + " is not a valid integer: " + value, ex);
+    }
+  }
+
+  public static long getLongProperty(String key, long defaultValue) {
+    String value = lookup(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException ex) {
+      throw new RuntimeException("Property " + key + " is not a valid integer: " + value, ex);
+    }
+  }
+
+  public static double getDoubleProperty(String key, double defaultValue) {
+    String value = lookup(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException ex) {
+      throw new RuntimeException("Property " + key + " is not a valid number: " + value, ex);
+    }
+  }
+
+  /** Loads a properties file of the classpath over the given properties. */
+  private static void load(String resourceName, Properties target) {
+    try (InputStream input =
+        ConfigurationLoader.class.getClassLoader().getResourceAsStream(resourceName)) {
+      if (input == null) {
+        throw new RuntimeException(resourceName + " not found in classpath");
+      }
+      target.load(input);
+    } catch (IOException ex) {
+      throw new RuntimeException("Failed to load " + resourceName, ex);
+    }
+  }
+
+  /**
+   * Returns the value of the key with surrounding whitespace removed, so every accessor reads a
+   * value written as {@code key= value} the same, or {@code null} if the key is not set.
+   */
+  private static String lookup(String key) {
+    String value = System.getProperty(key, properties.getProperty(key));
+    return value == null ? null : value.trim();
+  }
 }
@@ -0,0 +1,92 @@
+package com.api.test.configs;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable transport and load settings, read once through {@link ConfigurationLoader} and shared
+ * by every HTTP client and load run of the JVM.
+ *
+ * <ul>
+ *   <li>{@code poolSize} - {@code http.pool.maxTotal}, maximum open connections per endpoint
+ *   <li>{@code poolSizePerRoute} - {@code http.pool.maxPerRoute}, maximum open connections to a
+ *       single host, the pool size by default
+ *   <li>{@code connectTimeout} - {@code http.timeout.connectMillis}, time to open a connection
+ *   <li>{@code readTimeout} - {@code http.timeout.readMillis}, maximum silence while waiting for
+ *       response data
+ *   <li>{@code requestTimeout} - {@code http.timeout.requestMillis}, overall time one attempt of a
+ *       request may take, unless its method has its own {@code http.timeout.<method>.millis}
+ *   <li>{@code maxConcurrentRequests} - {@code load.concurrency}, requests in flight of a load run
+ *   <li>{@code targetRate} - {@code load.rate}, requests per second of a load run, {@code 0} for
+ *       unpaced
+ *   <li>{@code warmup} - {@code load.warmupSeconds}, unmeasured time at the start of a load run
+ * </ul>
+ *
+ * <p>A timeout of zero means no timeout. Profiles set these to run the same suite as a light smoke
+ * check or as a heavy load run, see {@link ConfigurationLoader}.
+ */
+@Value
+@Builder
+public class PerformanceConfig {
+
+  @Builder.Default int poolSize = 50;
+  @Builder.Default int poolSizePerRoute = 50;
+  @Builder.Default Duration connectTimeout = Duration.ofSeconds(10);
+  @Builder.Default Duration readTimeout = Duration.ofSeconds(30);
+  @Builder.Default Duration requestTimeout = Duration.ofSeconds(60);
+  @Builder.Default int maxConcurrentRequests = 10;
+  @Builder.Default double targetRate = 0;
+  @Builder.Default Duration warmup = Duration.ZERO;
+
+  /** Returns the settings of this JVM, read on first use. */
+  public static PerformanceConfig get() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Reads the settings through {@link ConfigurationLoader}.
+   *
+   * @throws IllegalArgumentException if a setting is out of range
+   */
+  public static PerformanceConfig fromConfiguration() {
+    int poolSize = ConfigurationLoader.getIntProperty("http.pool.maxTotal", 50);
+    PerformanceConfig config =
+        PerformanceConfig.builder()
+            .poolSize(poolSize)
+            .poolSizePerRoute(ConfigurationLoader.getIntProperty("http.pool.maxPerRoute", poolSize))
+            .connectTimeout(millis("http.timeout.connectMillis", 10_000))
+            .readTimeout(millis("http.timeout.readMillis", 30_000))
+            .requestTimeout(millis("http.timeout.requestMillis", 60_000))
+            .maxConcurrentRequests(ConfigurationLoader.getIntProperty("load.concurrency", 10))
+            .targetRate(ConfigurationLoader.getDoubleProperty("load.rate", 0))
+            .warmup(
+                Duration.ofSeconds(ConfigurationLoader.getLongProperty("load.warmupSeconds", 0)))
+            .build();
+    config.validate();
+    return config;
+  }
+
+  private void validate() {
+    if (poolSize <= 0 || poolSizePerRoute <= 0 || maxConcurrentRequests <= 0) {
+      throw new IllegalArgumentException(
+          "Pool sizes and maximum concurrent requests must be positive: " + this);
+    }
+    if (connectTimeout.isNegative()
+        || readTimeout.isNegative()
+        || requestTimeout.isNegative()
+        || warmup.isNegative()
+        || targetRate < 0) {
+      throw new IllegalArgumentException(
+          "Timeouts, warm-up and rate must not be negative: " + this);
+    }
+  }
+
+  private static Duration millis(String key, long defaultValue) {
+    return Duration.ofMillis(ConfigurationLoader.getLongProperty(key, defaultValue));
+  }
+
+  private static final class Holder {
+    private static final PerformanceConfig INSTANCE = fromConfiguration();
+  }
+}
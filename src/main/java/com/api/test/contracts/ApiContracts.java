@@ -0,0 +1,69 @@
+package com.api.test.contracts;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The response contracts of the Books and Authors API, compiled once when the class is loaded:
+ *
+ * <ul>
+ *   <li>{@link #BOOK} - {@code id}, {@code title}, {@code description}, {@code pageCount}, {@code
+ *       excerpt} and {@code publishDate}
+ *   <li>{@link #AUTHOR} - {@code id}, {@code idBook}, {@code firstName} and {@code lastName}
+ *   <li>{@link #PROBLEM} - the RFC 7807 error body of {@code 400} and {@code 404} responses, with
+ *       {@code errors} mapping each invalid field to its messages
+ * </ul>
+ *
+ * <p>String fields may be {@code null}, like the string properties of the service's .NET models;
+ * numbers and dates may not.
+ */
+public final class ApiContracts {
+
+  public static final JsonContract BOOK =
+      JsonContract.builder("Book")
+          .required("id", JsonType.INTEGER)
+          .nullable("title", JsonType.STRING)
+          .nullable("description", JsonType.STRING)
+          .required("pageCount", JsonType.INTEGER)
+          .nullable("excerpt", JsonType.STRING)
+          .required("publishDate", JsonType.DATE_TIME)
+          .build();
+
+  public static final JsonContract AUTHOR =
+      JsonContract.builder("Author")
+          .required("id", JsonType.INTEGER)
+          .required("idBook", JsonType.INTEGER)
+          .nullable("firstName", JsonType.STRING)
+          .nullable("lastName", JsonType.STRING)
+          .build();
+
+  public static final JsonContract PROBLEM =
+      JsonContract.builder("Problem")
+          .required("type", JsonType.STRING)
+          .required("title", JsonType.STRING)
+          .required("status", JsonType.INTEGER)
+          .required("traceId", JsonType.STRING)
+          .optional("errors", JsonType.STRING_ARRAY_MAP)
+          .build();
+
+  private ApiContracts() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Returns the contract of the successful responses of an endpoint.
+   *
+   * @param endpoint the endpoint path, e.g. {@code api/v1/Books}
+   * @return the contract, or empty if the endpoint has none
+   */
+  public static Optional<JsonContract> forEndpoint(String endpoint) {
+    String path = endpoint.toLowerCase(Locale.ROOT);
+    if (path.endsWith("/books")) {
+      return Optional.of(BOOK);
+    }
+    if (path.endsWith("/authors")) {
+      return Optional.of(AUTHOR);
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,25 @@
+package com.api.test.contracts;
+
+/**
+ * Thrown when a response body does not meet its {@link JsonContract}, so the call counts as failed
+ * even though the server answered with a success status.
+ */
+public class ContractViolationException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String violation;
+
+  public ContractViolationException(String request, int statusCode, String violation) {
+    super(
+        String.format(
+            "%s answered %d with a body that breaks its contract: %s",
+            request, statusCode, violation));
+    this.violation = violation;
+  }
+
+  /** Returns the violation, e.g. {@code Book.pageCount: expected an int but found ...}. */
+  public String getViolation() {
+    return violation;
+  }
+}
@@ -0,0 +1,283 @@
+package com.api.test.contracts;
+
+import com.api.test.json.JsonSerializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code JsonContract} class validates the shape of a JSON response body in a single streaming
+ * pass, without building a tree or binding a model. A contract is compiled once from its fields:
+ * every field gets a slot in a bit mask, so checking that the required fields are present costs one
+ * {@code long} per object.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   JsonContract book =
+ *       JsonContract.builder("Book")
+ *           .required("id", JsonType.INTEGER)
+ *           .nullable("title", JsonType.STRING)
+ *           .build();
+ *   String violation = book.validate(response.asByteArray());
+ * }
+ * </pre>
+ *
+ * <p>The body may be a single object or an array of objects, as returned by the collection
+ * endpoints. Fields that the contract does not declare are skipped, so the service can add fields
+ * without breaking the contract. Instances are immutable and thread-safe. Contracts are declared in
+ * {@link ApiContracts}, the only place they are built.
+ */
+public final class JsonContract {
+
+  private static final JsonFactory FACTORY = JsonSerializer.mapper().getFactory();
+
+  private final String name;
+  private final Map<String, Field> fields;
+  private final long requiredMask;
+
+  private JsonContract(String name, List<Field> fields) {
+    this.name = name;
+    Map<String, Field> byName = new HashMap<>();
+    long required = 0;
+    for (Field field : fields) {
+      byName.put(field.name, field);
+      if (field.required) {
+        required |= field.bit;
+      }
+    }
+    this.fields = byName;
+    this.requiredMask = required;
+  }
+
+  static Builder builder(String name) {
+    return new Builder(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Validates a body.
+   *
+   * @param body the raw JSON body, an object or an array of objects
+   * @return a description of the first violation, or {@code null} if the body meets the contract
+   */
+  public String validate(byte[] body) {
+    try (JsonParser parser = FACTORY.createParser(body)) {
+      JsonToken token = parser.nextToken();
+      String violation;
+      if (token == JsonToken.START_OBJECT) {
+        violation = validateObject(parser);
+      } else if (token == JsonToken.START_ARRAY) {
+        violation = validateArray(parser);
+      } else {
+        return name + ": expected an object or an array but found " + token;
+      }
+      if (violation == null && parser.nextToken() != null) {
+        return name + ": unexpected content after the body";
+      }
+      return violation;
+    } catch (IOException e) {
+      return name + ": body is not valid JSON";
+    }
+  }
+
+  private String validateArray(JsonParser parser) throws IOException {
+    int index = 0;
+    for (JsonToken token = parser.nextToken();
+        token != JsonToken.END_ARRAY;
+        token = parser.nextToken(), index++) {
+      if (token != JsonToken.START_OBJECT) {
+        return String.format("%s[%d]: expected an object but found %s", name, index, token);
+      }
+      String violation = validateObject(parser);
+      if (violation != null) {
+        return String.format("[%d] %s", index, violation);
+      }
+    }
+    return null;
+  }
+
+  /** Validates the object whose {@code START_OBJECT} is the current token, up to its end. */
+  private String validateObject(JsonParser parser) throws IOException {
+    long seen = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      Field field = fields.get(parser.getCurrentName());
+      JsonToken value = parser.nextToken();
+      if (field == null) {
+        parser.skipChildren();
+        continue;
+      }
+      seen |= field.bit;
+      String violation = field.check(parser, value);
+      if (violation != null) {
+        return String.format("%s.%s: %s", name, field.name, violation);
+      }
+    }
+    long missing = requiredMask & ~seen;
+    if (missing != 0) {
+      for (Field field : fields.values()) {
+        if ((missing & field.bit) != 0) {
+          return String.format("%s.%s: missing", name, field.name);
+        }
+      }
+    }
+    return null;
+  }
+
+  /** Builder of {@link JsonContract}; a contract has at most 64 fields. */
+  static final class Builder {
+
+    private final String name;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private Builder(String name) {
+      this.name = name;
+    }
+
+    /** Declares a field that must be present and must not be {@code null}. */
+    public Builder required(String field, JsonType type) {
+      return add(field, type, true, false);
+    }
+
+    /** Declares a field that must be present but may be {@code null}. */
+    public Builder nullable(String field, JsonType type) {
+      return add(field, type, true, true);
+    }
+
+    /** Declares a field that may be missing, but has the type when it is there. */
+    public Builder optional(String field, JsonType type) {
+      return add(field, type, false, false);
+    }
+
+    private Builder add(String field, JsonType type, boolean required, boolean nullable) {
+      if (fields.size() == Long.SIZE) {
+        throw new IllegalStateException("A contract has at most 64 fields: " + name);
+      }
+      if (fields.containsKey(field)) {
+        throw new IllegalArgumentException("Duplicate field " + field + " in contract " + name);
+      }
+      fields.put(field, new Field(field, type, required, nullable, 1L << fields.size()));
+      return this;
+    }
+
+    public JsonContract build() {
+      return new JsonContract(name, Collections.unmodifiableList(new ArrayList<>(fields.values())));
+    }
+  }
+
+  /** A compiled field: its type, whether it must be there, and its bit in the presence mask. */
+  private static final class Field {
+
+    private final String name;
+    private final JsonType type;
+    private final boolean required;
+    private final boolean nullable;
+    private final long bit;
+
+    private Field(String name, JsonType type, boolean required, boolean nullable, long bit) {
+      this.name = name;
+      this.type = type;
+      this.required = required;
+      this.nullable = nullable;
+      this.bit = bit;
+    }
+
+    /** Checks the value whose first token is current, leaving the parser on its last token. */
+    private String check(JsonParser parser, JsonToken value) throws IOException {
+      if (value == JsonToken.VALUE_NULL) {
+        return nullable ? null : "must not be null";
+      }
+      switch (type) {
+        case INTEGER:
+          return value == JsonToken.VALUE_NUMBER_INT
+                  && parser.getNumberType() == JsonParser.NumberType.INT
+              ? null
+              : "expected an int but found " + describe(parser, value);
+        case STRING:
+          return value == JsonToken.VALUE_STRING
+              ? null
+              : "expected a string but found " + describe(parser, value);
+        case DATE_TIME:
+          return value == JsonToken.VALUE_STRING && isDateTime(parser)
+              ? null
+              : "expected an ISO-8601 date-time but found " + describe(parser, value);
+        case STRING_ARRAY_MAP:
+          return checkStringArrayMap(parser, value);
+        default:
+          throw new IllegalStateException("Unknown field type " + type);
+      }
+    }
+
+    private static String checkStringArrayMap(JsonParser parser, JsonToken value)
+        throws IOException {
+      if (value != JsonToken.START_OBJECT) {
+        return "expected an object but found " + value;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String key = parser.getCurrentName();
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          parser.skipChildren();
+          return "expected an array of strings at " + key;
+        }
+        for (JsonToken item = parser.nextToken();
+            item != JsonToken.END_ARRAY;
+            item = parser.nextToken()) {
+          if (item != JsonToken.VALUE_STRING) {
+            return "expected an array of strings at " + key;
+          }
+        }
+      }
+      return null;
+    }
+
+    /** Checks the shape {@code yyyy-MM-ddTHH:mm} of the current string without copying it. */
+    private static boolean isDateTime(JsonParser parser) throws IOException {
+      char[] text = parser.getTextCharacters();
+      int offset = parser.getTextOffset();
+      int length = parser.getTextLength();
+      if (length < 16) {
+        return false;
+      }
+      for (int i = 0; i < 16; i++) {
+        char c = text[offset + i];
+        boolean ok;
+        switch (i) {
+          case 4:
+          case 7:
+            ok = c == '-';
+            break;
+          case 10:
+            ok = c == 'T' || c == 't' || c == ' ';
+            break;
+          case 13:
+            ok = c == ':';
+            break;
+          default:
+            ok = c >= '0' && c <= '9';
+        }
+        if (!ok) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static String describe(JsonParser parser, JsonToken value) throws IOException {
+      if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+        parser.skipChildren();
+        return value == JsonToken.START_OBJECT ? "an object" : "an array";
+      }
+      return value + " " + parser.getText();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.api.test.contracts;
+
+/**
+ * The JSON types a field of a {@link JsonContract} can be declared with. These are the shapes of
+ * response values, unlike the {@code FieldType} of the local server, which binds request values.
+ */
+enum JsonType {
+  /** A JSON integer that fits in an {@code int}. */
+  INTEGER,
+  /** A JSON string. */
+  STRING,
+  /** A JSON string shaped like an ISO-8601 date-time, e.g. {@code 2024-05-01T10:15:30}. */
+  DATE_TIME,
+  /** A JSON object whose values are arrays of strings, e.g. the {@code errors} of a problem. */
+  STRING_ARRAY_MAP
+}
@@ -0,0 +1,99 @@
+package com.api.test.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The {@code DateTimeJson} class reads and writes the {@code publishDate} values of the API as
+ * {@link OffsetDateTime}s. The service accepts dates with and without an offset, like {@code
+ * 2024-09-29T11:20:41.1579173+00:00} and {@code 0001-01-01T00:00:00}; dates without an offset are
+ * taken as UTC. Dates are written in ISO-8601 with their offset and all non-zero fraction digits.
+ *
+ * <p>{@link JsonSerializer} registers {@link #module()} on the shared mapper, so models can declare
+ * {@code OffsetDateTime} fields without the {@code jackson-datatype-jsr310} module.
+ */
+public final class DateTimeJson {
+
+  private DateTimeJson() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Parses a date the way the service does.
+   *
+   * @throws IllegalArgumentException if the text is not an ISO-8601 date and time
+   */
+  public static OffsetDateTime parse(String text) {
+    try {
+      return OffsetDateTime.parse(text);
+    } catch (DateTimeParseException e) {
+      try {
+        return LocalDateTime.parse(text).atOffset(ZoneOffset.UTC);
+      } catch (DateTimeParseException ignored) {
+        throw new IllegalArgumentException("Not an ISO-8601 date and time: " + text, e);
+      }
+    }
+  }
+
+  public static String format(OffsetDateTime dateTime) {
+    return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+  }
+
+  /** Returns a Jackson module that maps {@link OffsetDateTime} to and from ISO-8601 strings. */
+  public static Module module() {
+    return new SimpleModule("DateTimeJson")
+        .addSerializer(OffsetDateTime.class, new Serializer())
+        .addDeserializer(OffsetDateTime.class, new Deserializer());
+  }
+
+  private static final class Serializer extends StdScalarSerializer<OffsetDateTime> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Serializer() {
+      super(OffsetDateTime.class);
+    }
+
+    @Override
+    public void serialize(OffsetDateTime value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeString(format(value));
+    }
+  }
+
+  private static final class Deserializer extends StdScalarDeserializer<OffsetDateTime> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Deserializer() {
+      super(OffsetDateTime.class);
+    }
+
+    @Override
+    public OffsetDateTime deserialize(JsonParser parser, DeserializationContext context)
+        throws IOException {
+      String text = parser.getValueAsString();
+      if (text == null) {
+        return (OffsetDateTime) context.handleUnexpectedToken(OffsetDateTime.class, parser);
+      }
+      try {
+        return parse(text);
+      } catch (IllegalArgumentException e) {
+        return (OffsetDateTime)
+            context.handleWeirdStringValue(OffsetDateTime.class, text, e.getMessage());
+      }
+    }
+  }
+}
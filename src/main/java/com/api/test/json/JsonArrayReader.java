@@ -0,0 +1,183 @@
+package com.api.test.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code JsonArrayReader} class reads a JSON array one element at a time from Jackson's token
+ * stream, so memory stays flat however large the array is. Only the current element is ever
+ * materialized, and {@link #forEachInt(String, IntConsumer)} and {@link #count()} do not
+ * materialize anything.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   Response response = bookRequests.streamAllBooks();
+ *   long books = JsonArrayReader.of(response).forEachInt("id", ids::add);
+ * }
+ * </pre>
+ *
+ * <p>A reader is single-use: each of its read methods consumes the whole array in one pass and
+ * closes the underlying stream, which also returns an unbuffered connection to its pool. A reader
+ * that is abandoned before reading must be {@link #close() closed}.
+ */
+public final class JsonArrayReader implements Closeable {
+
+  private static final ObjectMapper MAPPER = JsonSerializer.mapper();
+
+  private final JsonParser parser;
+  private boolean consumed;
+
+  private JsonArrayReader(JsonParser parser) {
+    this.parser = parser;
+  }
+
+  /** Creates a reader of the given stream of a JSON array. */
+  public static JsonArrayReader of(InputStream in) {
+    try {
+      return new JsonArrayReader(MAPPER.getFactory().createParser(in));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open the JSON stream", e);
+    }
+  }
+
+  /**
+   * Creates a reader of the body of the given response. The body is only read once, by the reader,
+   * if the response was sent unbuffered, e.g. with {@code BookRequests.streamAllBooks()}.
+   */
+  public static JsonArrayReader of(Response response) {
+    return of(response.asInputStream());
+  }
+
+  /** Counts the elements of the array without materializing any of them. */
+  public long count() {
+    return read(JsonParser::skipChildren);
+  }
+
+  /**
+   * Passes the integer value of the given top-level field of every element to the action. Elements
+   * that are not objects, or whose field is missing or not an integer, are skipped.
+   *
+   * @return the number of elements in the array
+   */
+  public long forEachInt(String field, IntConsumer action) {
+    return read(
+        p -> {
+          if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+          }
+          while (p.nextToken() == JsonToken.FIELD_NAME) {
+            boolean wanted = field.equals(p.getCurrentName());
+            JsonToken value = p.nextToken();
+            if (wanted && value == JsonToken.VALUE_NUMBER_INT) {
+              action.accept(p.getIntValue());
+            } else {
+              p.skipChildren();
+            }
+          }
+        });
+  }
+
+  /**
+   * Passes every element to the action as a tree.
+   *
+   * @return the number of elements in the array
+   */
+  public long forEach(Consumer<JsonNode> action) {
+    return read(p -> action.accept(MAPPER.readTree(p)));
+  }
+
+  /**
+   * Binds every element to the given type and passes it to the action.
+   *
+   * @return the number of elements in the array
+   */
+  public <T> long forEach(Class<T> type, Consumer<T> action) {
+    ObjectReader reader = JsonSerializer.readerFor(type);
+    return read(p -> action.<T>accept(reader.readValue(p)));
+  }
+
+  /**
+   * Checks every element with the validator, which returns a description of what is wrong with an
+   * element or {@code null} if it is valid.
+   *
+   * @param validator checks one element
+   * @param maxViolations the number of violations to describe, further ones are only counted
+   * @return the violations prefixed with the index of their element, empty if all elements are
+   *     valid
+   */
+  public List<String> validate(Function<JsonNode, String> validator, int maxViolations) {
+    List<String> violations = new ArrayList<>();
+    long[] index = {0};
+    long[] omitted = {0};
+    read(
+        p -> {
+          String violation = validator.apply(MAPPER.readTree(p));
+          if (violation != null) {
+            if (violations.size() < maxViolations) {
+              violations.add(String.format("[%d] %s", index[0], violation));
+            } else {
+              omitted[0]++;
+            }
+          }
+          index[0]++;
+        });
+    if (omitted[0] > 0) {
+      violations.add(String.format("... and %d more", omitted[0]));
+    }
+    return violations;
+  }
+
+  @Override
+  public void close() {
+    try {
+      parser.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close the JSON stream", e);
+    }
+  }
+
+  private long read(ElementHandler handler) {
+    if (consumed) {
+      throw new IllegalStateException("The JSON array has already been read");
+    }
+    consumed = true;
+    try (JsonParser p = parser) {
+      JsonToken token = p.nextToken();
+      if (token != JsonToken.START_ARRAY) {
+        throw new IllegalStateException("Expected a JSON array but found " + token);
+      }
+      long count = 0;
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        if (p.currentToken() == null) {
+          throw new IllegalStateException("The JSON array ended unexpectedly");
+        }
+        handler.handle(p);
+        count++;
+      }
+      return count;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read the JSON array", e);
+    }
+  }
+
+  /** Handles the element at the current token and leaves the parser on its last token. */
+  @FunctionalInterface
+  private interface ElementHandler {
+    void handle(JsonParser parser) throws IOException;
+  }
+}
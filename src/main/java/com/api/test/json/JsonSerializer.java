@@ -0,0 +1,112 @@
+package com.api.test.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code JsonSerializer} class is the single JSON layer of the project: request payloads,
+ * responses and fixtures of {@code Book} and {@code Author} are all written and read with one
+ * shared Jackson {@link ObjectMapper}, through {@link ObjectWriter}s and {@link ObjectReader}s that
+ * are built once and reused.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   byte[] payload = JsonSerializer.toBytes(book);
+ *   Book created = JsonSerializer.fromBytes(response.asByteArray(), Book.class);
+ * }
+ * </pre>
+ *
+ * <p>Output is compact UTF-8 and {@code null} fields are left out, so a model whose id is not set
+ * is sent without an id. {@code OffsetDateTime} fields are written as ISO-8601 strings, see {@link
+ * DateTimeJson}. Writers and readers are immutable and thread-safe.
+ */
+public final class JsonSerializer {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper()
+          .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+          .registerModule(DateTimeJson.module());
+  private static final ObjectWriter WRITER = MAPPER.writer();
+  private static final ObjectWriter PRETTY_WRITER = MAPPER.writerWithDefaultPrettyPrinter();
+  private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+  private JsonSerializer() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /** Returns the shared mapper, for streaming and tree APIs that take a mapper or its factory. */
+  public static ObjectMapper mapper() {
+    return MAPPER;
+  }
+
+  /** Serializes the value to compact UTF-8 JSON. */
+  public static byte[] toBytes(Object value) {
+    try {
+      return WRITER.writeValueAsBytes(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize " + value, e);
+    }
+  }
+
+  /** Serializes the value to compact JSON, for logs and reports that need a {@code String}. */
+  public static String toJson(Object value) {
+    return new String(toBytes(value), StandardCharsets.UTF_8);
+  }
+
+  /** Serializes the value to indented JSON, for files that are read by people. */
+  public static String toPrettyJson(Object value) {
+    try {
+      return PRETTY_WRITER.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Failed to serialize " + value, e);
+    }
+  }
+
+  public static <T> T fromBytes(byte[] json, Class<T> type) {
+    try {
+      return readerFor(type).readValue(json);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to deserialize " + type.getSimpleName(), e);
+    }
+  }
+
+  public static <T> T read(InputStream in, Class<T> type) {
+    try {
+      return readerFor(type).readValue(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to deserialize " + type.getSimpleName(), e);
+    }
+  }
+
+  /** Reads a JSON array of the given element type into a list. */
+  public static <T> List<T> readList(InputStream in, Class<T> elementType) {
+    try {
+      return readerFor(MAPPER.getTypeFactory().constructCollectionType(List.class, elementType))
+          .readValue(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to deserialize a list of " + elementType.getSimpleName(), e);
+    }
+  }
+
+  /** Returns the cached reader of the given type. */
+  public static ObjectReader readerFor(Class<?> type) {
+    return readerFor(MAPPER.constructType(type));
+  }
+
+  private static ObjectReader readerFor(JavaType type) {
+    return READERS.computeIfAbsent(type, MAPPER::readerFor);
+  }
+}
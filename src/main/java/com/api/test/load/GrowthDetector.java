@@ -0,0 +1,104 @@
+package com.api.test.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The {@code GrowthDetector} class looks for resource leaks and slow degradation in the interval
+ * reports of a soak run. A metric is flagged when it never decreased over the last {@code window}
+ * intervals and its last value is at least {@code minGrowthPercent} above the first one. Healthy
+ * metrics level off or oscillate, e.g. the heap in use rises and falls with every collection, so
+ * they do not stay monotonic for long.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   List<GrowthFinding> findings = new GrowthDetector(5, 10).detect(intervals);
+ *   findings.forEach(System.out::println);
+ * }
+ * </pre>
+ *
+ * <p>The metrics checked are the p99 response time, the error rate, the heap in use and after
+ * collection, the GC time per interval, the thread count, the pooled connections and the open file
+ * descriptors. Samples that a platform does not report are skipped.
+ */
+public class GrowthDetector {
+
+  private static final List<Metric> METRICS =
+      Arrays.asList(
+          new Metric("p99Millis", r -> r.getLatency().getP99Millis(), false),
+          new Metric("errorRate", IntervalReport::getErrorRate, false),
+          new Metric("heapUsedBytes", r -> r.getResources().getHeapUsedBytes(), false),
+          // Stays 0 until the first collection of a pool; the step to the live set is not a leak.
+          new Metric("heapAfterGcBytes", r -> r.getResources().getHeapAfterGcBytes(), true),
+          new Metric("gcPauseMillis", r -> r.getResources().getGcPauseMillis(), false),
+          new Metric("threadCount", r -> r.getResources().getThreadCount(), false),
+          new Metric("openConnections", r -> r.getResources().getOpenConnections(), false),
+          new Metric("openFileDescriptors", r -> r.getResources().getOpenFileDescriptors(), true));
+
+  private final int window;
+  private final double minGrowthPercent;
+
+  /**
+   * @param window the number of consecutive intervals a metric must grow over, at least 2
+   * @param minGrowthPercent the minimum growth from the first to the last of those intervals
+   */
+  public GrowthDetector(int window, double minGrowthPercent) {
+    if (window < 2) {
+      throw new IllegalArgumentException("The growth window must be at least 2: " + window);
+    }
+    this.window = window;
+    this.minGrowthPercent = minGrowthPercent;
+  }
+
+  /**
+   * Checks the last {@code window} intervals.
+   *
+   * @param intervals the interval reports of a run, in order
+   * @return one finding per metric that grew, empty if there are fewer intervals than the window
+   */
+  public List<GrowthFinding> detect(List<IntervalReport> intervals) {
+    List<GrowthFinding> findings = new ArrayList<>();
+    if (intervals.size() < window) {
+      return findings;
+    }
+    List<IntervalReport> recent = intervals.subList(intervals.size() - window, intervals.size());
+    for (Metric metric : METRICS) {
+      double[] values = recent.stream().mapToDouble(metric.value).toArray();
+      if (isMonotonicGrowth(values, metric.zeroUnknown)) {
+        findings.add(new GrowthFinding(metric.name, window, values[0], values[values.length - 1]));
+      }
+    }
+    return findings;
+  }
+
+  private boolean isMonotonicGrowth(double[] values, boolean zeroUnknown) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] < 0 || (zeroUnknown && values[i] == 0)) {
+        return false;
+      }
+      if (i > 0 && values[i] < values[i - 1]) {
+        return false;
+      }
+    }
+    double first = values[0];
+    double last = values[values.length - 1];
+    return last > first && (first == 0 || (last - first) / first * 100 >= minGrowthPercent);
+  }
+
+  /** A metric of an interval report and how to read it. */
+  private static final class Metric {
+
+    private final String name;
+    private final ToDoubleFunction<IntervalReport> value;
+    private final boolean zeroUnknown;
+
+    private Metric(String name, ToDoubleFunction<IntervalReport> value, boolean zeroUnknown) {
+      this.name = name;
+      this.value = value;
+      this.zeroUnknown = zeroUnknown;
+    }
+  }
+}
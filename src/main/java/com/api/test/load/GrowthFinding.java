@@ -0,0 +1,27 @@
+package com.api.test.load;
+
+import lombok.Value;
+
+/**
+ * A metric that grew monotonically over the last {@code intervals} soak intervals, from {@code
+ * firstValue} to {@code lastValue}, see {@link GrowthDetector}.
+ */
+@Value
+public class GrowthFinding {
+  String metric;
+  int intervals;
+  double firstValue;
+  double lastValue;
+
+  /** Returns the growth from the first to the last value in percent, infinite from zero. */
+  public double getGrowthPercent() {
+    return firstValue == 0 ? Double.POSITIVE_INFINITY : (lastValue - firstValue) / firstValue * 100;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s grew in each of the last %d intervals: %.2f -> %.2f (+%.1f%%)",
+        metric, intervals, firstValue, lastValue, getGrowthPercent());
+  }
+}
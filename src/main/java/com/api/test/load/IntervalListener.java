@@ -0,0 +1,11 @@
+package com.api.test.load;
+
+/**
+ * Receives an {@link IntervalReport} every {@code reportInterval} of a {@link LoadEngine} run, and
+ * once more for the remainder of the run when it is over. Called from a single reporting thread.
+ */
+@FunctionalInterface
+public interface IntervalListener {
+
+  void onInterval(IntervalReport report);
+}
@@ -0,0 +1,74 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencySummary;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable result of one reporting interval of a load run, see {@link IntervalListener}: the
+ * requests completed during the interval, their response-time percentiles across all operations,
+ * and a {@link ResourceSample} of the client JVM taken at its end.
+ */
+@Value
+@Builder
+public class IntervalReport {
+  /** Position of the interval in the run, starting at 1. */
+  int index;
+
+  /** Seconds from the start of the measured part of the run to the end of the interval. */
+  double elapsedSeconds;
+
+  /** Length of the interval in seconds; the last interval of a run may be shorter. */
+  double lengthSeconds;
+
+  long requests;
+  long errors;
+  LatencySummary latency;
+  ResourceSample resources;
+
+  /** Returns the completed requests per second during the interval. */
+  public double getThroughput() {
+    return lengthSeconds == 0 ? 0 : requests / lengthSeconds;
+  }
+
+  /** Returns the fraction of requests of the interval that failed, between 0 and 1. */
+  public double getErrorRate() {
+    return requests == 0 ? 0 : (double) errors / requests;
+  }
+
+  /** Returns the column headers matching {@link #format()}. */
+  public static String header() {
+    return String.format(
+        "%5s %9s %9s %7s %9s %9s %9s %9s %9s %7s %7s %6s",
+        "#",
+        "elapsed s",
+        "req/s",
+        "err %",
+        "p50 ms",
+        "p99 ms",
+        "max ms",
+        "heap MB",
+        "live MB",
+        "gc ms",
+        "threads",
+        "conns");
+  }
+
+  /** Formats the interval as one line of a table, see {@link #header()}. */
+  public String format() {
+    return String.format(
+        "%5d %9.1f %9.1f %7.2f %9.2f %9.2f %9.2f %9.1f %9.1f %7d %7d %6d",
+        index,
+        elapsedSeconds,
+        getThroughput(),
+        getErrorRate() * 100,
+        latency.getP50Millis(),
+        latency.getP99Millis(),
+        latency.getMaxMillis(),
+        resources.getHeapUsedBytes() / 1048576.0,
+        resources.getHeapAfterGcBytes() / 1048576.0,
+        resources.getGcPauseMillis(),
+        resources.getThreadCount(),
+        resources.getOpenConnections());
+  }
+}
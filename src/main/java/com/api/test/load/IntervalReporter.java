@@ -0,0 +1,65 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencyRecorder;
+import com.api.test.metrics.LatencySummary;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Cuts the live {@link OperationStats} of a run into {@link IntervalReport}s. Every call to {@link
+ * #next(long)} reports what was recorded since the previous call. The interval histograms are
+ * merged back into the totals by {@link LatencyRecorder}, so the final {@link LoadReport} still
+ * covers the whole run. Not thread-safe; used by the single reporting thread of a run.
+ */
+class IntervalReporter {
+
+  private final OperationStats[] stats;
+  private final long[] lastErrors;
+  private final ResourceSampler sampler = new ResourceSampler();
+  private final long measureStart;
+  private long lastEnd;
+  private int index;
+
+  IntervalReporter(OperationStats[] stats, long measureStart) {
+    this.stats = stats;
+    this.lastErrors = new long[stats.length];
+    this.measureStart = measureStart;
+    this.lastEnd = measureStart;
+  }
+
+  /**
+   * Returns {@code true} if the interval ending now should still be reported at the end of a run:
+   * nothing was reported yet, or it is at least {@code minLengthNanos} long.
+   */
+  boolean hasRemainder(long now, long minLengthNanos) {
+    return index == 0 || now - lastEnd >= minLengthNanos;
+  }
+
+  /**
+   * Reports the interval ending now.
+   *
+   * @param now the {@link System#nanoTime()} at which the interval ends
+   * @return the report of the interval
+   */
+  IntervalReport next(long now) {
+    Histogram latency = LatencyRecorder.newHistogram();
+    long errors = 0;
+    for (int i = 0; i < stats.length; i++) {
+      latency.add(stats[i].getResponseTime().intervalHistogram());
+      long total = stats[i].getErrors();
+      errors += total - lastErrors[i];
+      lastErrors[i] = total;
+    }
+    IntervalReport report =
+        IntervalReport.builder()
+            .index(++index)
+            .elapsedSeconds((now - measureStart) / 1e9)
+            .lengthSeconds((now - lastEnd) / 1e9)
+            .requests(latency.getTotalCount())
+            .errors(errors)
+            .latency(LatencySummary.of(latency))
+            .resources(sampler.sample())
+            .build();
+    lastEnd = now;
+    return report;
+  }
+}
@@ -0,0 +1,58 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.configs.PerformanceConfig;
+import com.api.test.requests.RequestExecutors;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable settings of a load run executed by {@link LoadEngine}.
+ *
+ * <ul>
+ *   <li>{@code mode} - {@link LoadMode#CONCURRENCY} or {@link LoadMode#RATE}
+ *   <li>{@code concurrency} - number of workers in {@code CONCURRENCY} mode, and the pool size when
+ *       the executor type is {@code fixed}
+ *   <li>{@code targetRate} - requests per second; required in {@code RATE} mode, optional pacing in
+ *       {@code CONCURRENCY} mode
+ *   <li>{@code duration} - length of the measured part of the run
+ *   <li>{@code warmup} - time spent sending requests before measuring starts
+ *   <li>{@code drainTimeout} - how long to wait for in-flight requests once sending has stopped
+ *   <li>{@code executorType} - executor running the requests, see {@link RequestExecutors}
+ *   <li>{@code reportInterval} - how often an {@link IntervalListener} is told about the run, or
+ *       zero for no interval reports
+ * </ul>
+ */
+@Value
+@Builder(toBuilder = true)
+public class LoadConfig {
+
+  @Builder.Default LoadMode mode = LoadMode.CONCURRENCY;
+  @Builder.Default int concurrency = 10;
+  @Builder.Default double targetRate = 0;
+  @Builder.Default Duration duration = Duration.ofSeconds(60);
+  @Builder.Default Duration warmup = Duration.ZERO;
+  @Builder.Default Duration drainTimeout = Duration.ofSeconds(30);
+  @Builder.Default String executorType = RequestExecutors.VIRTUAL;
+  @Builder.Default Duration reportInterval = Duration.ZERO;
+
+  /**
+   * Reads the {@code load.*} properties through {@link ConfigurationLoader}; concurrency, rate and
+   * warm-up come from {@link PerformanceConfig}.
+   */
+  public static LoadConfig fromConfiguration() {
+    PerformanceConfig performance = PerformanceConfig.get();
+    return LoadConfig.builder()
+        .mode(LoadMode.valueOf(ConfigurationLoader.getProperty("load.mode", "CONCURRENCY")))
+        .concurrency(performance.getMaxConcurrentRequests())
+        .targetRate(performance.getTargetRate())
+        .duration(
+            Duration.ofSeconds(ConfigurationLoader.getIntProperty("load.durationSeconds", 60)))
+        .warmup(performance.getWarmup())
+        .executorType(ConfigurationLoader.getProperty("load.executor", RequestExecutors.VIRTUAL))
+        .reportInterval(
+            Duration.ofSeconds(ConfigurationLoader.getIntProperty("load.reportIntervalSeconds", 0)))
+        .build();
+  }
+}
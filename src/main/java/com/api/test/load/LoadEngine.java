@@ -0,0 +1,240 @@
+package com.api.test.load;
+
+import com.api.test.requests.RequestExecutors;
+import io.restassured.response.Response;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code LoadEngine} class drives an {@link OperationMix} built on {@code BookRequests} and
+ * {@code AuthorRequests} for a fixed duration and reports per-operation latency histograms and the
+ * achieved throughput.
+ *
+ * <p>Two modes are supported, see {@link LoadMode}:
+ *
+ * <ul>
+ *   <li>{@code CONCURRENCY} - {@code concurrency} workers run back to back. When a target rate is
+ *       set, each worker is paced to its share of it and latency is measured from the scheduled
+ *       send time, so a stall is charged to every request that should have been sent meanwhile.
+ *   <li>{@code RATE} - a single scheduler starts requests at fixed intervals on the executor and
+ *       never waits for responses (open loop). Latency is always measured from the scheduled send
+ *       time, which corrects for coordinated omission.
+ * </ul>
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LoadConfig config =
+ *       LoadConfig.builder().mode(LoadMode.RATE).targetRate(200).duration(Duration.ofMinutes(5))
+ *           .build();
+ *   LoadReport report = new LoadEngine(config).run(mix);
+ *   System.out.println(report.format());
+ * }
+ * </pre>
+ *
+ * <p>Requests sent during the warm-up are executed but not recorded.
+ *
+ * <p>When the config has a {@code reportInterval}, {@link #run(OperationMix, IntervalListener)}
+ * also reports the throughput, latency and JVM resources of every interval while the run is going,
+ * e.g. for the soak runs of {@link SoakRunner}.
+ */
+public class LoadEngine {
+
+  private final LoadConfig config;
+
+  public LoadEngine(LoadConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Runs the mix and blocks until the run is over and in-flight requests have drained.
+   *
+   * @param mix the operations to execute
+   * @return the report of the measured part of the run
+   */
+  public LoadReport run(OperationMix mix) {
+    return run(mix, null);
+  }
+
+  /**
+   * Runs the mix like {@link #run(OperationMix)} and reports every {@code reportInterval} of the
+   * measured part of the run to the listener, followed by a last report of the remainder once
+   * in-flight requests have drained, unless it is shorter than a tenth of the interval.
+   *
+   * @param mix the operations to execute
+   * @param listener receives the interval reports, or {@code null} for none
+   * @return the report of the measured part of the run
+   */
+  public LoadReport run(OperationMix mix, IntervalListener listener) {
+    if (config.getMode() == LoadMode.RATE && config.getTargetRate() <= 0) {
+      throw new IllegalArgumentException("RATE mode requires a positive target rate");
+    }
+    OperationStats[] stats = new OperationStats[mix.size()];
+    for (int i = 0; i < stats.length; i++) {
+      stats[i] = new OperationStats(mix.getName(i));
+    }
+    LongAccumulator lastCompletion = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    ExecutorService executor =
+        RequestExecutors.create(config.getExecutorType(), config.getConcurrency());
+    long start = System.nanoTime();
+    long measureStart = start + config.getWarmup().toNanos();
+    long end = measureStart + config.getDuration().toNanos();
+    Run run = new Run(mix, stats, measureStart, lastCompletion);
+    IntervalReporter intervals =
+        listener != null && !config.getReportInterval().isZero()
+            ? new IntervalReporter(stats, measureStart)
+            : null;
+    ScheduledExecutorService reporting =
+        intervals != null ? startReporting(intervals, listener, measureStart) : null;
+    try {
+      if (config.getMode() == LoadMode.RATE) {
+        scheduleOpenLoop(run, executor, start, end);
+      } else {
+        startWorkers(run, executor, start, end);
+      }
+    } finally {
+      drain(executor);
+      if (reporting != null) {
+        drain(reporting);
+      }
+    }
+    // A remainder of a few milliseconds holds too few requests to say anything about.
+    long now = System.nanoTime();
+    if (intervals != null
+        && intervals.hasRemainder(now, config.getReportInterval().toNanos() / 10)) {
+      listener.onInterval(intervals.next(now));
+    }
+
+    long measuredEnd = Math.max(end, lastCompletion.get());
+    List<OperationReport> operations = new ArrayList<>();
+    for (OperationStats operation : stats) {
+      operations.add(OperationReport.of(operation));
+    }
+    return new LoadReport(config, Duration.ofNanos(measuredEnd - measureStart), operations);
+  }
+
+  private ScheduledExecutorService startReporting(
+      IntervalReporter intervals, IntervalListener listener, long measureStart) {
+    ScheduledExecutorService reporting =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "load-interval-reporter");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long periodNanos = config.getReportInterval().toNanos();
+    reporting.scheduleAtFixedRate(
+        () -> listener.onInterval(intervals.next(System.nanoTime())),
+        measureStart + periodNanos - System.nanoTime(),
+        periodNanos,
+        TimeUnit.NANOSECONDS);
+    return reporting;
+  }
+
+  private void scheduleOpenLoop(Run run, ExecutorService executor, long start, long end) {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getTargetRate());
+    for (long i = 0; ; i++) {
+      long intended = start + i * intervalNanos;
+      if (intended >= end) {
+        return;
+      }
+      sleepUntil(intended);
+      int index = run.mix.nextIndex();
+      executor.execute(() -> run.execute(index, intended));
+    }
+  }
+
+  private void startWorkers(Run run, ExecutorService executor, long start, long end) {
+    int workers = config.getConcurrency();
+    long intervalNanos =
+        config.getTargetRate() > 0
+            ? (long) (TimeUnit.SECONDS.toNanos(1) * workers / config.getTargetRate())
+            : 0;
+    for (int w = 0; w < workers; w++) {
+      // Stagger paced workers so they do not all fire at the same instant.
+      long workerStart = start + (intervalNanos * w) / workers;
+      executor.execute(
+          () -> {
+            for (long i = 0; ; i++) {
+              long intended =
+                  intervalNanos > 0 ? workerStart + i * intervalNanos : System.nanoTime();
+              if (intended >= end) {
+                return;
+              }
+              sleepUntil(intended);
+              run.execute(run.mix.nextIndex(), intended);
+            }
+          });
+    }
+  }
+
+  private void drain(ExecutorService executor) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(config.getDrainTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleepUntil(long deadlineNanos) {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  /** State shared by the senders of one run. */
+  private static final class Run {
+
+    private final OperationMix mix;
+    private final OperationStats[] stats;
+    private final long measureStart;
+    private final LongAccumulator lastCompletion;
+
+    private Run(
+        OperationMix mix,
+        OperationStats[] stats,
+        long measureStart,
+        LongAccumulator lastCompletion) {
+      this.mix = mix;
+      this.stats = stats;
+      this.measureStart = measureStart;
+      this.lastCompletion = lastCompletion;
+    }
+
+    private void execute(int index, long intendedNanos) {
+      String error = null;
+      long sent = System.nanoTime();
+      try {
+        Response response = mix.getOperation(index).execute();
+        if (response.statusCode() >= 400) {
+          error = "HTTP " + response.statusCode();
+        }
+      } catch (RuntimeException e) {
+        error = e.toString();
+      }
+      long done = System.nanoTime();
+      if (intendedNanos < measureStart) {
+        return;
+      }
+      OperationStats operation = stats[index];
+      operation.record(done - intendedNanos, done - sent);
+      if (error != null) {
+        operation.recordError(error);
+      }
+      lastCompletion.accumulate(done);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.api.test.load;
+
+/** The way the {@link LoadEngine} decides when to send the next request. */
+public enum LoadMode {
+
+  /**
+   * Closed loop: a fixed number of workers each send the next request as soon as the previous one
+   * has completed, optionally paced to a target rate.
+   */
+  CONCURRENCY,
+
+  /**
+   * Open loop: requests are started on a fixed schedule derived from the target rate, regardless of
+   * how long earlier requests take, so a slow server cannot slow down the senders.
+   */
+  RATE
+}
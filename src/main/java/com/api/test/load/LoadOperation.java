@@ -0,0 +1,15 @@
+package com.api.test.load;
+
+import io.restassured.response.Response;
+
+/**
+ * A single API call that the {@link LoadEngine} can execute repeatedly, e.g. {@code () ->
+ * bookRequests.getBookById(1)}. Implementations must be safe to call from many threads at once.
+ *
+ * <p>A call counts as an error if it throws or if the response status is 400 or above.
+ */
+@FunctionalInterface
+public interface LoadOperation {
+
+  Response execute();
+}
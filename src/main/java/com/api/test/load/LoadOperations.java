@@ -0,0 +1,104 @@
+package com.api.test.load;
+
+import com.api.test.repositories.BulkDataGenerator;
+import com.api.test.repositories.PayloadPool;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * The {@code LoadOperations} class provides the CRUD calls of {@link BookRequests} and {@link
+ * AuthorRequests} as named {@link LoadOperation}s, ready to be combined into an {@link
+ * OperationMix}. Payloads of create and update calls are rendered up front by a {@link
+ * BulkDataGenerator} and drawn from a {@link PayloadPool}, so no test data is generated or
+ * serialized while the run is measured.
+ */
+public final class LoadOperations {
+
+  public static final String GET_ALL_BOOKS = "getAllBooks";
+  public static final String GET_BOOK_BY_ID = "getBookById";
+  public static final String CREATE_BOOK = "createBook";
+  public static final String UPDATE_BOOK = "updateBook";
+  public static final String DELETE_BOOK = "deleteBook";
+  public static final String GET_ALL_AUTHORS = "getAllAuthors";
+  public static final String GET_AUTHOR_BY_ID = "getAuthorById";
+  public static final String CREATE_AUTHOR = "createAuthor";
+  public static final String UPDATE_AUTHOR = "updateAuthor";
+  public static final String DELETE_AUTHOR = "deleteAuthor";
+
+  /** Seed of the payloads when none is given. */
+  public static final long DEFAULT_SEED = 42;
+
+  /** Number of distinct create and update payloads per resource when none is given. */
+  public static final int DEFAULT_POOL_SIZE = 1024;
+
+  private LoadOperations() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Returns every Book and Author CRUD operation keyed by its name, with {@link #DEFAULT_POOL_SIZE}
+   * payloads per resource generated from {@link #DEFAULT_SEED}.
+   *
+   * @see #crudOperations(BookRequests, AuthorRequests, IntSupplier, IntSupplier, PayloadPool,
+   *     PayloadPool)
+   */
+  public static Map<String, LoadOperation> crudOperations(
+      BookRequests bookRequests,
+      AuthorRequests authorRequests,
+      IntSupplier bookIds,
+      IntSupplier authorIds) {
+    BulkDataGenerator generator = new BulkDataGenerator(DEFAULT_SEED);
+    return crudOperations(
+        bookRequests,
+        authorRequests,
+        bookIds,
+        authorIds,
+        PayloadPool.of(generator.bookPayloads(DEFAULT_POOL_SIZE)),
+        PayloadPool.of(generator.authorPayloads(DEFAULT_POOL_SIZE)));
+  }
+
+  /**
+   * Returns every Book and Author CRUD operation keyed by its name, e.g. {@code getBookById}.
+   *
+   * @param bookRequests the requests used by the book operations
+   * @param authorRequests the requests used by the author operations
+   * @param bookIds supplies the ids of existing books for get, update and delete
+   * @param authorIds supplies the ids of existing authors for get, update and delete
+   * @param bookPayloads the bodies of book creates and updates, which carry no id
+   * @param authorPayloads the bodies of author creates and updates, which carry no id
+   * @return the operations in a fixed order
+   */
+  public static Map<String, LoadOperation> crudOperations(
+      BookRequests bookRequests,
+      AuthorRequests authorRequests,
+      IntSupplier bookIds,
+      IntSupplier authorIds,
+      PayloadPool bookPayloads,
+      PayloadPool authorPayloads) {
+    Map<String, LoadOperation> operations = new LinkedHashMap<>();
+    operations.put(GET_ALL_BOOKS, bookRequests::getAllBooks);
+    operations.put(GET_BOOK_BY_ID, () -> bookRequests.getBookById(bookIds.getAsInt()));
+    operations.put(CREATE_BOOK, () -> bookRequests.createBook(bookPayloads.next()));
+    operations.put(
+        UPDATE_BOOK, () -> bookRequests.updateBook(bookIds.getAsInt(), bookPayloads.next()));
+    operations.put(DELETE_BOOK, () -> bookRequests.deleteBook(bookIds.getAsInt()));
+    operations.put(GET_ALL_AUTHORS, authorRequests::getAllAuthors);
+    operations.put(GET_AUTHOR_BY_ID, () -> authorRequests.getAuthorById(authorIds.getAsInt()));
+    operations.put(CREATE_AUTHOR, () -> authorRequests.createAuthor(authorPayloads.next()));
+    operations.put(
+        UPDATE_AUTHOR,
+        () -> authorRequests.updateAuthor(authorIds.getAsInt(), authorPayloads.next()));
+    operations.put(DELETE_AUTHOR, () -> authorRequests.deleteAuthor(authorIds.getAsInt()));
+    return Collections.unmodifiableMap(operations);
+  }
+
+  /** Returns a supplier of uniformly distributed ids between 1 and {@code maxId}, inclusive. */
+  public static IntSupplier randomIds(int maxId) {
+    return () -> ThreadLocalRandom.current().nextInt(1, maxId + 1);
+  }
+}
@@ -0,0 +1,100 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencySummary;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Immutable result of a load run: the per-operation latency histograms and the throughput summary.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LoadReport report = new LoadEngine(config).run(mix);
+ *   System.out.println(report.format());
+ *   report.writeHistograms(System.out);
+ * }
+ * </pre>
+ */
+@Value
+public class LoadReport {
+  LoadConfig config;
+  Duration elapsed;
+  List<OperationReport> operations;
+
+  public long getTotalCount() {
+    return operations.stream().mapToLong(OperationReport::getCount).sum();
+  }
+
+  public long getTotalErrors() {
+    return operations.stream().mapToLong(OperationReport::getErrors).sum();
+  }
+
+  /** Returns the completed requests per second over the measured part of the run. */
+  public double getThroughput() {
+    double seconds = elapsed.toNanos() / 1e9;
+    return seconds == 0 ? 0 : getTotalCount() / seconds;
+  }
+
+  /** Returns the fraction of requests that failed, between 0 and 1. */
+  public double getErrorRate() {
+    long total = getTotalCount();
+    return total == 0 ? 0 : (double) getTotalErrors() / total;
+  }
+
+  /** Formats the run as a table of response-time percentiles followed by the throughput. */
+  public String format() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            "Load run: mode=%s, concurrency=%d, targetRate=%.1f/s, duration=%ss, warmup=%ss%n",
+            config.getMode(),
+            config.getConcurrency(),
+            config.getTargetRate(),
+            config.getDuration().getSeconds(),
+            config.getWarmup().getSeconds()));
+    out.append(
+        String.format(
+            "%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+    for (OperationReport operation : operations) {
+      LatencySummary latency = operation.getResponseTimeSummary();
+      out.append(
+          String.format(
+              "%-16s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+              operation.getName(),
+              operation.getCount(),
+              operation.getErrors(),
+              latency.getP50Millis(),
+              latency.getP90Millis(),
+              latency.getP99Millis(),
+              latency.getP999Millis(),
+              latency.getMaxMillis()));
+    }
+    out.append(
+        String.format(
+            "Total: %d requests, %d errors (%.2f%%) in %.1fs, throughput %.1f req/s%n",
+            getTotalCount(),
+            getTotalErrors(),
+            getErrorRate() * 100,
+            elapsed.toMillis() / 1000.0,
+            getThroughput()));
+    for (OperationReport operation : operations) {
+      if (operation.getFirstError() != null) {
+        out.append(
+            String.format("First %s error: %s%n", operation.getName(), operation.getFirstError()));
+      }
+    }
+    return out.toString();
+  }
+
+  /** Writes the full percentile distribution of every operation, in milliseconds. */
+  public void writeHistograms(PrintStream out) {
+    for (OperationReport operation : operations) {
+      out.printf("%n%s response time (ms):%n", operation.getName());
+      operation.getResponseTime().outputPercentileDistribution(out, 1000.0);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.replay.ReplayServer;
+import com.api.test.repositories.BulkDataGenerator;
+import com.api.test.repositories.PayloadPool;
+import com.api.test.requests.ApiClientContext;
+import com.api.test.requests.AuthorRequests;
+import com.api.test.requests.BookRequests;
+import com.api.test.server.ApiServer;
+import com.api.test.server.ApiServers;
+import java.util.Optional;
+
+/**
+ * Command line entry point of a load run, configured through {@link ConfigurationLoader}. Any
+ * property can be overridden with a system property of the same name.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.api.test.load.LoadRunner \
+ *       -Dload.mode=RATE -Dload.rate=100 -Dload.durationSeconds=120 \
+ *       -Dload.mix=getBookById:70,getAllBooks:20,createBook:10
+ * }
+ * </pre>
+ *
+ * <p>With {@code -Dapi.server=local} the run targets an embedded {@code LocalApiServer} instead of
+ * {@code baseUrl}, and with {@code -Dapi.server=replay} a {@link ReplayServer} that answers from a
+ * recording, see {@link ApiServers}.
+ *
+ * <p>The properties read, besides those of {@link LoadConfig#fromConfiguration()}, are {@code
+ * load.mix} and {@code load.maxBookId}/{@code load.maxAuthorId}, the highest existing ids that
+ * read, update and delete operations pick from, and {@code load.seed}/{@code load.payloadPoolSize},
+ * the seed and number of the pre-rendered create and update payloads.
+ */
+public final class LoadRunner {
+
+  private static final String DEFAULT_MIX = "getBookById:70,getAllBooks:20,createBook:10";
+
+  private LoadRunner() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) {
+    Optional<ApiServer> server = ApiServers.startIfEnabled();
+    LoadReport report = new LoadEngine(LoadConfig.fromConfiguration()).run(mixFromConfiguration());
+    System.out.println(report.format());
+    System.out.println("Connections: " + ApiClientContext.getAllConnectionStats());
+    System.out.println("Contracts: " + ApiClientContext.getAllContractStats());
+    server
+        .filter(ReplayServer.class::isInstance)
+        .ifPresent(replay -> System.out.println("Replay: " + ((ReplayServer) replay).getStats()));
+    ApiClientContext.shutdownAll();
+    server.ifPresent(ApiServer::stop);
+  }
+
+  /** Builds the CRUD mix of {@code load.mix} with the ids and payloads configured above. */
+  static OperationMix mixFromConfiguration() {
+    BulkDataGenerator generator =
+        new BulkDataGenerator(
+            Long.parseLong(
+                ConfigurationLoader.getProperty(
+                    "load.seed", String.valueOf(LoadOperations.DEFAULT_SEED))));
+    int poolSize =
+        ConfigurationLoader.getIntProperty(
+            "load.payloadPoolSize", LoadOperations.DEFAULT_POOL_SIZE);
+    return OperationMix.parse(
+        ConfigurationLoader.getProperty("load.mix", DEFAULT_MIX),
+        LoadOperations.crudOperations(
+            new BookRequests(),
+            new AuthorRequests(),
+            LoadOperations.randomIds(ConfigurationLoader.getIntProperty("load.maxBookId", 200)),
+            LoadOperations.randomIds(ConfigurationLoader.getIntProperty("load.maxAuthorId", 200)),
+            PayloadPool.of(generator.bookPayloads(poolSize)),
+            PayloadPool.of(generator.authorPayloads(poolSize))));
+  }
+}
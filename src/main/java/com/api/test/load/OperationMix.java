@@ -0,0 +1,146 @@
+package com.api.test.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code OperationMix} class is an immutable, weighted set of named {@link LoadOperation}s.
+ * Each call to {@link #nextIndex()} picks an operation with a probability proportional to its
+ * weight.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   OperationMix mix =
+ *       OperationMix.builder()
+ *           .add("getBookById", 70, () -> bookRequests.getBookById(1))
+ *           .add("createBook", 10, () -> bookRequests.createBook(payload))
+ *           .build();
+ * }
+ * </pre>
+ *
+ * <p>A mix can also be parsed from a string such as {@code getBookById:70,createBook:10}, see
+ * {@link #parse(String, Map)}.
+ */
+public final class OperationMix {
+
+  private final String[] names;
+  private final LoadOperation[] operations;
+  private final int[] cumulativeWeights;
+  private final Map<String, Integer> weights;
+
+  private OperationMix(List<String> names, List<LoadOperation> operations, List<Integer> weights) {
+    this.names = names.toArray(new String[0]);
+    this.operations = operations.toArray(new LoadOperation[0]);
+    this.cumulativeWeights = new int[weights.size()];
+    Map<String, Integer> weightsByName = new LinkedHashMap<>();
+    int sum = 0;
+    for (int i = 0; i < weights.size(); i++) {
+      sum += weights.get(i);
+      cumulativeWeights[i] = sum;
+      weightsByName.put(names.get(i), weights.get(i));
+    }
+    this.weights = Collections.unmodifiableMap(weightsByName);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Parses a mix of the form {@code name:weight,name:weight}, resolving every name against the
+   * available operations.
+   *
+   * @param spec the mix specification, e.g. {@code getBookById:70,createBook:10}
+   * @param available the operations that can be referenced, keyed by name
+   * @return the parsed mix
+   * @throws IllegalArgumentException if the specification is malformed or names an unknown
+   *     operation
+   */
+  public static OperationMix parse(String spec, Map<String, LoadOperation> available) {
+    Builder builder = builder();
+    for (String entry : spec.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid operation mix entry: " + entry);
+      }
+      String name = parts[0].trim();
+      LoadOperation operation = available.get(name);
+      if (operation == null) {
+        throw new IllegalArgumentException(
+            "Unknown operation " + name + ", expected one of " + available.keySet());
+      }
+      try {
+        builder.add(name, Integer.parseInt(parts[1].trim()), operation);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid weight in operation mix entry: " + entry, e);
+      }
+    }
+    return builder.build();
+  }
+
+  /** Picks the index of the next operation to execute according to the weights. */
+  public int nextIndex() {
+    int ticket =
+        ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    int index = Arrays.binarySearch(cumulativeWeights, ticket + 1);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  public int size() {
+    return operations.length;
+  }
+
+  public String getName(int index) {
+    return names[index];
+  }
+
+  public LoadOperation getOperation(int index) {
+    return operations[index];
+  }
+
+  /** Returns the weight of every operation, keyed by name in insertion order. */
+  public Map<String, Integer> getWeights() {
+    return weights;
+  }
+
+  @Override
+  public String toString() {
+    return weights.toString();
+  }
+
+  /** Builder of {@link OperationMix}; operations keep the order in which they are added. */
+  public static final class Builder {
+
+    private final List<String> names = new ArrayList<>();
+    private final List<LoadOperation> operations = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+
+    private Builder() {}
+
+    public Builder add(String name, int weight, LoadOperation operation) {
+      if (weight <= 0) {
+        throw new IllegalArgumentException("Weight of " + name + " must be positive: " + weight);
+      }
+      if (names.contains(name)) {
+        throw new IllegalArgumentException("Duplicate operation in mix: " + name);
+      }
+      names.add(name);
+      operations.add(operation);
+      weights.add(weight);
+      return this;
+    }
+
+    public OperationMix build() {
+      if (names.isEmpty()) {
+        throw new IllegalArgumentException("An operation mix needs at least one operation");
+      }
+      return new OperationMix(names, operations, weights);
+    }
+  }
+}
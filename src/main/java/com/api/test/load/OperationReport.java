@@ -0,0 +1,39 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencySummary;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Immutable result of one operation of a load run. Histogram values are in microseconds.
+ *
+ * @see OperationStats for the difference between response time and service time
+ */
+@Value
+public class OperationReport {
+  String name;
+  long count;
+  long errors;
+  String firstError;
+  Histogram responseTime;
+  Histogram serviceTime;
+
+  public LatencySummary getResponseTimeSummary() {
+    return LatencySummary.of(responseTime);
+  }
+
+  public LatencySummary getServiceTimeSummary() {
+    return LatencySummary.of(serviceTime);
+  }
+
+  static OperationReport of(OperationStats stats) {
+    Histogram responseTime = stats.getResponseTime().totalHistogram();
+    return new OperationReport(
+        stats.getName(),
+        responseTime.getTotalCount(),
+        stats.getErrors(),
+        stats.getFirstError(),
+        responseTime,
+        stats.getServiceTime().totalHistogram());
+  }
+}
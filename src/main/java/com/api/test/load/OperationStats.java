@@ -0,0 +1,57 @@
+package com.api.test.load;
+
+import com.api.test.metrics.LatencyRecorder;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live, thread-safe counters of one operation of a load run.
+ *
+ * <p>Two latencies are recorded for every call. The <em>response time</em> is measured from the
+ * moment the request was supposed to be sent according to the schedule, so time spent queued behind
+ * a slow server is included and coordinated omission is corrected. The <em>service time</em> is
+ * measured from the moment the request was actually sent. Without a schedule (an unpaced closed
+ * loop) both are the same.
+ */
+class OperationStats {
+
+  private final String name;
+  private final LatencyRecorder responseTime = new LatencyRecorder();
+  private final LatencyRecorder serviceTime = new LatencyRecorder();
+  private final LongAdder errors = new LongAdder();
+  private final AtomicReference<String> firstError = new AtomicReference<>();
+
+  OperationStats(String name) {
+    this.name = name;
+  }
+
+  void record(long responseNanos, long serviceNanos) {
+    responseTime.record(responseNanos);
+    serviceTime.record(serviceNanos);
+  }
+
+  void recordError(String description) {
+    errors.increment();
+    firstError.compareAndSet(null, description);
+  }
+
+  String getName() {
+    return name;
+  }
+
+  LatencyRecorder getResponseTime() {
+    return responseTime;
+  }
+
+  LatencyRecorder getServiceTime() {
+    return serviceTime;
+  }
+
+  long getErrors() {
+    return errors.sum();
+  }
+
+  String getFirstError() {
+    return firstError.get();
+  }
+}
@@ -0,0 +1,30 @@
+package com.api.test.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the client JVM taken through JMX at the end of a soak interval, see {@link
+ * ResourceSampler}.
+ *
+ * <ul>
+ *   <li>{@code heapUsedBytes} - heap in use when the sample was taken, garbage included
+ *   <li>{@code heapAfterGcBytes} - heap still in use after the last collection of every heap pool,
+ *       the live set; {@code 0} until a pool has been collected
+ *   <li>{@code gcPauseMillis} - time spent in garbage collection during the interval
+ *   <li>{@code threadCount} - live threads, platform threads only
+ *   <li>{@code openConnections} - pooled HTTP connections, leased or idle, of every endpoint
+ *   <li>{@code openFileDescriptors} - open files and sockets of the process, {@code -1} where the
+ *       operating system does not report them
+ * </ul>
+ */
+@Value
+@Builder
+public class ResourceSample {
+  long heapUsedBytes;
+  long heapAfterGcBytes;
+  long gcPauseMillis;
+  int threadCount;
+  int openConnections;
+  long openFileDescriptors;
+}
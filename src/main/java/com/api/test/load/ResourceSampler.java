@@ -0,0 +1,60 @@
+package com.api.test.load;
+
+import com.api.test.requests.ApiClientContext;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Takes {@link ResourceSample}s of the running JVM from the platform MXBeans. The garbage
+ * collection time of a sample is the time spent since the previous sample, so one sampler is used
+ * per run and from one thread at a time.
+ */
+class ResourceSampler {
+
+  private long lastGcMillis = totalGcMillis();
+
+  ResourceSample sample() {
+    long gcMillis = totalGcMillis();
+    long gcPause = gcMillis - lastGcMillis;
+    lastGcMillis = gcMillis;
+    return ResourceSample.builder()
+        .heapUsedBytes(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed())
+        .heapAfterGcBytes(heapAfterGc())
+        .gcPauseMillis(gcPause)
+        .threadCount(ManagementFactory.getThreadMXBean().getThreadCount())
+        .openConnections(ApiClientContext.getTotalOpenConnections())
+        .openFileDescriptors(openFileDescriptors())
+        .build();
+  }
+
+  private static long totalGcMillis() {
+    long total = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(0, collector.getCollectionTime());
+    }
+    return total;
+  }
+
+  private static long heapAfterGc() {
+    long total = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      MemoryUsage usage = pool.getCollectionUsage();
+      if (pool.getType() == MemoryType.HEAP && usage != null) {
+        total += usage.getUsed();
+      }
+    }
+    return total;
+  }
+
+  private static long openFileDescriptors() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+      return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,70 @@
+package com.api.test.load;
+
+import com.api.test.json.JsonSerializer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Immutable result of a soak run: the {@link LoadReport} of the whole run, the report of every
+ * interval, and the metrics that kept growing, see {@link GrowthDetector}.
+ */
+@Value
+public class SoakReport {
+  LoadReport load;
+  List<IntervalReport> intervals;
+  List<GrowthFinding> findings;
+
+  /** Returns {@code true} if any metric grew monotonically at the end of the run. */
+  public boolean hasFindings() {
+    return !findings.isEmpty();
+  }
+
+  /** Formats the interval table, the whole-run report and the findings. */
+  public String format() {
+    StringBuilder out = new StringBuilder();
+    out.append(IntervalReport.header()).append(System.lineSeparator());
+    for (IntervalReport interval : intervals) {
+      out.append(interval.format()).append(System.lineSeparator());
+    }
+    out.append(System.lineSeparator()).append(load.format());
+    if (findings.isEmpty()) {
+      out.append(String.format("No monotonic growth detected%n"));
+    }
+    for (GrowthFinding finding : findings) {
+      out.append(String.format("Possible leak: %s%n", finding));
+    }
+    return out.toString();
+  }
+
+  /** Returns the totals, intervals and findings as a JSON object. */
+  public String toJson() {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("elapsedSeconds", load.getElapsed().toMillis() / 1000.0);
+    json.put("requests", load.getTotalCount());
+    json.put("errors", load.getTotalErrors());
+    json.put("throughput", load.getThroughput());
+    json.put("errorRate", load.getErrorRate());
+    json.put("intervals", intervals);
+    json.put("findings", findings);
+    return JsonSerializer.toPrettyJson(json);
+  }
+
+  /** Writes {@link #toJson()} to the given file, creating its parent directories. */
+  public void writeJson(Path file) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write the soak report to " + file, e);
+    }
+  }
+}
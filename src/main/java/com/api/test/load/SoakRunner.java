@@ -0,0 +1,83 @@
+package com.api.test.load;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.requests.ApiClientContext;
+import com.api.test.server.ApiServer;
+import com.api.test.server.ApiServers;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Command line entry point of a soak run: the {@link LoadRunner} mix is repeated for a long time
+ * and throughput, latency, errors and the client's heap, GC time, threads, pooled connections and
+ * file descriptors are reported at a fixed interval. At the end, every metric that kept growing
+ * over the last intervals is reported as a possible leak, see {@link GrowthDetector}.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.api.test.load.SoakRunner \
+ *       -Dload.mode=RATE -Dload.rate=50 -Dsoak.durationMinutes=480 -Dsoak.intervalSeconds=300
+ * }
+ * </pre>
+ *
+ * <p>All properties of {@link LoadRunner} apply, except that the length of the run and of the
+ * intervals come from:
+ *
+ * <ul>
+ *   <li>{@code soak.durationMinutes} - length of the measured part of the run
+ *   <li>{@code soak.intervalSeconds} - length of a reporting interval
+ *   <li>{@code soak.growthWindow} - intervals a metric must grow over to be reported
+ *   <li>{@code soak.minGrowthPercent} - minimum growth over that window
+ *   <li>{@code soak.output} - file the JSON report is written to
+ *   <li>{@code soak.failOnGrowth} - exit with status 1 when a metric kept growing
+ * </ul>
+ */
+public final class SoakRunner {
+
+  private SoakRunner() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) {
+    Optional<ApiServer> server = ApiServers.startIfEnabled();
+    LoadConfig config =
+        LoadConfig.fromConfiguration().toBuilder()
+            .duration(
+                Duration.ofMinutes(ConfigurationLoader.getIntProperty("soak.durationMinutes", 60)))
+            .reportInterval(
+                Duration.ofSeconds(ConfigurationLoader.getIntProperty("soak.intervalSeconds", 60)))
+            .build();
+    GrowthDetector detector =
+        new GrowthDetector(
+            ConfigurationLoader.getIntProperty("soak.growthWindow", 5),
+            ConfigurationLoader.getDoubleProperty("soak.minGrowthPercent", 10));
+
+    List<IntervalReport> intervals = new ArrayList<>();
+    System.out.println(IntervalReport.header());
+    LoadReport load =
+        new LoadEngine(config)
+            .run(
+                LoadRunner.mixFromConfiguration(),
+                interval -> {
+                  intervals.add(interval);
+                  System.out.println(interval.format());
+                });
+    SoakReport report = new SoakReport(load, intervals, detector.detect(intervals));
+    System.out.println();
+    System.out.println(report.format());
+    System.out.println("Contracts: " + ApiClientContext.getAllContractStats());
+    report.writeJson(
+        Paths.get(ConfigurationLoader.getProperty("soak.output", "target/soak/soak-report.json")));
+    ApiClientContext.shutdownAll();
+    server.ifPresent(ApiServer::stop);
+    if (report.hasFindings()
+        && Boolean.parseBoolean(ConfigurationLoader.getProperty("soak.failOnGrowth", "true"))) {
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.api.test.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LatencyCapture} class collects the latency of every API call made by one thread
+ * between {@link #begin()} and {@link #close()}, e.g. the calls of a single test method. Calls are
+ * reported by the request layer through {@link #record(String, long)}, which does nothing when the
+ * calling thread has no capture, so capturing costs nothing outside of it.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   try (LatencyCapture capture = LatencyCapture.begin()) {
+ *     bookRequests.getBookById(1);
+ *     System.out.println(capture.getTotalNanos());
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>Only calls made on the capturing thread are seen; calls sent on an executor, e.g. through
+ * {@code sendRequestAsync}, are not.
+ */
+public final class LatencyCapture implements AutoCloseable {
+
+  private static final ThreadLocal<LatencyCapture> CURRENT = new ThreadLocal<>();
+
+  private long[] nanos = new long[4];
+  private int count;
+  private long totalNanos;
+  private long maxNanos;
+  private String slowestKey;
+
+  private LatencyCapture() {}
+
+  /** Starts capturing the calls of the current thread, replacing any capture already running. */
+  public static LatencyCapture begin() {
+    LatencyCapture capture = new LatencyCapture();
+    CURRENT.set(capture);
+    return capture;
+  }
+
+  /**
+   * Adds a call to the capture of the current thread, if there is one.
+   *
+   * @param key the call, e.g. {@code GET /api/v1/Books/{id}}
+   * @param latencyNanos how long the caller waited for it
+   */
+  public static void record(String key, long latencyNanos) {
+    LatencyCapture capture = CURRENT.get();
+    if (capture != null) {
+      capture.add(key, latencyNanos);
+    }
+  }
+
+  private void add(String key, long latencyNanos) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, count * 2);
+    }
+    nanos[count++] = latencyNanos;
+    totalNanos += latencyNanos;
+    if (latencyNanos > maxNanos || slowestKey == null) {
+      maxNanos = latencyNanos;
+      slowestKey = key;
+    }
+  }
+
+  /** Returns the number of calls captured. */
+  public int getCount() {
+    return count;
+  }
+
+  /** Returns the latency of every call captured, in the order they were made. */
+  public long[] getNanos() {
+    return Arrays.copyOf(nanos, count);
+  }
+
+  /** Returns the summed latency of all calls captured. */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /** Returns the key of the slowest call captured, or {@code null} if there was none. */
+  public String getSlowestKey() {
+    return slowestKey;
+  }
+
+  /** Stops capturing on the current thread. */
+  @Override
+  public void close() {
+    if (CURRENT.get() == this) {
+      CURRENT.remove();
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.api.test.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * The {@code LatencyRecorder} class records latencies into an HdrHistogram {@link Recorder}, which
+ * is wait-free for the recording threads. Values are kept in microseconds with three significant
+ * digits, from 1 microsecond up to 10 minutes; larger values are clamped to the maximum.
+ *
+ * <p>Readers take either the values recorded since the previous interval ({@link
+ * #intervalHistogram()}) or everything recorded so far ({@link #totalHistogram()}). Both return
+ * private copies that the caller can keep.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LatencyRecorder recorder = new LatencyRecorder();
+ *   long start = System.nanoTime();
+ *   bookRequests.getBookById(1);
+ *   recorder.record(System.nanoTime() - start);
+ *   LatencySummary summary = LatencySummary.of(recorder.totalHistogram());
+ * }
+ * </pre>
+ */
+public class LatencyRecorder {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+  private final Histogram total = newHistogram();
+  private Histogram recycled;
+
+  /** Creates an empty histogram with the same range and precision as this recorder. */
+  public static Histogram newHistogram() {
+    return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+  }
+
+  /**
+   * Records one latency.
+   *
+   * @param latencyNanos the latency in nanoseconds
+   */
+  public void record(long latencyNanos) {
+    recorder.recordValue(toMicros(latencyNanos));
+  }
+
+  /**
+   * Records one latency and back-fills the samples that a closed-loop sender missed while it was
+   * waiting for this response, correcting for coordinated omission.
+   *
+   * @param latencyNanos the latency in nanoseconds
+   * @param expectedIntervalNanos the interval at which the sender intended to send requests
+   */
+  public void recordWithExpectedInterval(long latencyNanos, long expectedIntervalNanos) {
+    recorder.recordValueWithExpectedInterval(
+        toMicros(latencyNanos), toMicros(expectedIntervalNanos));
+  }
+
+  /**
+   * Adds the values of a histogram recorded elsewhere, e.g. by another JVM, to the total.
+   *
+   * @param histogram a histogram in microseconds, such as one returned by {@link #newHistogram()}
+   */
+  public synchronized void add(Histogram histogram) {
+    total.add(histogram);
+  }
+
+  /** Returns the values recorded since the previous call, and adds them to the total. */
+  public synchronized Histogram intervalHistogram() {
+    Histogram interval = recorder.getIntervalHistogram(recycled);
+    total.add(interval);
+    recycled = interval;
+    return interval.copy();
+  }
+
+  /** Returns all values recorded since creation or the last {@link #reset()}. */
+  public synchronized Histogram totalHistogram() {
+    recycled = recorder.getIntervalHistogram(recycled);
+    total.add(recycled);
+    return total.copy();
+  }
+
+  public synchronized void reset() {
+    recorder.reset();
+    total.reset();
+  }
+
+  private static long toMicros(long nanos) {
+    return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+  }
+}
@@ -0,0 +1,154 @@
+package com.api.test.metrics;
+
+import com.api.test.json.JsonSerializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The {@code LatencyRegistry} class keeps one {@link LatencyRecorder} per key, e.g. per endpoint
+ * such as {@code GET api/v1/Books/{id}}, and summarizes all of them at the end of a run.
+ *
+ * <p>Recording is safe from any number of threads: looking up an existing recorder does not lock,
+ * and recorders themselves are wait-free.
+ *
+ * <p>Percentiles of separate runs cannot be combined, so runs split across JVMs write their raw
+ * histograms with {@link #writeHistograms(Path)}, and the merged summary is taken from a registry
+ * that {@link #addHistograms(Path) added} all of them.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LatencyRegistry.global().record("GET api/v1/Books/{id}", elapsedNanos);
+ *   String json = LatencyRegistry.global().toJson();
+ * }
+ * </pre>
+ */
+public final class LatencyRegistry {
+
+  private static final LatencyRegistry GLOBAL = new LatencyRegistry();
+  private static final LatencyRegistry QUEUE_TIMES = new LatencyRegistry();
+
+  private final ConcurrentMap<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+  /** Returns the registry that the request filters record into. */
+  public static LatencyRegistry global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Returns the registry of the time requests spend waiting for the client-side rate limiter and
+   * concurrency limit, keyed like {@link #global()}, so it is never mixed into server latency.
+   */
+  public static LatencyRegistry queueTimes() {
+    return QUEUE_TIMES;
+  }
+
+  public void record(String key, long latencyNanos) {
+    recorder(key).record(latencyNanos);
+  }
+
+  /** Returns the recorder of the key, creating it on first use. */
+  public LatencyRecorder recorder(String key) {
+    LatencyRecorder recorder = recorders.get(key);
+    return recorder != null ? recorder : recorders.computeIfAbsent(key, k -> new LatencyRecorder());
+  }
+
+  /** Returns the summary of everything recorded so far, sorted by key. */
+  public Map<String, LatencySummary> summarize() {
+    Map<String, LatencySummary> summaries = new TreeMap<>();
+    recorders.forEach(
+        (key, recorder) -> summaries.put(key, LatencySummary.of(recorder.totalHistogram())));
+    return Collections.unmodifiableMap(summaries);
+  }
+
+  /** Returns {@link #summarize()} as a JSON object keyed by endpoint. */
+  public String toJson() {
+    return JsonSerializer.toPrettyJson(summarize());
+  }
+
+  /** Writes {@link #toJson()} to the given file, creating its parent directories. */
+  public void writeJson(Path file) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write the latency summary to " + file, e);
+    }
+  }
+
+  /**
+   * Writes the histogram of every key to the given file, as a JSON object of compressed,
+   * Base64-encoded HdrHistograms keyed like {@link #summarize()}.
+   */
+  public void writeHistograms(Path file) {
+    Map<String, String> encoded = new TreeMap<>();
+    recorders.forEach(
+        (key, recorder) -> {
+          Histogram histogram = recorder.totalHistogram();
+          ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+          int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+          encoded.put(
+              key, Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        });
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      Files.write(file, JsonSerializer.toBytes(encoded));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write the latency histograms to " + file, e);
+    }
+  }
+
+  /**
+   * Adds the histograms written by {@link #writeHistograms(Path)} to the recorders of their keys.
+   *
+   * @param file a file written by {@link #writeHistograms(Path)}
+   */
+  public void addHistograms(Path file) {
+    JsonNode encoded;
+    try {
+      encoded = JsonSerializer.fromBytes(Files.readAllBytes(file), JsonNode.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read the latency histograms from " + file, e);
+    }
+    Iterator<Map.Entry<String, JsonNode>> fields = encoded.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      try {
+        recorder(field.getKey())
+            .add(
+                Histogram.decodeFromCompressedByteBuffer(
+                    ByteBuffer.wrap(Base64.getDecoder().decode(field.getValue().asText())), 0));
+      } catch (DataFormatException e) {
+        throw new IllegalArgumentException(
+            "Invalid latency histogram " + field.getKey() + " in " + file, e);
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return recorders.isEmpty();
+  }
+
+  public void reset() {
+    recorders.clear();
+  }
+}
@@ -0,0 +1,48 @@
+package com.api.test.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Immutable percentile summary of a latency histogram recorded by {@link LatencyRecorder}. All
+ * latencies are in milliseconds.
+ */
+@Value
+@Builder
+public class LatencySummary {
+  long count;
+  double minMillis;
+  double meanMillis;
+  double p50Millis;
+  double p90Millis;
+  double p99Millis;
+  double p999Millis;
+  double maxMillis;
+
+  /**
+   * Summarizes a histogram whose values are in microseconds.
+   *
+   * @param histogram the histogram to summarize
+   * @return the summary, all zero if the histogram is empty
+   */
+  public static LatencySummary of(Histogram histogram) {
+    if (histogram.getTotalCount() == 0) {
+      return LatencySummary.builder().build();
+    }
+    return LatencySummary.builder()
+        .count(histogram.getTotalCount())
+        .minMillis(toMillis(histogram.getMinValue()))
+        .meanMillis(histogram.getMean() / 1000.0)
+        .p50Millis(toMillis(histogram.getValueAtPercentile(50)))
+        .p90Millis(toMillis(histogram.getValueAtPercentile(90)))
+        .p99Millis(toMillis(histogram.getValueAtPercentile(99)))
+        .p999Millis(toMillis(histogram.getValueAtPercentile(99.9)))
+        .maxMillis(toMillis(histogram.getMaxValue()))
+        .build();
+  }
+
+  private static double toMillis(long micros) {
+    return micros / 1000.0;
+  }
+}
@@ -0,0 +1,37 @@
+package com.api.test.models;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Immutable, valid {@link Author} with primitive fields, for load runs and bulk data. {@link
+ * Author} stays the model of the negative tests. An id of {@code 0} lets the service assign one.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class AuthorRecord {
+    int id;
+    int idBook;
+    String firstName;
+    String lastName;
+
+    /**
+     * Converts a raw author, treating a missing id or book id as {@code 0}.
+     *
+     * @throws IllegalArgumentException if a field has a value the service would reject
+     */
+    public static AuthorRecord from(Author author) {
+        return AuthorRecord.builder()
+                .id(ModelValues.toInt(author.getId(), "id"))
+                .idBook(ModelValues.toInt(author.getIdBook(), "idBook"))
+                .firstName(author.getFirstName())
+                .lastName(author.getLastName())
+                .build();
+    }
+
+    public Author toAuthor() {
+        return Author.builder().id(id).idBook(idBook).firstName(firstName).lastName(lastName).build();
+    }
+}
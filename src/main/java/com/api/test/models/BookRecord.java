@@ -0,0 +1,54 @@
+package com.api.test.models;
+
+import com.api.test.json.DateTimeJson;
+import java.time.OffsetDateTime;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Immutable, valid {@link Book} with primitive fields and a parsed publish date, for load runs and
+ * bulk data. {@link Book} stays the model of the negative tests, which need ids, page counts and
+ * dates of the wrong type. An id of {@code 0} lets the service assign one.
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class BookRecord {
+    int id;
+    String title;
+    String description;
+    int pageCount;
+    String excerpt;
+    OffsetDateTime publishDate;
+
+    /**
+     * Converts a raw book, treating a missing id or page count as {@code 0}.
+     *
+     * @throws IllegalArgumentException if a field has a value the service would reject
+     */
+    public static BookRecord from(Book book) {
+        return BookRecord.builder()
+                .id(ModelValues.toInt(book.getId(), "id"))
+                .title(book.getTitle())
+                .description(book.getDescription())
+                .pageCount(ModelValues.toInt(book.getPageCount(), "pageCount"))
+                .excerpt(book.getExcerpt())
+                .publishDate(
+                        book.getPublishDate() == null
+                                ? null
+                                : DateTimeJson.parse(book.getPublishDate()))
+                .build();
+    }
+
+    public Book toBook() {
+        return Book.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .pageCount(pageCount)
+                .excerpt(excerpt)
+                .publishDate(publishDate == null ? null : DateTimeJson.format(publishDate))
+                .build();
+    }
+}
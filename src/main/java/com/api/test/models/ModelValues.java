@@ -0,0 +1,32 @@
+package com.api.test.models;
+
+/**
+ * Checks the loosely typed fields of the raw models, which may hold deliberately invalid values
+ * such as strings or numbers out of range, when converting them to records or index keys.
+ */
+public final class ModelValues {
+
+    private ModelValues() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /** Returns whether the value is an integral number in the {@code int} range. */
+    public static boolean isInt32(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        }
+        return value instanceof Long && (Long) value == ((Long) value).intValue();
+    }
+
+    /** Returns the value as an {@code int}, {@code 0} for {@code null}, like the service binds it. */
+    public static int toInt(Object value, String field) {
+        if (value == null) {
+            return 0;
+        }
+        if (isInt32(value)) {
+            return ((Number) value).intValue();
+        }
+        throw new IllegalArgumentException(
+                String.format("%s must be a 32-bit integer, but was %s", field, value));
+    }
+}
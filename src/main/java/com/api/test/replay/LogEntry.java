@@ -0,0 +1,70 @@
+package com.api.test.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A record of a {@link TrafficLog} as read from the mapped log: the request fields that make up its
+ * keys and the response, whose body stays a view of the mapped file.
+ */
+final class LogEntry {
+
+  private final String method;
+  private final String path;
+  private final long requestBodyHash;
+  private final int status;
+  private final String contentType;
+  private final String etag;
+  private final ByteBuffer body;
+
+  LogEntry(
+      String method,
+      String path,
+      long requestBodyHash,
+      int status,
+      String contentType,
+      String etag,
+      ByteBuffer body) {
+    this.method = method;
+    this.path = path;
+    this.requestBodyHash = requestBodyHash;
+    this.status = status;
+    this.contentType = contentType;
+    this.etag = etag;
+    this.body = body;
+  }
+
+  String getMethod() {
+    return method;
+  }
+
+  String getPath() {
+    return path;
+  }
+
+  long getRequestBodyHash() {
+    return requestBodyHash;
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  /** Returns the {@code Content-Type} of the response, or {@code null} if it had none. */
+  String getContentType() {
+    return contentType;
+  }
+
+  /** Returns the {@code ETag} of the response, or {@code null} if it had none. */
+  String getEtag() {
+    return etag;
+  }
+
+  int getBodyLength() {
+    return body.remaining();
+  }
+
+  /** Returns a new read-only view of the body, safe to consume from any thread. */
+  ByteBuffer body() {
+    return body.duplicate();
+  }
+}
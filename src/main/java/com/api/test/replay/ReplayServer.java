@@ -0,0 +1,175 @@
+package com.api.test.replay;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.requests.RequestExecutors;
+import com.api.test.server.ApiServer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The {@code ReplayServer} class answers requests on the loopback interface from a recording of
+ * {@link TrafficLogWriter}, so the suite, load runs and benchmarks can run offline at full speed
+ * against responses captured once from the real service.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ReplayServer server = ReplayServer.start(Paths.get("target/recordings"), 0);
+ *   System.setProperty("baseUrl", server.getBaseUrl());
+ *   ...
+ *   server.stop();
+ * }
+ * </pre>
+ *
+ * <p>A request is answered with the response recorded for the same method, path, query and body,
+ * and the n-th such request with the n-th such response, so a book read before and after an update
+ * gets both answers in the order they were recorded. Requests whose body differs from every
+ * recorded one get the responses recorded for the same method and path in the same way, and
+ * requests to a path that was never recorded get {@code 501 Not Implemented}; both are counted in
+ * {@link #getStats()}. GETs whose {@code If-None-Match} matches the recorded {@code ETag} get
+ * {@code 304 Not Modified}.
+ *
+ * <p>Bodies only match when the replaying run sends what the recording run sent, so fake payloads
+ * are seeded whenever a run records or replays, see {@code PayloadSeed}.
+ *
+ * <p>Lookups are a hash lookup in the index of the {@link TrafficLog}, and bodies are written
+ * straight from the memory-mapped log. The suite and the load runs switch to this server with
+ * {@code api.server=replay}, see {@code ApiServers}.
+ */
+public final class ReplayServer implements ApiServer {
+
+  /** Tells the client how a request was matched: {@code exact} or {@code path}. */
+  public static final String MATCH_HEADER = "X-Replay-Match";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final TrafficLog log;
+  private final ReplayStats stats = new ReplayStats();
+
+  private ReplayServer(HttpServer server, ExecutorService executor, TrafficLog log) {
+    this.server = server;
+    this.executor = executor;
+    this.log = log;
+    server.createContext("/", this::handle);
+    server.setExecutor(executor);
+  }
+
+  /**
+   * Opens a recording and starts a server on the loopback interface that replays it.
+   *
+   * @param recording the recording directory
+   * @param port the port to listen on, or {@code 0} for any free port
+   * @return the running server
+   */
+  public static ReplayServer start(Path recording, int port) {
+    TrafficLog log = TrafficLog.open(recording);
+    // See LocalApiServer: without TCP_NODELAY every response stalls on a delayed ACK.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    HttpServer httpServer;
+    try {
+      httpServer =
+          HttpServer.create(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+              ConfigurationLoader.getIntProperty("api.server.backlog", 4096));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to start the replay server on port " + port, e);
+    }
+    ReplayServer server =
+        new ReplayServer(
+            httpServer,
+            RequestExecutors.create(
+                ConfigurationLoader.getProperty("api.server.executor", RequestExecutors.VIRTUAL),
+                ConfigurationLoader.getIntProperty("api.server.threads", 200)),
+            log);
+    httpServer.start();
+    return server;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return String.format(
+        "http://%s:%d/",
+        server.getAddress().getAddress().getHostAddress(), server.getAddress().getPort());
+  }
+
+  @Override
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public TrafficLog getLog() {
+    return log;
+  }
+
+  public ReplayStats getStats() {
+    return stats;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      URI uri = exchange.getRequestURI();
+      String path =
+          uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + '?' + uri.getRawQuery();
+      TrafficLog.Match match =
+          log.find(
+              exchange.getRequestMethod().toUpperCase(Locale.ROOT), path, TrafficRecord.hash(body));
+      if (match == null) {
+        stats.recordMissed();
+        exchange.sendResponseHeaders(501, -1);
+        return;
+      }
+      if (match.isExact()) {
+        stats.recordExact();
+      } else {
+        stats.recordByPath();
+      }
+      send(exchange, match);
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private static void send(HttpExchange exchange, TrafficLog.Match match) throws IOException {
+    LogEntry entry = match.getEntry();
+    exchange.getResponseHeaders().set(MATCH_HEADER, match.isExact() ? "exact" : "path");
+    if (entry.getEtag() != null) {
+      exchange.getResponseHeaders().set("ETag", entry.getEtag());
+      if ("GET".equalsIgnoreCase(exchange.getRequestMethod())
+          && entry.getStatus() == 200
+          && entry.getEtag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+        return;
+      }
+    }
+    if (entry.getContentType() != null) {
+      exchange.getResponseHeaders().set("Content-Type", entry.getContentType());
+    }
+    int length = entry.getBodyLength();
+    exchange.sendResponseHeaders(entry.getStatus(), length == 0 ? -1 : length);
+    if (length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        WritableByteChannel channel = Channels.newChannel(out);
+        ByteBuffer bodyView = entry.body();
+        while (bodyView.hasRemaining()) {
+          channel.write(bodyView);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.api.test.replay;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ReplayStats} class counts how the requests to a {@link ReplayServer} were answered:
+ * with a response recorded for the same method, path and body (exact), with one recorded for the
+ * same method and path only (by path), or not at all because nothing was recorded for the path
+ * (missed).
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class ReplayStats {
+
+  private final LongAdder exact = new LongAdder();
+  private final LongAdder byPath = new LongAdder();
+  private final LongAdder missed = new LongAdder();
+
+  void recordExact() {
+    exact.increment();
+  }
+
+  void recordByPath() {
+    byPath.increment();
+  }
+
+  void recordMissed() {
+    missed.increment();
+  }
+
+  /** Returns the number of requests answered with the response recorded for the same body. */
+  public long getExact() {
+    return exact.sum();
+  }
+
+  /** Returns the number of requests answered with a response recorded for another body. */
+  public long getByPath() {
+    return byPath.sum();
+  }
+
+  /** Returns the number of requests to a path that was never recorded. */
+  public long getMissed() {
+    return missed.sum();
+  }
+
+  public void reset() {
+    exact.reset();
+    byPath.reset();
+    missed.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("exact=%d, byPath=%d, missed=%d", getExact(), getByPath(), getMissed());
+  }
+}
@@ -0,0 +1,215 @@
+package com.api.test.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code TrafficLog} class opens a recording of a {@link TrafficLogWriter} for replay. The log
+ * is memory-mapped read-only and every indexed record is resolved once when the log is opened, so
+ * {@link #find(String, String, long)} is a hash lookup and the body it returns is a view of the
+ * mapped file that is never copied onto the heap.
+ *
+ * <p>A key that was recorded several times, e.g. a {@code GET} of a book before and after it was
+ * updated, keeps all its responses in recording order, and the log replays them in that order: the
+ * n-th request of a key gets the n-th response recorded for it, and requests past the last one get
+ * the last one again. {@link #rewind()} starts every key over.
+ *
+ * <p>The index is read from {@code traffic.idx} when it covers the whole log, and rebuilt by a scan
+ * of the log otherwise, e.g. when the recording run did not close its writer.
+ *
+ * <p>This class is thread-safe; the replay position of each key is advanced atomically.
+ */
+public final class TrafficLog {
+
+  private final Path directory;
+  private final Map<String, Responses> entries;
+  private final int records;
+
+  private TrafficLog(Path directory, Map<String, Responses> entries, int records) {
+    this.directory = directory;
+    this.entries = entries;
+    this.records = records;
+  }
+
+  /**
+   * Opens the recording in a directory.
+   *
+   * @param directory the recording directory
+   * @return the log
+   * @throws UncheckedIOException if the directory holds no valid recording
+   */
+  public static TrafficLog open(Path directory) {
+    Path logFile = directory.resolve(TrafficLogFormat.LOG_FILE);
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Traffic log larger than 2 GB: " + logFile);
+      }
+      // The mapping stays valid after the channel is closed.
+      MappedByteBuffer log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (!TrafficLogFormat.hasMagic(log, TrafficLogFormat.LOG_MAGIC)) {
+        throw new IOException("Not a traffic log: " + logFile);
+      }
+      Map<String, List<LogEntry>> recorded = readIndex(directory, log);
+      int records;
+      if (recorded != null) {
+        records = countRecords(log);
+      } else {
+        recorded = new HashMap<>();
+        records = scan(log, recorded);
+      }
+      Map<String, Responses> entries = new HashMap<>(recorded.size() * 2);
+      recorded.forEach((key, keyEntries) -> entries.put(key, new Responses(keyEntries)));
+      return new TrafficLog(directory, Collections.unmodifiableMap(entries), records);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open the recording in " + directory, e);
+    }
+  }
+
+  /**
+   * Finds the response to a request and advances the replay position of its key: the next response
+   * recorded for the same method, path and body, or failing that the next one recorded for the same
+   * method and path.
+   *
+   * @param method the HTTP method, upper case
+   * @param path the raw path and query
+   * @param requestBodyHash the {@link TrafficRecord#hash(byte[])} of the request body
+   * @return the match, or {@code null} if nothing was recorded for the method and path
+   */
+  Match find(String method, String path, long requestBodyHash) {
+    Responses exact = entries.get(TrafficRecord.exactKey(method, path, requestBodyHash));
+    if (exact != null) {
+      return new Match(exact.next(), true);
+    }
+    Responses byPath = entries.get(TrafficRecord.pathKey(method, path));
+    return byPath == null ? null : new Match(byPath.next(), false);
+  }
+
+  /** Replays every key from its first recorded response again. */
+  public void rewind() {
+    entries.values().forEach(Responses::rewind);
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /** Returns the number of complete records in the log. */
+  public int getRecordCount() {
+    return records;
+  }
+
+  /** Reads the index file, or returns {@code null} if it is missing or out of date. */
+  private static Map<String, List<LogEntry>> readIndex(Path directory, ByteBuffer log)
+      throws IOException {
+    Path indexFile = directory.resolve(TrafficLogFormat.INDEX_FILE);
+    if (!Files.exists(indexFile)) {
+      return null;
+    }
+    ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+    if (!TrafficLogFormat.hasMagic(index, TrafficLogFormat.INDEX_MAGIC)) {
+      return null;
+    }
+    index.position(TrafficLogFormat.INDEX_MAGIC.length);
+    if (index.getLong() != log.limit()) {
+      return null;
+    }
+    int count = index.getInt();
+    Map<String, List<LogEntry>> entries = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      String key = TrafficLogFormat.readString(index);
+      int offsets = index.getInt();
+      List<LogEntry> keyEntries = new ArrayList<>(offsets);
+      for (int j = 0; j < offsets; j++) {
+        LogEntry entry = TrafficLogFormat.read(log, index.getInt());
+        if (entry == null) {
+          return null;
+        }
+        keyEntries.add(entry);
+      }
+      entries.put(key, keyEntries);
+    }
+    return entries;
+  }
+
+  private static int scan(ByteBuffer log, Map<String, List<LogEntry>> entries) {
+    int records = 0;
+    int offset = TrafficLogFormat.LOG_MAGIC.length;
+    for (LogEntry entry; (entry = TrafficLogFormat.read(log, offset)) != null; records++) {
+      entries
+          .computeIfAbsent(
+              TrafficRecord.exactKey(
+                  entry.getMethod(), entry.getPath(), entry.getRequestBodyHash()),
+              key -> new ArrayList<>(1))
+          .add(entry);
+      entries
+          .computeIfAbsent(
+              TrafficRecord.pathKey(entry.getMethod(), entry.getPath()), key -> new ArrayList<>(1))
+          .add(entry);
+      offset = TrafficLogFormat.next(log, offset);
+    }
+    return records;
+  }
+
+  private static int countRecords(ByteBuffer log) {
+    int records = 0;
+    for (int offset = TrafficLogFormat.LOG_MAGIC.length;
+        log.limit() - offset >= Integer.BYTES;
+        offset = TrafficLogFormat.next(log, offset)) {
+      records++;
+    }
+    return records;
+  }
+
+  /** The responses recorded for one key, in recording order, and how many were replayed. */
+  private static final class Responses {
+
+    private final LogEntry[] entries;
+    private final AtomicInteger replayed = new AtomicInteger();
+
+    private Responses(List<LogEntry> entries) {
+      this.entries = entries.toArray(new LogEntry[0]);
+    }
+
+    /** Returns the next response, or the last one again once all were replayed. */
+    LogEntry next() {
+      int next = replayed.getAndUpdate(n -> Math.min(n + 1, entries.length));
+      return entries[Math.min(next, entries.length - 1)];
+    }
+
+    void rewind() {
+      replayed.set(0);
+    }
+  }
+
+  /** A recorded response and whether it was recorded for the same request body. */
+  static final class Match {
+
+    private final LogEntry entry;
+    private final boolean exact;
+
+    private Match(LogEntry entry, boolean exact) {
+      this.entry = entry;
+      this.exact = exact;
+    }
+
+    LogEntry getEntry() {
+      return entry;
+    }
+
+    boolean isExact() {
+      return exact;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.api.test.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The binary layout of a recording. All numbers are big-endian and strings are a {@code short}
+ * length followed by UTF-8 bytes, with a length of {@code -1} for none.
+ *
+ * <pre>
+ * traffic.log   magic "APIREC01", then one record after the other:
+ *               int length of the rest of the record
+ *               string method, string path, long request body hash
+ *               short status, string content type, string etag
+ *               int body length, body
+ * traffic.idx   magic "APIIDX02", long length of the log it covers, int entry count, then for
+ *               every entry: string key, int record count, the record offsets in log order
+ * </pre>
+ *
+ * <p>The index holds the exact key and the path key of every request, see {@link TrafficRecord},
+ * each with the offsets of all records of that key in the order they were recorded.
+ */
+final class TrafficLogFormat {
+
+  static final String LOG_FILE = "traffic.log";
+  static final String INDEX_FILE = "traffic.idx";
+  static final byte[] LOG_MAGIC = "APIREC01".getBytes(StandardCharsets.US_ASCII);
+  static final byte[] INDEX_MAGIC = "APIIDX02".getBytes(StandardCharsets.US_ASCII);
+
+  private TrafficLogFormat() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /** Encodes a record, length prefix included. */
+  static byte[] encode(TrafficRecord record) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + record.getBody().length);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(0);
+      writeString(out, record.getMethod());
+      writeString(out, record.getPath());
+      out.writeLong(record.getRequestBodyHash());
+      out.writeShort(record.getStatus());
+      writeString(out, record.getContentType());
+      writeString(out, record.getEtag());
+      out.writeInt(record.getBody().length);
+      out.write(record.getBody());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    byte[] encoded = bytes.toByteArray();
+    ByteBuffer.wrap(encoded).putInt(encoded.length - Integer.BYTES);
+    return encoded;
+  }
+
+  /**
+   * Reads the record at an offset of the log.
+   *
+   * @param log the whole log, positioned anywhere
+   * @param offset the offset of the record's length prefix
+   * @return the record, or {@code null} if the log ends before the record does, e.g. after a crash
+   *     while recording
+   */
+  static LogEntry read(ByteBuffer log, int offset) {
+    if (log.limit() - offset < Integer.BYTES) {
+      return null;
+    }
+    int length = log.getInt(offset);
+    if (length < 0 || log.limit() - offset - Integer.BYTES < length) {
+      return null;
+    }
+    ByteBuffer record = log.duplicate();
+    record.position(offset + Integer.BYTES).limit(offset + Integer.BYTES + length);
+    String method = readString(record);
+    String path = readString(record);
+    long requestBodyHash = record.getLong();
+    int status = record.getShort();
+    String contentType = readString(record);
+    String etag = readString(record);
+    int bodyLength = record.getInt();
+    ByteBuffer body = record.slice();
+    body.limit(bodyLength);
+    return new LogEntry(
+        method, path, requestBodyHash, status, contentType, etag, body.asReadOnlyBuffer());
+  }
+
+  /** Returns the offset of the record after the one at {@code offset}. */
+  static int next(ByteBuffer log, int offset) {
+    return offset + Integer.BYTES + log.getInt(offset);
+  }
+
+  /** Returns whether the buffer starts with the magic; the position is left unchanged. */
+  static boolean hasMagic(ByteBuffer buffer, byte[] magic) {
+    if (buffer.limit() < magic.length) {
+      return false;
+    }
+    byte[] actual = new byte[magic.length];
+    buffer.duplicate().position(0).get(actual);
+    return Arrays.equals(actual, magic);
+  }
+
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeShort(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("String too long to record: " + bytes.length + " bytes");
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(ByteBuffer buffer) {
+    int length = buffer.getShort();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
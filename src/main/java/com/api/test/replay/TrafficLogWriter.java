@@ -0,0 +1,187 @@
+package com.api.test.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TrafficLogWriter} class appends {@link TrafficRecord}s to the {@code traffic.log} of a
+ * recording directory and writes its {@code traffic.idx} when it is closed, see {@link
+ * TrafficLogFormat} for the layout. A {@link TrafficLog} opens the result for replay.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   try (TrafficLogWriter writer = TrafficLogWriter.open(Paths.get("target/recordings"))) {
+ *     writer.append(record);
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>Records go to the file as they are appended, so a run that dies while recording loses only its
+ * index, which {@link TrafficLog} rebuilds from the log. Opening a directory that already holds a
+ * recording continues it; delete the directory to start over.
+ *
+ * <p>This class is thread-safe; appends are serialized.
+ */
+public final class TrafficLogWriter implements Closeable {
+
+  private final Path directory;
+  private final FileChannel log;
+  private final Map<String, List<Integer>> index = new LinkedHashMap<>();
+  private long size;
+  private long records;
+  private boolean closed;
+
+  private TrafficLogWriter(Path directory, FileChannel log, long size) {
+    this.directory = directory;
+    this.log = log;
+    this.size = size;
+  }
+
+  /**
+   * Opens the recording in a directory for appending, creating it if needed.
+   *
+   * @param directory the recording directory
+   * @return the writer
+   * @throws UncheckedIOException if the log cannot be opened
+   */
+  public static TrafficLogWriter open(Path directory) {
+    try {
+      Files.createDirectories(directory);
+      FileChannel channel =
+          FileChannel.open(
+              directory.resolve(TrafficLogFormat.LOG_FILE),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      TrafficLogWriter writer;
+      if (channel.size() == 0) {
+        channel.write(ByteBuffer.wrap(TrafficLogFormat.LOG_MAGIC));
+        writer = new TrafficLogWriter(directory, channel, TrafficLogFormat.LOG_MAGIC.length);
+      } else {
+        writer = new TrafficLogWriter(directory, channel, 0);
+        writer.reindex();
+      }
+      return writer;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open the recording in " + directory, e);
+    }
+  }
+
+  /**
+   * Appends a record.
+   *
+   * @param record the request/response pair
+   * @throws UncheckedIOException if the record cannot be written
+   * @throws IllegalStateException if the writer is closed or the log would exceed 2 GB
+   */
+  public synchronized void append(TrafficRecord record) {
+    if (closed) {
+      throw new IllegalStateException("The recording in " + directory + " is closed");
+    }
+    byte[] encoded = TrafficLogFormat.encode(record);
+    if (size + encoded.length > Integer.MAX_VALUE) {
+      throw new IllegalStateException("The recording in " + directory + " is full (2 GB)");
+    }
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(encoded);
+      while (buffer.hasRemaining()) {
+        log.write(buffer, size + buffer.position());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to record to " + directory, e);
+    }
+    index(record.getMethod(), record.getPath(), record.getRequestBodyHash(), (int) size);
+    size += encoded.length;
+    records++;
+  }
+
+  /** Returns the number of records appended since the writer was opened. */
+  public synchronized long getRecordCount() {
+    return records;
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /** Writes the index and closes the log. Closing a closed writer does nothing. */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      writeIndex();
+      log.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close the recording in " + directory, e);
+    }
+  }
+
+  private void index(String method, String path, long requestBodyHash, int offset) {
+    index
+        .computeIfAbsent(
+            TrafficRecord.exactKey(method, path, requestBodyHash), key -> new ArrayList<>(1))
+        .add(offset);
+    index
+        .computeIfAbsent(TrafficRecord.pathKey(method, path), key -> new ArrayList<>(1))
+        .add(offset);
+  }
+
+  /** Indexes the records of an existing log and drops a partly written last record. */
+  private void reindex() throws IOException {
+    MappedByteBuffer mapped = log.map(FileChannel.MapMode.READ_ONLY, 0, log.size());
+    if (!TrafficLogFormat.hasMagic(mapped, TrafficLogFormat.LOG_MAGIC)) {
+      throw new IOException("Not a traffic log: " + directory.resolve(TrafficLogFormat.LOG_FILE));
+    }
+    int offset = TrafficLogFormat.LOG_MAGIC.length;
+    for (LogEntry entry; (entry = TrafficLogFormat.read(mapped, offset)) != null; ) {
+      index(entry.getMethod(), entry.getPath(), entry.getRequestBodyHash(), offset);
+      offset = TrafficLogFormat.next(mapped, offset);
+    }
+    size = offset;
+    if (size < log.size()) {
+      log.truncate(size);
+    }
+  }
+
+  private void writeIndex() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.write(TrafficLogFormat.INDEX_MAGIC);
+      out.writeLong(size);
+      out.writeInt(index.size());
+      for (Map.Entry<String, List<Integer>> entry : index.entrySet()) {
+        TrafficLogFormat.writeString(out, entry.getKey());
+        out.writeInt(entry.getValue().size());
+        for (int offset : entry.getValue()) {
+          out.writeInt(offset);
+        }
+      }
+    }
+    // Written aside and moved, so a reader never sees half an index.
+    Path temp = directory.resolve(TrafficLogFormat.INDEX_FILE + ".tmp");
+    Files.write(temp, bytes.toByteArray());
+    Files.move(
+        temp,
+        directory.resolve(TrafficLogFormat.INDEX_FILE),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+}
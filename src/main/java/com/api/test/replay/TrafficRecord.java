@@ -0,0 +1,48 @@
+package com.api.test.replay;
+
+import lombok.Value;
+
+/**
+ * One recorded request/response pair of a {@link TrafficLogWriter}. The request is kept as its
+ * method, raw path and query, and a hash of its body; the response as its status, the headers that
+ * matter for replay and its body.
+ */
+@Value
+public class TrafficRecord {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  String method;
+
+  /** The raw path and query of the request, e.g. {@code /api/v1/Books/1?x=y}. */
+  String path;
+
+  long requestBodyHash;
+  int status;
+  String contentType;
+  String etag;
+  byte[] body;
+
+  /**
+   * Returns the 64-bit FNV-1a hash of a request body, which identifies the request together with
+   * its method and path. An empty body hashes to the offset basis.
+   */
+  public static long hash(byte[] body) {
+    long hash = FNV_OFFSET_BASIS;
+    for (byte b : body) {
+      hash ^= b & 0xff;
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /** Returns the key of a request with a body, e.g. {@code POST /api/v1/Books #1a2b...}. */
+  static String exactKey(String method, String path, long requestBodyHash) {
+    return method + ' ' + path + " #" + Long.toHexString(requestBodyHash);
+  }
+
+  /** Returns the key of a request to a path, whatever its body. */
+  static String pathKey(String method, String path) {
+    return method + ' ' + path;
+  }
+}
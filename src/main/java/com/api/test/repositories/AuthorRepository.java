@@ -1,30 +1,141 @@
 package com.api.test.repositories;
 
 import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.models.ModelValues;
 import com.github.javafaker.Faker;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The {@code AuthorRepository} class provides access to author data for testing purposes. This
  * class is responsible for retrieving mock or predefined author information that can be used in
  * test cases.
+ *
+ * <p>Loading authors also indexes them in {@link IntObjectMap}s by id and by {@code idBook}, so the
+ * expected author of a response and the authors of a book are found in constant time. Together with
+ * {@link BookRepository#getBooksById()} this gives a hash join from authors to their books:
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   authorRepository.joinBooks(bookRepository, (author, book) -> check(author, book));
+ * }
+ * </pre>
+ *
+ * <p>Authors whose ids are not integers, such as the invalid fixtures, are kept in {@link
+ * #getAllAuthors()} but not indexed. Fake authors are drawn from a seed when the run records or
+ * replays, see {@link PayloadSeed}.
  */
 public class AuthorRepository {
 
   private static final String DATA_URL = "data/authors/";
-  private final Faker faker = new Faker();
+  private final Faker faker = PayloadSeed.newFaker();
 
   private final LoadDataFromJson loadData = new LoadDataFromJson();
   private List<Author> authors;
+  private IntObjectMap<Author> authorsById = new IntObjectMap<>();
+  private IntObjectMap<List<Author>> authorsByBookId = new IntObjectMap<>();
 
   public void loadAuthors(String resourceName) {
-    authors = loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Author.class);
+    index(loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Author.class));
+  }
+
+  /** Loads and indexes the authors of a JSON array or NDJSON file. */
+  public void loadAuthors(Path file) {
+    try (Stream<Author> stream = streamAuthors(file)) {
+      index(stream.collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Streams the authors of a classpath resource under {@code data/authors} without loading them
+   * all.
+   */
+  public Stream<Author> streamAuthors(String resourceName) {
+    return loadData.streamObjects(String.format("%s/%s", DATA_URL, resourceName), Author.class);
+  }
+
+  /** Streams the authors of a JSON array or NDJSON file without loading them all. */
+  public Stream<Author> streamAuthors(Path file) {
+    return loadData.streamObjects(file, Author.class);
   }
 
   public List<Author> getAllAuthors() {
     return authors;
   }
 
+  /** Returns the loaded author with the id, or empty if there is none. */
+  public Optional<Author> findAuthorById(int id) {
+    return Optional.ofNullable(authorsById.get(id));
+  }
+
+  /** Returns whether an author with the id was loaded. */
+  public boolean containsAuthor(int id) {
+    return authorsById.containsKey(id);
+  }
+
+  /** Returns the loaded authors of the book, in load order, or an empty list if there are none. */
+  public List<Author> getAuthorsByBookId(int idBook) {
+    List<Author> bookAuthors = authorsByBookId.get(idBook);
+    return bookAuthors == null ? Collections.emptyList() : bookAuthors;
+  }
+
+  /** Returns the loaded authors keyed by id. The map must not be modified. */
+  public IntObjectMap<Author> getAuthorsById() {
+    return authorsById;
+  }
+
+  /**
+   * Passes every loaded author whose book is in {@code books} to the action together with that
+   * book. Authors without a matching book are skipped, as in an inner join.
+   *
+   * @param books the repository holding the books to join with
+   * @param action receives each author and its book, in author load order
+   * @return the number of authors passed to the action
+   */
+  public int joinBooks(BookRepository books, BiConsumer<? super Author, ? super Book> action) {
+    IntObjectMap<Book> booksById = books.getBooksById();
+    int joined = 0;
+    for (Author author : authors) {
+      if (ModelValues.isInt32(author.getIdBook())) {
+        Book book = booksById.get(ModelValues.toInt(author.getIdBook(), "idBook"));
+        if (book != null) {
+          action.accept(author, book);
+          joined++;
+        }
+      }
+    }
+    return joined;
+  }
+
+  private void index(List<Author> loaded) {
+    IntObjectMap<Author> byId = new IntObjectMap<>(loaded.size());
+    IntObjectMap<List<Author>> byBookId = new IntObjectMap<>();
+    for (Author author : loaded) {
+      if (ModelValues.isInt32(author.getId())) {
+        byId.put(ModelValues.toInt(author.getId(), "id"), author);
+      }
+      if (ModelValues.isInt32(author.getIdBook())) {
+        byBookId
+            .computeIfAbsent(
+                ModelValues.toInt(author.getIdBook(), "idBook"), idBook -> new ArrayList<>(2))
+            .add(author);
+      }
+    }
+    byBookId.forEach(
+        (idBook, bookAuthors) -> byBookId.put(idBook, Collections.unmodifiableList(bookAuthors)));
+    authors = loaded;
+    authorsById = byId;
+    authorsByBookId = byBookId;
+  }
+
   public Author getFakeNewAuthor() {
 
     return Author.builder()
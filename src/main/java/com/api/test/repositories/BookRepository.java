@@ -1,36 +1,93 @@
 package com.api.test.repositories;
 
 import com.api.test.models.Book;
+import com.api.test.models.ModelValues;
 import com.github.javafaker.Faker;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The {@code BookRepository} class provides access to author data for testing purposes. This class
  * is responsible for retrieving mock or predefined author information that can be used in test
  * cases.
+ *
+ * <p>Loading books also indexes them by id in an {@link IntObjectMap}, so the expected book of a
+ * response can be found in constant time with {@link #findBookById(int)}. Books whose id is not an
+ * integer, such as the invalid fixtures, are kept in {@link #getAllBooks()} but not indexed.
+ *
+ * <p>Fake books are drawn from a seed when the run records or replays, see {@link PayloadSeed}.
  */
 public class BookRepository {
   private static final String DATA_URL = "data/books/";
   private final LoadDataFromJson loadData = new LoadDataFromJson();
-  private final Faker faker = new Faker();
+  private final Faker faker = PayloadSeed.newFaker();
   private List<Book> books;
+  private IntObjectMap<Book> booksById = new IntObjectMap<>();
 
   // Load books from JSON file
   public void loadBooks(String resourceName) {
-    books = loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Book.class);
+    index(loadData.loadObjects(String.format("%s/%s", DATA_URL, resourceName), Book.class));
+  }
+
+  /** Loads and indexes the books of a JSON array or NDJSON file. */
+  public void loadBooks(Path file) {
+    try (Stream<Book> stream = streamBooks(file)) {
+      index(stream.collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Streams the books of a classpath resource under {@code data/books} without loading them all.
+   */
+  public Stream<Book> streamBooks(String resourceName) {
+    return loadData.streamObjects(String.format("%s/%s", DATA_URL, resourceName), Book.class);
+  }
+
+  /** Streams the books of a JSON array or NDJSON file without loading them all. */
+  public Stream<Book> streamBooks(Path file) {
+    return loadData.streamObjects(file, Book.class);
   }
 
   public List<Book> getAllBooks() {
     return books;
   }
 
+  /** Returns the loaded book with the id, or empty if there is none. */
+  public Optional<Book> findBookById(int id) {
+    return Optional.ofNullable(booksById.get(id));
+  }
+
+  /** Returns whether a book with the id was loaded. */
+  public boolean containsBook(int id) {
+    return booksById.containsKey(id);
+  }
+
+  /** Returns the loaded books keyed by id. The map must not be modified. */
+  public IntObjectMap<Book> getBooksById() {
+    return booksById;
+  }
+
+  private void index(List<Book> loaded) {
+    IntObjectMap<Book> byId = new IntObjectMap<>(loaded.size());
+    for (Book book : loaded) {
+      if (ModelValues.isInt32(book.getId())) {
+        byId.put(ModelValues.toInt(book.getId(), "id"), book);
+      }
+    }
+    books = loaded;
+    booksById = byId;
+  }
+
   public Book getFakeNewBook() {
 
-    Instant pastInstant = faker.date().past(365, TimeUnit.DAYS).toInstant();
+    Instant pastInstant = faker.date().past(365, TimeUnit.DAYS, PayloadSeed.now()).toInstant();
     String formattedPublishDate =
         DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC).format(pastInstant);
 
@@ -0,0 +1,170 @@
+package com.api.test.repositories;
+
+import com.api.test.json.JsonSerializer;
+import com.api.test.models.AuthorRecord;
+import com.api.test.models.BookRecord;
+import com.github.javafaker.Faker;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The {@code BulkDataGenerator} class produces many fake books and authors at once, without calling
+ * Faker per record. Titles, names and lorem words are drawn from tables that are built once per JVM
+ * from a fixed-seed Faker; each record is then assembled from those tables with its own random
+ * generator.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   BulkDataGenerator generator = new BulkDataGenerator(42);
+ *   List<BookRecord> books = generator.books(10_000);
+ *   PayloadPool payloads = PayloadPool.of(generator.bookPayloads(1024));
+ * }
+ * </pre>
+ *
+ * <p>Record {@code i} depends only on the seed and {@code i}, so the same seed always produces the
+ * same records, in the same order, however many threads generate them. Bulk calls run in parallel
+ * on the common fork-join pool.
+ *
+ * <p>Generated records are the compact {@link BookRecord} and {@link AuthorRecord} models, with the
+ * shape of {@link BookRepository#getFakeNewBook()} and {@link AuthorRepository#getFakeNewAuthor()}:
+ * an id of 0, paragraphs of lorem text, a publish date within a year before {@link
+ * #REFERENCE_DATE}, and a page count and book id between 0 and 999.
+ */
+public class BulkDataGenerator {
+
+  /** Publish dates are counted back from this fixed instant, so they do not depend on the clock. */
+  public static final Instant REFERENCE_DATE = Instant.parse("2024-01-01T00:00:00Z");
+
+  private static final OffsetDateTime REFERENCE_DATE_TIME = REFERENCE_DATE.atOffset(ZoneOffset.UTC);
+
+  private static final long YEAR_SECONDS = TimeUnit.DAYS.toSeconds(365);
+  private static final int MAX_NUMBER = 1000;
+
+  private final long seed;
+
+  public BulkDataGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /** Returns the book with the given index; the same seed and index always give the same book. */
+  public BookRecord book(long index) {
+    SplittableRandom random = randomFor(index);
+    return BookRecord.builder()
+        .title(Tables.TITLES[random.nextInt(Tables.TITLES.length)])
+        .description(paragraph(random))
+        .pageCount(random.nextInt(MAX_NUMBER))
+        .excerpt(paragraph(random))
+        .publishDate(REFERENCE_DATE_TIME.minusSeconds(random.nextLong(YEAR_SECONDS)))
+        .build();
+  }
+
+  /** Returns the author with the given index; the same seed and index always give the same one. */
+  public AuthorRecord author(long index) {
+    SplittableRandom random = randomFor(index);
+    return AuthorRecord.builder()
+        .firstName(Tables.FIRST_NAMES[random.nextInt(Tables.FIRST_NAMES.length)])
+        .lastName(Tables.LAST_NAMES[random.nextInt(Tables.LAST_NAMES.length)])
+        .idBook(random.nextInt(MAX_NUMBER))
+        .build();
+  }
+
+  /** Returns books {@code 0} to {@code count - 1}, generated in parallel. */
+  public List<BookRecord> books(int count) {
+    return generate(count, this::book).collect(Collectors.toList());
+  }
+
+  /** Returns authors {@code 0} to {@code count - 1}, generated in parallel. */
+  public List<AuthorRecord> authors(int count) {
+    return generate(count, this::author).collect(Collectors.toList());
+  }
+
+  /** Returns books {@code 0} to {@code count - 1} already serialized by {@link JsonSerializer}. */
+  public byte[][] bookPayloads(int count) {
+    return generate(count, i -> JsonSerializer.toBytes(book(i))).toArray(byte[][]::new);
+  }
+
+  /**
+   * Returns authors {@code 0} to {@code count - 1} already serialized by {@link JsonSerializer}.
+   */
+  public byte[][] authorPayloads(int count) {
+    return generate(count, i -> JsonSerializer.toBytes(author(i))).toArray(byte[][]::new);
+  }
+
+  private static <T> Stream<T> generate(int count, IntFunction<T> record) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must not be negative: " + count);
+    }
+    return IntStream.range(0, count).parallel().mapToObj(record);
+  }
+
+  private SplittableRandom randomFor(long index) {
+    // SplittableRandom mixes its seed, so neighbouring indexes give unrelated sequences.
+    return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+  }
+
+  /** Mirrors {@code Faker.lorem().paragraph()}: 3 to 5 sentences of 6 to 9 words. */
+  private static String paragraph(SplittableRandom random) {
+    StringBuilder paragraph = new StringBuilder(320);
+    int sentences = 3 + random.nextInt(3);
+    for (int s = 0; s < sentences; s++) {
+      if (s > 0) {
+        paragraph.append(' ');
+      }
+      int words = 6 + random.nextInt(4);
+      for (int w = 0; w < words; w++) {
+        String word = Tables.WORDS[random.nextInt(Tables.WORDS.length)];
+        if (w == 0) {
+          paragraph.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        } else {
+          paragraph.append(' ').append(word);
+        }
+      }
+      paragraph.append('.');
+    }
+    return paragraph.toString();
+  }
+
+  /** Word and name tables, built on first use from a Faker with a fixed seed. */
+  private static final class Tables {
+
+    private static final long TABLE_SEED = 0x5EED_7AB1EL;
+    private static final int TABLE_SIZE = 512;
+
+    private static final String[] WORDS;
+    private static final String[] TITLES;
+    private static final String[] FIRST_NAMES;
+    private static final String[] LAST_NAMES;
+
+    static {
+      Faker faker = new Faker(new Random(TABLE_SEED));
+      WORDS = distinct(() -> faker.lorem().word());
+      TITLES = distinct(() -> faker.book().title());
+      FIRST_NAMES = distinct(() -> faker.name().firstName());
+      LAST_NAMES = distinct(() -> faker.name().lastName());
+    }
+
+    private Tables() {}
+
+    /** Draws up to {@link #TABLE_SIZE} distinct values, stopping once the source runs dry. */
+    private static String[] distinct(Supplier<String> source) {
+      Set<String> values = new LinkedHashSet<>();
+      for (int attempt = 0; attempt < TABLE_SIZE * 8 && values.size() < TABLE_SIZE; attempt++) {
+        values.add(source.get());
+      }
+      return values.toArray(new String[0]);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.api.test.repositories;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code IntObjectMap} class is a hash map from primitive {@code int} keys to non-null values.
+ * Keys are stored unboxed in an open-addressing table with linear probing, so a lookup is a few
+ * array reads without allocating an {@code Integer}.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   IntObjectMap<Book> booksById = new IntObjectMap<>(books.size());
+ *   booksById.put(42, book);
+ *   Book found = booksById.get(42);
+ * }
+ * </pre>
+ *
+ * <p>This class is not thread-safe for writes. A map that is no longer modified can be read from
+ * any number of threads once it has been safely published.
+ *
+ * @param <V> the type of the values
+ */
+public final class IntObjectMap<V> {
+
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  public IntObjectMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /** Creates a map that holds {@code expectedSize} entries without resizing. */
+  public IntObjectMap(int expectedSize) {
+    allocate(capacityFor(expectedSize));
+  }
+
+  /** Returns the value of the key, or {@code null} if there is none. */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      Object value = values[slot];
+      if (value == null || keys[slot] == key) {
+        return (V) value;
+      }
+    }
+  }
+
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Maps the key to the value.
+   *
+   * @return the previous value of the key, or {@code null} if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("IntObjectMap does not accept null values");
+    }
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > (mask + 1) / 2) {
+      resize();
+    }
+    return null;
+  }
+
+  /** Returns the value of the key, first mapping it to {@code factory.apply(key)} if absent. */
+  public V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+    V value = get(key);
+    if (value == null) {
+      value = factory.apply(key);
+      put(key, value);
+    }
+    return value;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Passes every entry to the action, in no particular order. */
+  @SuppressWarnings("unchecked")
+  public void forEach(IntObjectConsumer<? super V> action) {
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null) {
+        action.accept(keys[slot], (V) values[slot]);
+      }
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  private int slot(int key) {
+    // Fibonacci hashing spreads sequential ids over the whole table.
+    return (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(mask + 1)) & mask;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void resize() {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(values.length * 2);
+    size = 0;
+    for (int slot = 0; slot < oldValues.length; slot++) {
+      if (oldValues[slot] != null) {
+        put(oldKeys[slot], (V) oldValues[slot]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+    }
+    long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 2);
+    if (needed > 1 << 30) {
+      throw new IllegalArgumentException("Too many entries for an IntObjectMap: " + expectedSize);
+    }
+    return Integer.highestOneBit((int) needed - 1) << 1;
+  }
+
+  /** Consumer of an {@code int} key and its value. */
+  @FunctionalInterface
+  public interface IntObjectConsumer<V> {
+    void accept(int key, V value);
+  }
+}
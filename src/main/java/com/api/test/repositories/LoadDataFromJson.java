@@ -1,9 +1,22 @@
 package com.api.test.repositories;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.api.test.json.JsonSerializer;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code LoadDataFromJson} class is responsible for loading and parsing data from JSON files
@@ -12,18 +25,97 @@ import java.util.List;
  *
  * <p>It simplifies the process of reading data from JSON files, deserializing the data, and
  * returning it in a usable format, such as a list of objects or a specific data structure.
+ *
+ * <p>Files too large to hold in memory are read lazily with {@code streamObjects}, one record at a
+ * time, from the classpath or the filesystem. Both a JSON array and newline-delimited JSON (one
+ * record per line) are accepted.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   try (Stream<Book> books = loader.streamObjects(Paths.get("dump/books.ndjson"), Book.class)) {
+ *     books.forEach(bookRequests::createBook);
+ *   }
+ * }
+ * </pre>
  */
 public class LoadDataFromJson {
 
-  private final ObjectMapper objectMapper = new ObjectMapper();
-
   public <T> List<T> loadObjects(String resourceName, Class<T> clazz) {
+    try (Stream<T> objects = streamObjects(resourceName, clazz)) {
+      return objects.collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Returns a lazy stream of the records of a classpath resource. The stream must be closed.
+   *
+   * @param resourceName the resource, holding a JSON array or newline-delimited JSON
+   * @param clazz the type of the records
+   * @return the records in file order
+   */
+  public <T> Stream<T> streamObjects(String resourceName, Class<T> clazz) {
     InputStream is = getClass().getClassLoader().getResourceAsStream(resourceName);
+    if (is == null) {
+      throw new RuntimeException(resourceName + " not found in classpath");
+    }
+    return stream(is, clazz, resourceName);
+  }
+
+  /**
+   * Returns a lazy stream of the records of a file. Files up to 2 GB are memory-mapped, larger ones
+   * are read through a buffered channel stream; either way only the current record is held on the
+   * heap. The stream must be closed.
+   *
+   * @param file the file, holding a JSON array or newline-delimited JSON
+   * @param clazz the type of the records
+   * @return the records in file order
+   */
+  public <T> Stream<T> streamObjects(Path file, Class<T> clazz) {
+    InputStream is;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() <= Integer.MAX_VALUE) {
+        // The mapping stays valid after the channel is closed.
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        is = new ByteBufferBackedInputStream(buffer);
+      } else {
+        is = Files.newInputStream(file);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open " + file, e);
+    }
+    return stream(is, clazz, file.toString());
+  }
+
+  private static <T> Stream<T> stream(InputStream is, Class<T> clazz, String source) {
+    MappingIterator<T> records;
     try {
-      return objectMapper.readValue(
-          is, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+      // Reads the elements of a root-level array, or a sequence of root-level values (NDJSON).
+      records = JsonSerializer.readerFor(clazz).readValues(is);
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      closeQuietly(is);
+      throw new UncheckedIOException("Failed to read " + source, e);
+    }
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(
+            () -> {
+              try {
+                records.close();
+              } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close " + source, e);
+              } finally {
+                closeQuietly(is);
+              }
+            });
+  }
+
+  private static void closeQuietly(InputStream is) {
+    try {
+      is.close();
+    } catch (IOException ignored) {
+      // Nothing left to release.
     }
   }
 }
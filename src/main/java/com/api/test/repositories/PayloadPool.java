@@ -0,0 +1,50 @@
+package com.api.test.repositories;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code PayloadPool} class is a fixed ring of pre-rendered JSON payloads that is handed out
+ * round-robin, so a load run can send realistic, varied bodies without generating or serializing
+ * anything while it is measuring.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   PayloadPool books = PayloadPool.of(new BulkDataGenerator(42).bookPayloads(1024));
+ *   bookRequests.createBook(books.next());
+ * }
+ * </pre>
+ *
+ * <p>{@link #next()} is lock-free and can be called from any number of threads. The payloads are
+ * shared and must not be modified by the caller.
+ */
+public final class PayloadPool {
+
+  private final byte[][] payloads;
+  private final AtomicLong cursor = new AtomicLong();
+
+  private PayloadPool(byte[][] payloads) {
+    this.payloads = payloads;
+  }
+
+  /**
+   * Creates a pool over the given payloads, which are not copied.
+   *
+   * @throws IllegalArgumentException if there are no payloads
+   */
+  public static PayloadPool of(byte[][] payloads) {
+    if (payloads.length == 0) {
+      throw new IllegalArgumentException("A payload pool needs at least one payload");
+    }
+    return new PayloadPool(payloads);
+  }
+
+  /** Returns the next payload of the ring. */
+  public byte[] next() {
+    return payloads[(int) Math.floorMod(cursor.getAndIncrement(), (long) payloads.length)];
+  }
+
+  public int size() {
+    return payloads.length;
+  }
+}
@@ -0,0 +1,76 @@
+package com.api.test.repositories;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.github.javafaker.Faker;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * The {@code PayloadSeed} class seeds the fake books and authors of {@link BookRepository} and
+ * {@link AuthorRepository}, so a run sends the same request bodies as an earlier one. Replay needs
+ * this, as the {@code ReplayServer} finds the recorded responses by request body.
+ *
+ * <p>Payloads are seeded from {@code payload.seed} when it is set, and from a default seed whenever
+ * the run records ({@code http.record.enabled}) or replays ({@code api.server=replay}); otherwise
+ * every run draws new ones. Publish dates are then drawn back from a fixed date instead of today.
+ *
+ * <p>Every thread draws from its own {@link Random}, shared by the repositories created on it.
+ * Tests run on whichever thread is free, so {@link #reseed(String)} restarts the calling thread
+ * from the seed and a key naming the test invocation, and a test sends the same bodies on every run
+ * whatever thread runs it:
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   PayloadSeed.reseed("BooksTests.testUpdateBook[]");
+ *   Book book = bookRepository.getFakeNewBook();
+ * }
+ * </pre>
+ */
+public final class PayloadSeed {
+
+  private static final long DEFAULT_SEED = 20241001L;
+  private static final long REFERENCE_DATE_MILLIS =
+      Instant.parse("2024-10-01T00:00:00Z").toEpochMilli();
+  private static final ThreadLocal<Random> RANDOM =
+      ThreadLocal.withInitial(() -> new Random(seed()));
+
+  private PayloadSeed() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /** Returns whether fake payloads are seeded in this run. */
+  public static boolean isEnabled() {
+    return ConfigurationLoader.getProperty("payload.seed", null) != null
+        || Boolean.parseBoolean(ConfigurationLoader.getProperty("http.record.enabled", "false"))
+        || "replay".equalsIgnoreCase(ConfigurationLoader.getProperty("api.server", "remote"));
+  }
+
+  /**
+   * Restarts the fake payloads of the calling thread from the seed and a key. Does nothing when
+   * payloads are not seeded.
+   *
+   * @param key names what the payloads are drawn for, e.g. a test method and its parameters
+   */
+  public static void reseed(String key) {
+    if (isEnabled()) {
+      // Mixed like BulkDataGenerator does, so neighbouring keys give unrelated sequences.
+      RANDOM.get().setSeed(seed() * 0x9E3779B97F4A7C15L + key.hashCode());
+    }
+  }
+
+  /** Returns a Faker drawing from the random of the calling thread when payloads are seeded. */
+  static Faker newFaker() {
+    return isEnabled() ? new Faker(RANDOM.get()) : new Faker();
+  }
+
+  /** Returns the date that past dates are drawn back from: a fixed date when seeded, else now. */
+  static Date now() {
+    return new Date(isEnabled() ? REFERENCE_DATE_MILLIS : System.currentTimeMillis());
+  }
+
+  private static long seed() {
+    return ConfigurationLoader.getLongProperty("payload.seed", DEFAULT_SEED);
+  }
+}
@@ -0,0 +1,389 @@
+package com.api.test.requests;
+
+import static io.restassured.RestAssured.given;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.configs.PerformanceConfig;
+import com.api.test.contracts.ApiContracts;
+import com.api.test.contracts.JsonContract;
+import com.api.test.json.JsonSerializer;
+import com.api.test.metrics.LatencyCapture;
+import com.api.test.metrics.LatencyRegistry;
+import com.api.test.replay.TrafficLogWriter;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * The {@code ApiClientContext} class holds everything that is needed to talk to one API endpoint
+ * and that is expensive to build: a prebuilt {@code RequestSpecification} and a pooled, keep-alive
+ * HTTP connection manager. Response bodies are mapped with the shared {@link JsonSerializer} mapper
+ * instead of a new mapper per call. The specification records the latency of every call with a
+ * {@link LatencyFilter}. There is exactly one context per endpoint, shared by every {@code
+ * BaseRequest} subclass that targets it, so connections opened by one request are reused by the
+ * next one instead of paying a new TCP+TLS handshake.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ApiClientContext context = ApiClientContext.forEndpoint("api/v1/Books");
+ *   Response response = context.newRequest().when().get("api/v1/Books");
+ *   System.out.println(context.getConnectionStats());
+ * }
+ * </pre>
+ *
+ * <p>The pool size and the connect and read timeouts come from {@link PerformanceConfig}; the rest
+ * of the pool is configured in {@code application.properties}:
+ *
+ * <ul>
+ *   <li>{@code http.keepAlive.millis} - idle keep-alive time when the server does not send one
+ *   <li>{@code http.connection.ttlMillis} - maximum lifetime of a pooled connection
+ * </ul>
+ *
+ * <p>Safe GETs can also be cached, see {@link ResponseCache}. The cache is off by default:
+ *
+ * <ul>
+ *   <li>{@code http.cache.enabled} - {@code true} to cache {@code 200} responses of GETs
+ *   <li>{@code http.cache.maxEntries} - maximum cached responses of the context, least recently
+ *       used first out
+ *   <li>{@code http.cache.ttlMillis} - how long a response is served without asking the server
+ * </ul>
+ *
+ * <p>Response bodies are validated against the {@link ApiContracts} of the endpoint by a {@link
+ * ContractFilter}:
+ *
+ * <ul>
+ *   <li>{@code http.contracts.enabled} - {@code false} to skip validation
+ *   <li>{@code http.contracts.failOnViolation} - {@code false} to only count violations instead of
+ *       failing the call with a {@code ContractViolationException}
+ * </ul>
+ *
+ * <p>Traffic can be recorded for replay with {@code api.server=replay} by a {@link
+ * RecordingFilter}. Recording is off by default:
+ *
+ * <ul>
+ *   <li>{@code http.record.enabled} - {@code true} to append every request/response pair to the
+ *       recording, with response bodies buffered even for {@link #sendUnbuffered(Supplier)}
+ *   <li>{@code http.record.dir} - the recording directory, continued if it already holds one
+ * </ul>
+ *
+ * <p>Requests sent through {@link #execute(String, String, Supplier)} follow the timeouts, retries
+ * and hedging of the {@link RequestPolicy} read from {@code http.timeout.*}, {@code http.retry.*}
+ * and {@code http.hedge.*}, and are counted in {@link #getResilienceStats()}. Before each attempt
+ * they pass the {@link RequestGovernor} of the endpoint, a rate limiter and concurrency limit
+ * shared by all threads and configured with {@code http.governor.*}.
+ *
+ * <p>This class is thread-safe: the connection manager is a pooling manager, the shared HTTP client
+ * is created once per context, and every call to {@link #newRequest()} returns a fresh
+ * specification derived from the prebuilt one.
+ */
+@SuppressWarnings("deprecation")
+public final class ApiClientContext {
+
+  private static final Map<String, ApiClientContext> CONTEXTS = new ConcurrentHashMap<>();
+  // Set while a request of the current thread must keep its body on the wire, see sendUnbuffered.
+  private static final ThreadLocal<Boolean> UNBUFFERED = ThreadLocal.withInitial(() -> false);
+  // Shared by every context, so one run writes one recording; guarded by the class.
+  private static TrafficLogWriter recorder;
+
+  private final String endpoint;
+  private final ConnectionStats connectionStats = new ConnectionStats();
+  private final InstrumentedConnectionManager connectionManager;
+  private final ResponseCache responseCache;
+  private final ContractStats contractStats;
+  private final RequestGovernor governor;
+  private final RequestRunner runner;
+  private final RequestSpecification requestSpec;
+
+  private ApiClientContext(String endpoint) {
+    this.endpoint = endpoint;
+    PerformanceConfig performance = PerformanceConfig.get();
+    int maxTotal = performance.getPoolSize();
+    int maxPerRoute = performance.getPoolSizePerRoute();
+    long keepAliveMillis = ConfigurationLoader.getIntProperty("http.keepAlive.millis", 30_000);
+    long timeToLiveMillis = ConfigurationLoader.getIntProperty("http.connection.ttlMillis", -1);
+
+    this.connectionManager =
+        new InstrumentedConnectionManager(connectionStats, maxTotal, maxPerRoute, timeToLiveMillis);
+
+    HttpClientConfig httpClientConfig =
+        HttpClientConfig.httpClientConfig()
+            .httpClientFactory(() -> createHttpClient(keepAliveMillis))
+            .setParam(
+                CoreConnectionPNames.CONNECTION_TIMEOUT,
+                toIntMillis(performance.getConnectTimeout()))
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, toIntMillis(performance.getReadTimeout()))
+            .reuseHttpClientInstance();
+
+    RequestSpecBuilder specBuilder =
+        new RequestSpecBuilder()
+            .setBaseUri(ConfigurationLoader.getProperty("baseUrl"))
+            .setContentType(ContentType.JSON)
+            .setConfig(
+                RestAssuredConfig.config()
+                    .httpClient(httpClientConfig)
+                    .objectMapperConfig(
+                        ObjectMapperConfig.objectMapperConfig()
+                            .jackson2ObjectMapperFactory(
+                                (type, charset) -> JsonSerializer.mapper())))
+            .addFilter(new LatencyFilter(LatencyRegistry.global()));
+    if (Boolean.parseBoolean(ConfigurationLoader.getProperty("http.cache.enabled", "false"))) {
+      this.responseCache =
+          new ResponseCache(
+              ConfigurationLoader.getIntProperty("http.cache.maxEntries", 1000),
+              ConfigurationLoader.getIntProperty("http.cache.ttlMillis", 30_000));
+      specBuilder.addFilter(responseCache);
+    } else {
+      this.responseCache = null;
+    }
+    Optional<JsonContract> contract = ApiContracts.forEndpoint(endpoint);
+    if (contract.isPresent()
+        && Boolean.parseBoolean(
+            ConfigurationLoader.getProperty("http.contracts.enabled", "true"))) {
+      this.contractStats = new ContractStats();
+      specBuilder.addFilter(
+          new ContractFilter(
+              contract.get(),
+              contractStats,
+              Boolean.parseBoolean(
+                  ConfigurationLoader.getProperty("http.contracts.failOnViolation", "true"))));
+    } else {
+      this.contractStats = null;
+    }
+    if (isRecording()) {
+      specBuilder.addFilter(new RecordingFilter(recorder()));
+    }
+    this.governor = RequestGovernor.fromConfiguration(endpoint, LatencyRegistry.queueTimes());
+    this.runner =
+        new RequestRunner(RequestPolicy.fromConfiguration(), governor, LatencyRegistry.global());
+    this.requestSpec = specBuilder.build();
+  }
+
+  /**
+   * Returns the shared context of the given endpoint, creating it on first use.
+   *
+   * @param endpoint the endpoint path, e.g. {@code api/v1/Books}
+   * @return the context shared by all requests to that endpoint
+   */
+  public static ApiClientContext forEndpoint(String endpoint) {
+    return CONTEXTS.computeIfAbsent(endpoint, ApiClientContext::new);
+  }
+
+  /** Returns the connection statistics of every context created so far, keyed by endpoint. */
+  public static Map<String, ConnectionStats> getAllConnectionStats() {
+    Map<String, ConnectionStats> stats = new TreeMap<>();
+    CONTEXTS.forEach((endpoint, context) -> stats.put(endpoint, context.connectionStats));
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Returns the timeout, retry and hedging statistics of every context, keyed by endpoint. */
+  public static Map<String, ResilienceStats> getAllResilienceStats() {
+    Map<String, ResilienceStats> stats = new TreeMap<>();
+    CONTEXTS.forEach((endpoint, context) -> stats.put(endpoint, context.getResilienceStats()));
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Returns the rate and concurrency limiting statistics of every context, keyed by endpoint. */
+  public static Map<String, GovernorStats> getAllGovernorStats() {
+    Map<String, GovernorStats> stats = new TreeMap<>();
+    CONTEXTS.forEach((endpoint, context) -> stats.put(endpoint, context.getGovernorStats()));
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Returns the number of pooled connections currently open across every context. */
+  public static int getTotalOpenConnections() {
+    return CONTEXTS.values().stream().mapToInt(ApiClientContext::getOpenConnections).sum();
+  }
+
+  /** Returns the response cache statistics of every context that has the cache enabled. */
+  public static Map<String, CacheStats> getAllCacheStats() {
+    Map<String, CacheStats> stats = new TreeMap<>();
+    CONTEXTS.forEach(
+        (endpoint, context) -> context.getCacheStats().ifPresent(s -> stats.put(endpoint, s)));
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Returns the contract validation statistics of every context that validates responses. */
+  public static Map<String, ContractStats> getAllContractStats() {
+    Map<String, ContractStats> stats = new TreeMap<>();
+    CONTEXTS.forEach(
+        (endpoint, context) -> context.getContractStats().ifPresent(s -> stats.put(endpoint, s)));
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Closes the pooled connections of every context and forgets them, and closes the recording. */
+  public static void shutdownAll() {
+    CONTEXTS.values().forEach(ApiClientContext::shutdown);
+    CONTEXTS.clear();
+    synchronized (ApiClientContext.class) {
+      if (recorder != null) {
+        recorder.close();
+        recorder = null;
+      }
+    }
+  }
+
+  /**
+   * Sends a request on the calling thread without buffering the response body, so the body can be
+   * read straight from the connection, e.g. with {@code JsonArrayReader}. The connection is only
+   * returned to the pool once the body has been read to the end or its stream has been closed.
+   *
+   * @param send sends the request, e.g. {@code () -> context.newRequest().get(path)}
+   * @return the response whose body is still on the wire
+   */
+  public static Response sendUnbuffered(Supplier<Response> send) {
+    if (isRecording()) {
+      // The recording needs the body, so it is buffered like any other.
+      return send.get();
+    }
+    UNBUFFERED.set(Boolean.TRUE);
+    try {
+      return send.get();
+    } finally {
+      UNBUFFERED.remove();
+    }
+  }
+
+  /** Returns a new request specification derived from the prebuilt one of this endpoint. */
+  public RequestSpecification newRequest() {
+    return given().spec(requestSpec);
+  }
+
+  /**
+   * Sends a request under the {@link RequestPolicy} of this context: each attempt is aborted after
+   * the timeout of its method, failed GETs, PUTs and DELETEs are retried, and GETs may be hedged.
+   * The time the caller waits, retries and hedges included, is added to the {@link LatencyCapture}
+   * of the calling thread.
+   *
+   * @param method the HTTP method
+   * @param path the path template of the request, as given to REST-assured
+   * @param attempt sends one attempt, typically on a fresh {@link #newRequest()}; it may be called
+   *     several times and from several threads
+   * @return the response
+   * @throws RequestTimeoutException if the last attempt timed out
+   * @throws java.io.UncheckedIOException if the last attempt failed with an I/O error
+   */
+  public Response execute(String method, String path, Supplier<Response> attempt) {
+    return execute(method, path, true, attempt);
+  }
+
+  /**
+   * Sends a request like {@link #execute(String, String, Supplier)}, but with a single attempt if
+   * {@code retried} is not set: one that is never retried or hedged, e.g. a GET whose body is left
+   * on the wire for the caller, see {@link #sendUnbuffered(Supplier)}. The attempt still passes the
+   * governor and is aborted after the timeout of its method.
+   */
+  Response execute(String method, String path, boolean retried, Supplier<Response> attempt) {
+    String verb = method.toUpperCase(Locale.ROOT);
+    long start = System.nanoTime();
+    try {
+      return runner.run(verb, path, retried, attempt);
+    } finally {
+      LatencyCapture.record(LatencyFilter.keyOf(verb, path), System.nanoTime() - start);
+    }
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public ConnectionStats getConnectionStats() {
+    return connectionStats;
+  }
+
+  /** Returns the number of open pooled connections of this context, leased or idle. */
+  public int getOpenConnections() {
+    PoolStats pool = connectionManager.getTotalStats();
+    return pool.getLeased() + pool.getAvailable();
+  }
+
+  public ResilienceStats getResilienceStats() {
+    return runner.getStats();
+  }
+
+  public GovernorStats getGovernorStats() {
+    return governor.getStats();
+  }
+
+  /**
+   * Returns the statistics of the GET response cache, empty if {@code http.cache.enabled} is off.
+   */
+  public Optional<CacheStats> getCacheStats() {
+    return Optional.ofNullable(responseCache).map(ResponseCache::getStats);
+  }
+
+  /**
+   * Returns the statistics of response contract validation, empty if {@code http.contracts.enabled}
+   * is off or the endpoint has no contract.
+   */
+  public Optional<ContractStats> getContractStats() {
+    return Optional.ofNullable(contractStats);
+  }
+
+  static boolean isUnbuffered() {
+    return UNBUFFERED.get();
+  }
+
+  private static boolean isRecording() {
+    return Boolean.parseBoolean(ConfigurationLoader.getProperty("http.record.enabled", "false"));
+  }
+
+  private static synchronized TrafficLogWriter recorder() {
+    if (recorder == null) {
+      recorder =
+          TrafficLogWriter.open(
+              Paths.get(ConfigurationLoader.getProperty("http.record.dir", "target/recordings")));
+    }
+    return recorder;
+  }
+
+  private DefaultHttpClient createHttpClient(long keepAliveMillis) {
+    DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+    DefaultConnectionKeepAliveStrategy serverKeepAlive = new DefaultConnectionKeepAliveStrategy();
+    client.setKeepAliveStrategy(
+        (response, context) -> {
+          long serverValue = serverKeepAlive.getKeepAliveDuration(response, context);
+          return serverValue > 0 ? serverValue : keepAliveMillis;
+        });
+    client.addRequestInterceptor((request, context) -> RequestDeadline.attach(request));
+    // REST-assured keeps the entity stream open until the body is read, which would hold the
+    // pooled connection for as long as the Response is alive. Buffering it here returns the
+    // connection to the pool as soon as the response has arrived.
+    client.addResponseInterceptor(
+        (response, context) -> {
+          HttpEntity entity = response.getEntity();
+          if (entity != null && entity.isStreaming() && !UNBUFFERED.get()) {
+            response.setEntity(new BufferedHttpEntity(entity));
+          }
+        });
+    return client;
+  }
+
+  /** Converts a timeout to the {@code int} milliseconds of HttpClient, where 0 means none. */
+  private static int toIntMillis(Duration timeout) {
+    return (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+  }
+
+  private void shutdown() {
+    connectionManager.shutdown();
+  }
+}
@@ -27,17 +27,46 @@ package com.api.test.requests;
  *   <li>Delete an author - {@code deleteAuthor(Object authorId)}
  * </ul>
  *
+ * <p>{@code streamAllAuthors()} retrieves all authors without buffering the body, for reading large
+ * collections with {@code JsonArrayReader}.
+ *
+ * <p>Create and update also accept an {@code Author} or {@code AuthorRecord} model, which is
+ * serialized by {@code JsonSerializer} straight into the request body, e.g. {@code
+ * createAuthor(Author author)}, or an already serialized {@code byte[]} body such as a payload of a
+ * {@code PayloadPool}.
+ *
+ * <p>Each operation also has an {@code *Async} variant, e.g. {@code getAuthorByIdAsync(Object
+ * authorId)}, that returns a {@code CompletableFuture<Response>} and runs on the executor given to
+ * the constructor, or on {@code RequestExecutors.shared()} by default.
+ *
+ * <p>{@code createAuthors}, {@code updateAuthors} and {@code deleteAuthors} send a whole list of
+ * authors with a bounded number of requests in flight and return a {@link BatchResult} per author,
+ * in input order.
+ *
  * <p>This class uses the {@code BaseRequest}'s {@code sendRequest()} method to execute the HTTP
  * requests, relying on REST-assured to handle the underlying request construction and execution.
  *
  * @see com.api.test.requests.BaseRequest
  */
 import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.AuthorRecord;
 import io.restassured.response.Response;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class AuthorRequests extends BaseRequest {
   private final String AUTHORS_URL = ConfigurationLoader.getProperty("authorsUrl");
 
+  public AuthorRequests() {
+    super();
+  }
+
+  public AuthorRequests(Executor asyncExecutor) {
+    super(asyncExecutor);
+  }
+
   public Response getAllAuthors() {
     return sendRequest(AUTHORS_URL, GET, null, null);
   }
@@ -54,7 +83,89 @@ public class AuthorRequests extends BaseRequest {
     return sendRequest(AUTHORS_URL, PUT, authorId, jsonPayload);
   }
 
+  public Response createAuthor(Author author) {
+    return sendModel(AUTHORS_URL, POST, null, author);
+  }
+
+  public Response updateAuthor(Object authorId, Author author) {
+    return sendModel(AUTHORS_URL, PUT, authorId, author);
+  }
+
+  public Response createAuthor(AuthorRecord author) {
+    return sendModel(AUTHORS_URL, POST, null, author);
+  }
+
+  public Response updateAuthor(Object authorId, AuthorRecord author) {
+    return sendModel(AUTHORS_URL, PUT, authorId, author);
+  }
+
+  public Response createAuthor(byte[] jsonBody) {
+    return sendJsonBytes(AUTHORS_URL, POST, null, jsonBody);
+  }
+
+  public Response updateAuthor(Object authorId, byte[] jsonBody) {
+    return sendJsonBytes(AUTHORS_URL, PUT, authorId, jsonBody);
+  }
+
   public Response deleteAuthor(Object authorId) {
     return sendRequest(AUTHORS_URL, DELETE, authorId, null);
   }
+
+  /**
+   * Retrieves all authors without buffering the body; read it with {@code JsonArrayReader}, which
+   * parses it once and closes the connection stream.
+   */
+  public Response streamAllAuthors() {
+    return sendUnbufferedRequest(AUTHORS_URL);
+  }
+
+  public CompletableFuture<Response> getAllAuthorsAsync() {
+    return sendRequestAsync(AUTHORS_URL, GET, null, null);
+  }
+
+  public CompletableFuture<Response> getAuthorByIdAsync(Object authorId) {
+    return sendRequestAsync(AUTHORS_URL, GET, authorId, null);
+  }
+
+  public CompletableFuture<Response> createAuthorAsync(String jsonPayload) {
+    return sendRequestAsync(AUTHORS_URL, POST, null, jsonPayload);
+  }
+
+  public CompletableFuture<Response> updateAuthorAsync(Object authorId, String jsonPayload) {
+    return sendRequestAsync(AUTHORS_URL, PUT, authorId, jsonPayload);
+  }
+
+  public CompletableFuture<Response> createAuthorAsync(Author author) {
+    return sendModelAsync(AUTHORS_URL, POST, null, author);
+  }
+
+  public CompletableFuture<Response> updateAuthorAsync(Object authorId, Author author) {
+    return sendModelAsync(AUTHORS_URL, PUT, authorId, author);
+  }
+
+  public CompletableFuture<Response> createAuthorAsync(AuthorRecord author) {
+    return sendModelAsync(AUTHORS_URL, POST, null, author);
+  }
+
+  public CompletableFuture<Response> updateAuthorAsync(Object authorId, AuthorRecord author) {
+    return sendModelAsync(AUTHORS_URL, PUT, authorId, author);
+  }
+
+  public CompletableFuture<Response> deleteAuthorAsync(Object authorId) {
+    return sendRequestAsync(AUTHORS_URL, DELETE, authorId, null);
+  }
+
+  /** Creates every author of the list, see {@link #sendBatch(String, String, List, List)}. */
+  public List<BatchResult> createAuthors(List<?> authors) {
+    return sendBatch(AUTHORS_URL, POST, null, authors);
+  }
+
+  /** Updates the authors with the given ids, each with the author at the same index. */
+  public List<BatchResult> updateAuthors(List<?> ids, List<?> authors) {
+    return sendBatch(AUTHORS_URL, PUT, ids, authors);
+  }
+
+  public List<BatchResult> deleteAuthors(List<?> ids) {
+    return sendBatch(AUTHORS_URL, DELETE, ids, null);
+  }
 }
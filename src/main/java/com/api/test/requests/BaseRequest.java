@@ -1,18 +1,25 @@
 package com.api.test.requests;
 
-import static io.restassured.RestAssured.given;
-
-import io.restassured.http.ContentType;
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.json.JsonSerializer;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
 /**
  * The {@code BaseRequest} class provides a generic mechanism to send HTTP requests using common
  * HTTP methods such as GET, POST, PUT, and DELETE. It is designed to handle request creation and
  * dispatch, including setting the appropriate HTTP method, endpoint, and request payload.
  *
- * <p>This class supports sending JSON data as the payload for POST and PUT requests, and handles
- * path parameters in the URL for GET, PUT, and DELETE requests.
+ * <p>This class supports sending JSON data as the payload for POST and PUT requests, either as a
+ * {@code String} or as a model serialized by {@link JsonSerializer}, and handles path parameters in
+ * the URL for GET, PUT, and DELETE requests.
  *
  * <pre>
  * Example usage:
@@ -24,7 +31,21 @@ import io.restassured.specification.RequestSpecification;
  *
  * <p>This class is built on top of RestAssured, using {@code RequestSpecification} to configure and
  * send the HTTP requests. It provides flexibility by allowing different HTTP methods to be
- * specified dynamically at runtime.
+ * specified dynamically at runtime. Requests are built from the shared {@link ApiClientContext} of
+ * the endpoint, so the specification is prebuilt once and connections are pooled and kept alive
+ * across calls. Every call is timed by the {@link LatencyFilter} of the context.
+ *
+ * <p>Every request can also be sent without blocking the caller through {@link
+ * #sendRequestAsync(String, String, Object, String)}, which runs it on the executor given to the
+ * constructor or on {@link RequestExecutors#shared()}, and a whole collection of items can be sent
+ * with a bounded number of requests in flight through {@link #sendBatch(String, String, List, List,
+ * int)}.
+ *
+ * <p>Every request is sent through {@link ApiClientContext#execute(String, String,
+ * java.util.function.Supplier)}, so each attempt is aborted with a {@link RequestTimeoutException}
+ * after the timeout of its method, and GET, PUT and DELETE requests that time out, fail with an I/O
+ * error or answer {@code 502}, {@code 503} or {@code 504} are retried with jittered exponential
+ * backoff, see {@link RequestPolicy}.
  *
  * <p>The following HTTP methods are supported:
  *
@@ -42,32 +63,211 @@ public class BaseRequest {
   protected static final String PUT = "PUT";
   protected static final String DELETE = "DELETE";
 
+  // Ids are passed as path parameters so filters see one path template per endpoint.
+  private static final String ID_TEMPLATE = "/{id}";
+
+  private static final int DEFAULT_BATCH_IN_FLIGHT =
+      ConfigurationLoader.getIntProperty("http.batch.maxInFlight", 16);
+
+  private final Executor asyncExecutor;
+
+  public BaseRequest() {
+    this(null);
+  }
+
+  /**
+   * Creates a request class whose asynchronous methods run on the given executor.
+   *
+   * @param asyncExecutor the executor of the {@code *Async} methods, or {@code null} to use {@link
+   *     RequestExecutors#shared()}
+   */
+  public BaseRequest(Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
   public Response sendRequest(String endpoint, String method, Object id, String jsonPayload) {
+    return send(endpoint, method, id, jsonPayload);
+  }
 
-    RequestSpecification request = given().contentType(ContentType.JSON);
+  /**
+   * Sends the request with the model, e.g. a {@code Book}, as its body. The model is written by
+   * {@link JsonSerializer} as compact UTF-8 bytes straight into the request, without an
+   * intermediate {@code String}.
+   *
+   * @see #sendRequest(String, String, Object, String)
+   */
+  public Response sendModel(String endpoint, String method, Object id, Object model) {
+    return send(endpoint, method, id, model != null ? JsonSerializer.toBytes(model) : null);
+  }
 
-    if (jsonPayload != null && !method.equalsIgnoreCase(GET)) {
-      request.body(jsonPayload);
-    }
+  /**
+   * Sends the request with a body that is already serialized JSON, e.g. a payload of a {@code
+   * PayloadPool}. The bytes are sent as they are.
+   *
+   * @see #sendRequest(String, String, Object, String)
+   */
+  public Response sendJsonBytes(String endpoint, String method, Object id, byte[] jsonBody) {
+    return send(endpoint, method, id, jsonBody);
+  }
 
-    switch (method.toUpperCase()) {
+  private Response send(String endpoint, String method, Object id, Object body) {
+    String verb = method.toUpperCase(Locale.ROOT);
+    String path;
+    switch (verb) {
       case GET:
-        if (id != null) {
-          return given().when().get(String.format("%s/%s", endpoint, id));
-        } else {
-          return given().when().get(endpoint);
-        }
+        path = id != null ? endpoint + ID_TEMPLATE : endpoint;
+        break;
       case POST:
-        return request.when().post(endpoint);
+        path = endpoint;
+        break;
       case PUT:
-        return request.when().put(String.format("%s/%s", endpoint, id));
       case DELETE:
-        return given()
-            .contentType(ContentType.JSON)
-            .when()
-            .delete(String.format("%s/%s", endpoint, id));
+        path = endpoint + ID_TEMPLATE;
+        break;
       default:
         throw new IllegalArgumentException("Invalid HTTP method: " + method);
     }
+
+    ApiClientContext context = ApiClientContext.forEndpoint(endpoint);
+    return context.execute(
+        verb,
+        path,
+        () -> {
+          // A fresh specification per attempt, so retries and hedges never share one.
+          RequestSpecification request = context.newRequest();
+          if (body != null && !verb.equals(GET)) {
+            if (body instanceof byte[]) {
+              request.body((byte[]) body);
+            } else {
+              request.body((String) body);
+            }
+          }
+          return path.equals(endpoint)
+              ? request.when().request(verb, path)
+              : request.when().request(verb, path, id);
+        });
+  }
+
+  /**
+   * Sends a GET request to the endpoint without buffering the response body, so a large collection
+   * can be read straight from the connection, e.g. with {@code JsonArrayReader}. The body must be
+   * read to the end or its stream closed, otherwise the connection is never returned to the pool.
+   *
+   * <p>The request passes the governor of the endpoint and is aborted after the GET timeout like
+   * any other, but gets a single attempt: a response whose body the caller is still reading cannot
+   * be retried or hedged. Its time is only the time to the response headers.
+   *
+   * @see ApiClientContext#sendUnbuffered(java.util.function.Supplier)
+   */
+  public Response sendUnbufferedRequest(String endpoint) {
+    ApiClientContext context = ApiClientContext.forEndpoint(endpoint);
+    return context.execute(
+        GET,
+        endpoint,
+        false,
+        () -> ApiClientContext.sendUnbuffered(() -> context.newRequest().when().get(endpoint)));
+  }
+
+  /**
+   * Sends the request on the async executor of this instance and returns immediately.
+   *
+   * @return a future completed with the response, or completed exceptionally if the request could
+   *     not be sent
+   * @see #sendRequest(String, String, Object, String)
+   */
+  public CompletableFuture<Response> sendRequestAsync(
+      String endpoint, String method, Object id, String jsonPayload) {
+    return CompletableFuture.supplyAsync(
+        () -> sendRequest(endpoint, method, id, jsonPayload), asyncExecutor());
+  }
+
+  /**
+   * Sends the request with a model body on the async executor of this instance and returns
+   * immediately.
+   *
+   * @see #sendModel(String, String, Object, Object)
+   */
+  public CompletableFuture<Response> sendModelAsync(
+      String endpoint, String method, Object id, Object model) {
+    return CompletableFuture.supplyAsync(
+        () -> sendModel(endpoint, method, id, model), asyncExecutor());
+  }
+
+  private Executor asyncExecutor() {
+    return asyncExecutor != null ? asyncExecutor : RequestExecutors.shared();
+  }
+
+  /**
+   * Sends one request per item on the async executor of this instance, with at most {@code
+   * maxInFlight} of them outstanding at any time, and waits for all of them.
+   *
+   * @param endpoint the endpoint of every request
+   * @param method the HTTP method of every request
+   * @param ids the id of each item, or {@code null} for a POST
+   * @param payloads the payload of each item, either a JSON {@code String} or a model written by
+   *     {@link JsonSerializer}, or {@code null} for a DELETE
+   * @param maxInFlight the maximum number of requests in flight
+   * @return one result per item, in input order
+   * @throws IllegalArgumentException if {@code ids} and {@code payloads} are both missing or of
+   *     different sizes, or if {@code maxInFlight} is not positive
+   */
+  public List<BatchResult> sendBatch(
+      String endpoint, String method, List<?> ids, List<?> payloads, int maxInFlight) {
+    if (ids == null && payloads == null) {
+      throw new IllegalArgumentException("A batch needs ids, payloads or both");
+    }
+    if (ids != null && payloads != null && ids.size() != payloads.size()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "A batch needs as many ids as payloads: %d ids, %d payloads",
+              ids.size(), payloads.size()));
+    }
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    }
+    int size = ids != null ? ids.size() : payloads.size();
+    boolean assignsId = method.equalsIgnoreCase(POST);
+    Semaphore permits = new Semaphore(maxInFlight);
+    List<CompletableFuture<BatchResult>> results = new ArrayList<>(size);
+    try {
+      for (int i = 0; i < size; i++) {
+        int index = i;
+        Object id = ids != null ? ids.get(i) : null;
+        Object payload = payloads != null ? payloads.get(i) : null;
+        permits.acquire();
+        long start = System.nanoTime();
+        CompletableFuture<Response> sent =
+            payload == null || payload instanceof String
+                ? sendRequestAsync(endpoint, method, id, (String) payload)
+                : sendModelAsync(endpoint, method, id, payload);
+        results.add(
+            sent.handle(
+                (response, error) -> {
+                  permits.release();
+                  long latency = System.nanoTime() - start;
+                  if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    return new BatchResult(index, 0, id, latency, cause.toString());
+                  }
+                  Object resultId =
+                      assignsId && response.statusCode() < 400 ? response.path("id") : id;
+                  return new BatchResult(index, response.statusCode(), resultId, latency, null);
+                }));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while sending a batch to " + endpoint, e);
+    }
+    List<BatchResult> ordered = new ArrayList<>(size);
+    for (CompletableFuture<BatchResult> result : results) {
+      ordered.add(result.join());
+    }
+    return Collections.unmodifiableList(ordered);
+  }
+
+  /** Sends a batch with the {@code http.batch.maxInFlight} limit, 16 by default. */
+  public List<BatchResult> sendBatch(
+      String endpoint, String method, List<?> ids, List<?> payloads) {
+    return sendBatch(endpoint, method, ids, payloads, DEFAULT_BATCH_IN_FLIGHT);
   }
 }
@@ -0,0 +1,30 @@
+package com.api.test.requests;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+
+/**
+ * Immutable result of one item of a batch sent with {@link BaseRequest#sendBatch(String, String,
+ * java.util.List, java.util.List, int)}.
+ *
+ * <p>{@code id} is the id the server assigned for a create, or the id the item was sent to for an
+ * update or delete. {@code statusCode} is {@code 0} and {@code error} is set when no response was
+ * received at all.
+ */
+@Value
+public class BatchResult {
+  int index;
+  int statusCode;
+  Object id;
+  long latencyNanos;
+  String error;
+
+  /** Returns whether a response was received and its status is below 400. */
+  public boolean isSuccess() {
+    return error == null && statusCode > 0 && statusCode < 400;
+  }
+
+  public double getLatencyMillis() {
+    return latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
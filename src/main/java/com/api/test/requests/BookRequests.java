@@ -1,7 +1,12 @@
 package com.api.test.requests;
 
 import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Book;
+import com.api.test.models.BookRecord;
 import io.restassured.response.Response;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * The {@code BookRequests} class extends {@code BaseRequest} and provides specific methods to
@@ -30,6 +35,21 @@ import io.restassured.response.Response;
  *   <li>Delete a book - {@code deleteBook(Object bookId)}
  * </ul>
  *
+ * <p>{@code streamAllBooks()} retrieves all books without buffering the body, for reading large
+ * collections with {@code JsonArrayReader}.
+ *
+ * <p>Create and update also accept a {@code Book} or {@code BookRecord} model, which is serialized
+ * by {@code JsonSerializer} straight into the request body, e.g. {@code createBook(Book book)}, or
+ * an already serialized {@code byte[]} body such as a payload of a {@code PayloadPool}.
+ *
+ * <p>Each operation also has an {@code *Async} variant, e.g. {@code getBookByIdAsync(Object
+ * bookId)}, that returns a {@code CompletableFuture<Response>} and runs on the executor given to
+ * the constructor, or on {@code RequestExecutors.shared()} by default.
+ *
+ * <p>{@code createBooks}, {@code updateBooks} and {@code deleteBooks} send a whole list of books
+ * with a bounded number of requests in flight and return a {@link BatchResult} per book, in input
+ * order.
+ *
  * <p>This class uses the {@code BaseRequest}'s {@code sendRequest()} method to execute the HTTP
  * requests, relying on REST-assured to handle the underlying request construction and execution.
  *
@@ -38,6 +58,14 @@ import io.restassured.response.Response;
 public class BookRequests extends BaseRequest {
   private final String BOOKS_URL = ConfigurationLoader.getProperty("booksUrl");
 
+  public BookRequests() {
+    super();
+  }
+
+  public BookRequests(Executor asyncExecutor) {
+    super(asyncExecutor);
+  }
+
   public Response getAllBooks() {
     return sendRequest(BOOKS_URL, GET, null, null);
   }
@@ -54,7 +82,89 @@ public class BookRequests extends BaseRequest {
     return sendRequest(BOOKS_URL, PUT, bookId, jsonPayload);
   }
 
+  public Response createBook(Book book) {
+    return sendModel(BOOKS_URL, POST, null, book);
+  }
+
+  public Response updateBook(Object bookId, Book book) {
+    return sendModel(BOOKS_URL, PUT, bookId, book);
+  }
+
+  public Response createBook(BookRecord book) {
+    return sendModel(BOOKS_URL, POST, null, book);
+  }
+
+  public Response updateBook(Object bookId, BookRecord book) {
+    return sendModel(BOOKS_URL, PUT, bookId, book);
+  }
+
+  public Response createBook(byte[] jsonBody) {
+    return sendJsonBytes(BOOKS_URL, POST, null, jsonBody);
+  }
+
+  public Response updateBook(Object bookId, byte[] jsonBody) {
+    return sendJsonBytes(BOOKS_URL, PUT, bookId, jsonBody);
+  }
+
   public Response deleteBook(Object bookId) {
     return sendRequest(BOOKS_URL, DELETE, bookId, null);
   }
+
+  /**
+   * Retrieves all books without buffering the body; read it with {@code JsonArrayReader}, which
+   * parses it once and closes the connection stream.
+   */
+  public Response streamAllBooks() {
+    return sendUnbufferedRequest(BOOKS_URL);
+  }
+
+  public CompletableFuture<Response> getAllBooksAsync() {
+    return sendRequestAsync(BOOKS_URL, GET, null, null);
+  }
+
+  public CompletableFuture<Response> getBookByIdAsync(Object bookId) {
+    return sendRequestAsync(BOOKS_URL, GET, bookId, null);
+  }
+
+  public CompletableFuture<Response> createBookAsync(String jsonPayload) {
+    return sendRequestAsync(BOOKS_URL, POST, null, jsonPayload);
+  }
+
+  public CompletableFuture<Response> updateBookAsync(Object bookId, String jsonPayload) {
+    return sendRequestAsync(BOOKS_URL, PUT, bookId, jsonPayload);
+  }
+
+  public CompletableFuture<Response> createBookAsync(Book book) {
+    return sendModelAsync(BOOKS_URL, POST, null, book);
+  }
+
+  public CompletableFuture<Response> updateBookAsync(Object bookId, Book book) {
+    return sendModelAsync(BOOKS_URL, PUT, bookId, book);
+  }
+
+  public CompletableFuture<Response> createBookAsync(BookRecord book) {
+    return sendModelAsync(BOOKS_URL, POST, null, book);
+  }
+
+  public CompletableFuture<Response> updateBookAsync(Object bookId, BookRecord book) {
+    return sendModelAsync(BOOKS_URL, PUT, bookId, book);
+  }
+
+  public CompletableFuture<Response> deleteBookAsync(Object bookId) {
+    return sendRequestAsync(BOOKS_URL, DELETE, bookId, null);
+  }
+
+  /** Creates every book of the list, see {@link #sendBatch(String, String, List, List)}. */
+  public List<BatchResult> createBooks(List<?> books) {
+    return sendBatch(BOOKS_URL, POST, null, books);
+  }
+
+  /** Updates the books with the given ids, each with the book at the same index. */
+  public List<BatchResult> updateBooks(List<?> ids, List<?> books) {
+    return sendBatch(BOOKS_URL, PUT, ids, books);
+  }
+
+  public List<BatchResult> deleteBooks(List<?> ids) {
+    return sendBatch(BOOKS_URL, DELETE, ids, null);
+  }
 }
@@ -0,0 +1,92 @@
+package com.api.test.requests;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code CacheStats} class counts how the GET response cache of an {@link ApiClientContext} is
+ * used. Every cacheable GET is either a hit, served from the cache without a round trip, a
+ * revalidation, answered by the server with {@code 304 Not Modified}, or a miss.
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class CacheStats {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder revalidated = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordRevalidated() {
+    revalidated.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordEviction() {
+    evictions.increment();
+  }
+
+  void recordInvalidation() {
+    invalidations.increment();
+  }
+
+  /** Returns the number of GETs served from the cache without contacting the server. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** Returns the number of GETs whose expired entry the server confirmed with a 304. */
+  public long getRevalidated() {
+    return revalidated.sum();
+  }
+
+  /** Returns the number of GETs whose body had to be fetched from the server. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /** Returns the number of entries dropped to stay within the size bound. */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /** Returns the number of entries dropped because a write hit the same resource. */
+  public long getInvalidations() {
+    return invalidations.sum();
+  }
+
+  /** Returns the fraction of GETs that did not transfer a body, between 0 and 1. */
+  public double getHitRatio() {
+    long served = getHits() + getRevalidated();
+    long total = served + getMisses();
+    return total == 0 ? 0.0 : (double) served / total;
+  }
+
+  public void reset() {
+    hits.reset();
+    revalidated.reset();
+    misses.reset();
+    evictions.reset();
+    invalidations.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "hits=%d, revalidated=%d, misses=%d, evictions=%d, invalidations=%d, hitRatio=%.2f",
+        getHits(),
+        getRevalidated(),
+        getMisses(),
+        getEvictions(),
+        getInvalidations(),
+        getHitRatio());
+  }
+}
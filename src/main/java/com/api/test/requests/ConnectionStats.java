@@ -0,0 +1,58 @@
+package com.api.test.requests;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ConnectionStats} class counts how the pooled connections of an {@link
+ * ApiClientContext} are used. Every request leases a connection from the pool; a lease is either
+ * served by an idle keep-alive connection or forces a new TCP (and TLS) connection to be opened.
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class ConnectionStats {
+
+  private final LongAdder leased = new LongAdder();
+  private final LongAdder opened = new LongAdder();
+
+  void recordLease() {
+    leased.increment();
+  }
+
+  void recordOpen() {
+    opened.increment();
+  }
+
+  /** Returns the number of connections leased from the pool, one per executed request. */
+  public long getLeased() {
+    return leased.sum();
+  }
+
+  /** Returns the number of new connections opened, i.e. the number of TCP/TLS handshakes. */
+  public long getOpened() {
+    return opened.sum();
+  }
+
+  /** Returns the number of leases served by an already open keep-alive connection. */
+  public long getReused() {
+    return Math.max(0, getLeased() - getOpened());
+  }
+
+  /** Returns the fraction of leases served by a reused connection, between 0 and 1. */
+  public double getReuseRatio() {
+    long total = getLeased();
+    return total == 0 ? 0.0 : (double) getReused() / total;
+  }
+
+  public void reset() {
+    leased.reset();
+    opened.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "leased=%d, opened=%d, reused=%d, reuseRatio=%.2f",
+        getLeased(), getOpened(), getReused(), getReuseRatio());
+  }
+}
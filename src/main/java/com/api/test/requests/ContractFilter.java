@@ -0,0 +1,70 @@
+package com.api.test.requests;
+
+import com.api.test.contracts.ApiContracts;
+import com.api.test.contracts.ContractViolationException;
+import com.api.test.contracts.JsonContract;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST-assured filter that validates every response body of an endpoint against its {@link
+ * JsonContract}: the resource contract for {@code 2xx} responses and {@link ApiContracts#PROBLEM}
+ * for {@code 400} and {@code 404}. Responses without a body, e.g. of a DELETE or a {@code 304}, and
+ * unbuffered responses, whose body belongs to the caller, are not validated.
+ *
+ * <p>Violations are counted in {@link ContractStats}. When {@code failOnViolation} is set, the call
+ * also fails with a {@link ContractViolationException}, so a broken response is never counted as a
+ * success, e.g. by a load run.
+ */
+class ContractFilter implements OrderedFilter {
+
+  private final JsonContract resource;
+  private final ContractStats stats;
+  private final boolean failOnViolation;
+
+  ContractFilter(JsonContract resource, ContractStats stats, boolean failOnViolation) {
+    this.resource = resource;
+    this.stats = stats;
+    this.failOnViolation = failOnViolation;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    Response response = ctx.next(requestSpec, responseSpec);
+    int status = response.statusCode();
+    JsonContract contract =
+        status >= 200 && status < 300
+            ? resource
+            : status == 400 || status == 404 ? ApiContracts.PROBLEM : null;
+    if (contract == null || ApiClientContext.isUnbuffered()) {
+      return response;
+    }
+    byte[] body = response.asByteArray();
+    if (body.length == 0) {
+      return response;
+    }
+    String violation = contract.validate(body);
+    if (violation == null) {
+      stats.recordValid();
+      return response;
+    }
+    String request = LatencyFilter.keyOf(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+    stats.recordViolation(request, violation);
+    if (failOnViolation) {
+      throw new ContractViolationException(request, status, violation);
+    }
+    return response;
+  }
+
+  @Override
+  public int getOrder() {
+    // After ResponseCache, so cached responses are not validated again.
+    return HIGHEST_PRECEDENCE + 2;
+  }
+}
@@ -0,0 +1,71 @@
+package com.api.test.requests;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ContractStats} class counts the response bodies of an {@link ApiClientContext} that
+ * were validated against their contract, and the violations per request, e.g. {@code GET
+ * /api/v1/Books/{id}}, see {@link ContractFilter}.
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class ContractStats {
+
+  private final LongAdder validated = new LongAdder();
+  private final Map<String, LongAdder> violations = new ConcurrentHashMap<>();
+  private final AtomicReference<String> firstViolation = new AtomicReference<>();
+
+  void recordValid() {
+    validated.increment();
+  }
+
+  void recordViolation(String request, String violation) {
+    validated.increment();
+    violations.computeIfAbsent(request, key -> new LongAdder()).increment();
+    firstViolation.compareAndSet(null, request + ": " + violation);
+  }
+
+  /** Returns the number of response bodies validated. */
+  public long getValidated() {
+    return validated.sum();
+  }
+
+  /** Returns the number of bodies that broke their contract. */
+  public long getViolations() {
+    return violations.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  /** Returns the number of violations per request, sorted by request. */
+  public Map<String, Long> getViolationsByRequest() {
+    Map<String, Long> counts = new TreeMap<>();
+    violations.forEach((request, count) -> counts.put(request, count.sum()));
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /** Returns the first violation seen, or {@code null} if there was none. */
+  public String getFirstViolation() {
+    return firstViolation.get();
+  }
+
+  public void reset() {
+    validated.reset();
+    violations.clear();
+    firstViolation.set(null);
+  }
+
+  @Override
+  public String toString() {
+    String summary =
+        String.format(
+            "validated=%d, violations=%d %s",
+            getValidated(), getViolations(), getViolationsByRequest());
+    String first = getFirstViolation();
+    return first == null ? summary : summary + ", first: " + first;
+  }
+}
@@ -0,0 +1,67 @@
+package com.api.test.requests;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code GovernorStats} class counts how the client-side rate limiter and concurrency limit of
+ * an {@link ApiClientContext} held requests back. The distribution of the waiting time itself is
+ * recorded per endpoint in {@link com.api.test.metrics.LatencyRegistry#queueTimes()}.
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class GovernorStats {
+
+  private final LongAdder admitted = new LongAdder();
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  void recordAdmitted(boolean waited, long waitedNanos) {
+    admitted.increment();
+    inFlight.incrementAndGet();
+    if (waited) {
+      delayed.increment();
+      waitNanos.add(waitedNanos);
+    }
+  }
+
+  void recordReleased() {
+    inFlight.decrementAndGet();
+  }
+
+  /** Returns the number of attempts let through, first tries, retries and hedges alike. */
+  public long getAdmitted() {
+    return admitted.sum();
+  }
+
+  /** Returns the number of attempts that had to wait for a token or a free slot. */
+  public long getDelayed() {
+    return delayed.sum();
+  }
+
+  /** Returns the total time attempts spent waiting, in milliseconds. */
+  public double getTotalWaitMillis() {
+    return waitNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /** Returns the number of attempts currently holding a slot. */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public void reset() {
+    admitted.reset();
+    delayed.reset();
+    waitNanos.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "admitted=%d, delayed=%d, totalWaitMillis=%.1f, inFlight=%d",
+        getAdmitted(), getDelayed(), getTotalWaitMillis(), getInFlight());
+  }
+}
@@ -0,0 +1,115 @@
+package com.api.test.requests;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+
+/**
+ * A thread-safe pooling connection manager that records every lease and every newly opened socket
+ * into a {@link ConnectionStats} instance.
+ *
+ * <p>REST-assured still drives Apache HttpClient through the 4.x {@code AbstractHttpClient} API, so
+ * the pool is built on {@link PoolingClientConnectionManager}. New connections are counted by
+ * wrapping the socket factories of the scheme registry, which is the only place a TCP connect (and
+ * for {@code https} the TLS handshake) happens.
+ */
+@SuppressWarnings("deprecation")
+class InstrumentedConnectionManager extends PoolingClientConnectionManager {
+
+  private final ConnectionStats stats;
+
+  InstrumentedConnectionManager(
+      ConnectionStats stats, int maxTotal, int maxPerRoute, long timeToLiveMillis) {
+    super(countingSchemeRegistry(stats), timeToLiveMillis, TimeUnit.MILLISECONDS);
+    this.stats = stats;
+    setMaxTotal(maxTotal);
+    setDefaultMaxPerRoute(maxPerRoute);
+  }
+
+  @Override
+  public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+    stats.recordLease();
+    return super.requestConnection(route, state);
+  }
+
+  private static SchemeRegistry countingSchemeRegistry(ConnectionStats stats) {
+    SchemeRegistry defaults = SchemeRegistryFactory.createDefault();
+    SchemeRegistry registry = new SchemeRegistry();
+    for (String name : defaults.getSchemeNames()) {
+      Scheme scheme = defaults.getScheme(name);
+      SchemeSocketFactory factory = scheme.getSchemeSocketFactory();
+      SchemeSocketFactory counting =
+          factory instanceof SchemeLayeredSocketFactory
+              ? new CountingLayeredSocketFactory((SchemeLayeredSocketFactory) factory, stats)
+              : new CountingSocketFactory(factory, stats);
+      registry.register(new Scheme(scheme.getName(), scheme.getDefaultPort(), counting));
+    }
+    return registry;
+  }
+
+  /** Delegates to the real socket factory and counts every connect. */
+  private static class CountingSocketFactory implements SchemeSocketFactory {
+
+    private final SchemeSocketFactory delegate;
+    private final ConnectionStats stats;
+
+    private CountingSocketFactory(SchemeSocketFactory delegate, ConnectionStats stats) {
+      this.delegate = delegate;
+      this.stats = stats;
+    }
+
+    @Override
+    public Socket createSocket(HttpParams params) throws IOException {
+      return delegate.createSocket(params);
+    }
+
+    @Override
+    public Socket connectSocket(
+        Socket sock,
+        InetSocketAddress remoteAddress,
+        InetSocketAddress localAddress,
+        HttpParams params)
+        throws IOException {
+      Socket connected = delegate.connectSocket(sock, remoteAddress, localAddress, params);
+      stats.recordOpen();
+      return connected;
+    }
+
+    @Override
+    public boolean isSecure(Socket sock) {
+      return delegate.isSecure(sock);
+    }
+  }
+
+  /**
+   * Counting variant for TLS schemes. It must stay a {@link SchemeLayeredSocketFactory} because
+   * HttpClient plans a route as secure only when the scheme factory is layered.
+   */
+  private static final class CountingLayeredSocketFactory extends CountingSocketFactory
+      implements SchemeLayeredSocketFactory {
+
+    private final SchemeLayeredSocketFactory delegate;
+
+    private CountingLayeredSocketFactory(
+        SchemeLayeredSocketFactory delegate, ConnectionStats stats) {
+      super(delegate, stats);
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+        throws IOException {
+      return delegate.createLayeredSocket(socket, target, port, params);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.api.test.requests;
+
+import com.api.test.metrics.LatencyRegistry;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST-assured filter that records the wall time of every call into a {@link LatencyRegistry},
+ * keyed by HTTP method and path template, e.g. {@code GET api/v1/Books/{id}}. The template is the
+ * path as passed to REST-assured before path parameters are substituted, so all ids of an endpoint
+ * share one histogram.
+ *
+ * <p>The filter runs right after the {@link ResponseCache}, so a cache hit is not recorded and the
+ * histograms hold only calls that reach the server, revalidations included. The recorded time
+ * includes the work of every later filter. Attempts aborted because another attempt of a hedged
+ * request already answered are not recorded: their time is cut short and would pull down the
+ * percentile that the hedge delay is taken from.
+ */
+public class LatencyFilter implements OrderedFilter {
+
+  private final LatencyRegistry registry;
+
+  public LatencyFilter(LatencyRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    long start = System.nanoTime();
+    try {
+      return ctx.next(requestSpec, responseSpec);
+    } finally {
+      if (!RequestDeadline.isCurrentAbandoned()) {
+        registry.record(
+            keyOf(requestSpec.getMethod(), requestSpec.getUserDefinedPath()),
+            System.nanoTime() - start);
+      }
+    }
+  }
+
+  /** Returns the registry key of a request, e.g. {@code GET /api/v1/Books/{id}}. */
+  static String keyOf(String method, String path) {
+    return path.startsWith("/") ? method + " " + path : method + " /" + path;
+  }
+
+  @Override
+  public int getOrder() {
+    return HIGHEST_PRECEDENCE + 1;
+  }
+}
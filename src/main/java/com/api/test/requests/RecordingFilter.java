@@ -0,0 +1,64 @@
+package com.api.test.requests;
+
+import com.api.test.replay.TrafficLogWriter;
+import com.api.test.replay.TrafficRecord;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * REST-assured filter that appends every request/response pair that goes over the wire to a {@link
+ * TrafficLogWriter}, for replay with {@code api.server=replay}. It runs after every other filter,
+ * so responses served by the {@link ResponseCache} are not recorded again and every attempt of a
+ * retried request is recorded as it was answered.
+ */
+class RecordingFilter implements OrderedFilter {
+
+  private final TrafficLogWriter writer;
+
+  RecordingFilter(TrafficLogWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    Response response = ctx.next(requestSpec, responseSpec);
+    URI uri = URI.create(requestSpec.getURI());
+    writer.append(
+        new TrafficRecord(
+            requestSpec.getMethod().toUpperCase(Locale.ROOT),
+            uri.getRawQuery() == null
+                ? uri.getRawPath()
+                : uri.getRawPath() + '?' + uri.getRawQuery(),
+            TrafficRecord.hash(bodyOf(requestSpec)),
+            response.statusCode(),
+            response.getHeader("Content-Type"),
+            response.getHeader("ETag"),
+            response.asByteArray()));
+    return response;
+  }
+
+  @Override
+  public int getOrder() {
+    return LOWEST_PRECEDENCE;
+  }
+
+  /** Returns the body as sent: REST-assured has serialized objects to a string by now. */
+  private static byte[] bodyOf(FilterableRequestSpecification requestSpec) {
+    Object body = requestSpec.getBody();
+    if (body == null) {
+      return new byte[0];
+    }
+    return body instanceof byte[]
+        ? (byte[]) body
+        : body.toString().getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,143 @@
+package com.api.test.requests;
+
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.methods.AbortableHttpRequest;
+import org.apache.http.impl.client.RequestWrapper;
+
+/**
+ * Bounds one attempt of a request in time. While {@link #run(Supplier)} sends the attempt on the
+ * calling thread, a request interceptor of the HTTP client hands the outgoing request to the
+ * deadline through {@link #attach(HttpRequest)}; when the deadline passes, or when {@link
+ * #abandon()} is called because another attempt already answered, the request is aborted. Aborting
+ * closes the connection, so a stalled server can no longer block the caller.
+ *
+ * <p>Each attempt needs its own deadline; a deadline is bound to the thread that runs it.
+ */
+@SuppressWarnings("deprecation")
+final class RequestDeadline {
+
+  private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+  private static final ScheduledExecutorService TIMER = createTimer();
+
+  private final Duration timeout;
+  private final ResilienceStats stats;
+  private volatile AbortableHttpRequest request;
+  private volatile boolean expired;
+  private volatile boolean abandoned;
+
+  RequestDeadline(Duration timeout, ResilienceStats stats) {
+    this.timeout = timeout;
+    this.stats = stats;
+  }
+
+  /** Hands the request being sent on the current thread to its deadline, if there is one. */
+  static void attach(HttpRequest request) {
+    RequestDeadline deadline = CURRENT.get();
+    if (deadline == null) {
+      return;
+    }
+    Object original =
+        request instanceof RequestWrapper ? ((RequestWrapper) request).getOriginal() : request;
+    if (original instanceof AbortableHttpRequest) {
+      deadline.request = (AbortableHttpRequest) original;
+      // The deadline may have passed while the request was being prepared.
+      if (deadline.expired || deadline.abandoned) {
+        deadline.abortRequest();
+      }
+    }
+  }
+
+  /**
+   * Returns whether the attempt being sent on the current thread was abandoned, so its time says
+   * nothing about the latency of the endpoint.
+   */
+  static boolean isCurrentAbandoned() {
+    RequestDeadline deadline = CURRENT.get();
+    return deadline != null && deadline.abandoned;
+  }
+
+  static ScheduledExecutorService timer() {
+    return TIMER;
+  }
+
+  /**
+   * Sends the attempt on the calling thread and aborts it once the timeout has passed.
+   *
+   * @throws RequestTimeoutException if the attempt was aborted because it took too long
+   * @throws UncheckedIOException if the attempt failed with an I/O error, e.g. because it was
+   *     abandoned
+   */
+  Response run(Supplier<Response> attempt) {
+    ScheduledFuture<?> timer =
+        timeout.isZero()
+            ? null
+            : TIMER.schedule(this::expire, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    CURRENT.set(this);
+    try {
+      return attempt.get();
+    } catch (Exception e) {
+      if (expired) {
+        stats.recordTimeout();
+        throw new RequestTimeoutException(timeout, e);
+      }
+      throw unchecked(e);
+    } finally {
+      CURRENT.remove();
+      if (timer != null) {
+        timer.cancel(false);
+      }
+    }
+  }
+
+  /** Aborts the attempt because its answer is no longer needed. */
+  void abandon() {
+    abandoned = true;
+    abortRequest();
+  }
+
+  private void expire() {
+    expired = true;
+    abortRequest();
+  }
+
+  private void abortRequest() {
+    AbortableHttpRequest current = request;
+    if (current != null) {
+      current.abort();
+    }
+  }
+
+  /** REST-assured rethrows checked I/O errors undeclared; callers only expect unchecked ones. */
+  private static RuntimeException unchecked(Exception e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    if (e instanceof IOException) {
+      return new UncheckedIOException((IOException) e);
+    }
+    return new IllegalStateException(e);
+  }
+
+  private static ScheduledExecutorService createTimer() {
+    ScheduledThreadPoolExecutor timer =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "request-deadline-timer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    // Most deadlines are cancelled long before they fire; do not keep them queued until then.
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+}
@@ -0,0 +1,115 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code RequestExecutors} class creates the executors that run the asynchronous variants of
+ * the request methods, e.g. {@code BookRequests.getBookByIdAsync(...)}.
+ *
+ * <p>The type of the shared executor is selected with the {@code http.async.executor} property:
+ *
+ * <ul>
+ *   <li>{@code virtual} - one virtual thread per request (default). Falls back to {@code cached}
+ *       when the running JVM has no virtual threads (before Java 21).
+ *   <li>{@code cached} - an unbounded pool of daemon platform threads that are reused when idle
+ *   <li>{@code fixed} - a pool of {@code http.async.threads} daemon platform threads
+ * </ul>
+ *
+ * <p>REST-assured itself is blocking, so every in-flight request still occupies a thread; virtual
+ * threads make that cheap enough to keep hundreds of requests in flight from a single test thread.
+ * The number of requests actually on the wire is bounded by the connection pool of the {@link
+ * ApiClientContext}.
+ */
+public final class RequestExecutors {
+
+  public static final String VIRTUAL = "virtual";
+  public static final String CACHED = "cached";
+  public static final String FIXED = "fixed";
+
+  private static volatile ExecutorService sharedExecutor;
+
+  private RequestExecutors() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /** Returns the executor shared by all request classes, created from the configuration. */
+  public static ExecutorService shared() {
+    ExecutorService executor = sharedExecutor;
+    if (executor == null) {
+      synchronized (RequestExecutors.class) {
+        executor = sharedExecutor;
+        if (executor == null) {
+          executor =
+              create(
+                  ConfigurationLoader.getProperty("http.async.executor", VIRTUAL),
+                  ConfigurationLoader.getIntProperty(
+                      "http.async.threads", Runtime.getRuntime().availableProcessors() * 4));
+          sharedExecutor = executor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  /**
+   * Creates a new executor of the given type.
+   *
+   * @param type one of {@link #VIRTUAL}, {@link #CACHED} or {@link #FIXED}
+   * @param threads the number of threads of a {@link #FIXED} pool, ignored by the other types
+   * @return the new executor, owned by the caller
+   */
+  public static ExecutorService create(String type, int threads) {
+    switch (type.toLowerCase(Locale.ROOT)) {
+      case VIRTUAL:
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        return virtual != null ? virtual : Executors.newCachedThreadPool(daemonThreads());
+      case CACHED:
+        return Executors.newCachedThreadPool(daemonThreads());
+      case FIXED:
+        return Executors.newFixedThreadPool(threads, daemonThreads());
+      default:
+        throw new IllegalArgumentException("Invalid executor type: " + type);
+    }
+  }
+
+  /** Returns {@code true} if the running JVM supports virtual threads. */
+  public static boolean isVirtualThreadSupported() {
+    return virtualThreadFactoryMethod() != null;
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    Method factory = virtualThreadFactoryMethod();
+    if (factory == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException("Failed to create a virtual thread executor", e);
+    }
+  }
+
+  // Looked up reflectively so the project keeps compiling for Java 11.
+  private static Method virtualThreadFactoryMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private static ThreadFactory daemonThreads() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "api-request-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
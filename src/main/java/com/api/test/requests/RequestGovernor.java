@@ -0,0 +1,152 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.LatencyRegistry;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the requests of one endpoint back so the service is not driven into {@code 429 Too Many
+ * Requests}: a {@link TokenBucket} caps the request rate and a fair {@link Semaphore} caps the
+ * requests in flight. One governor is shared by every thread that sends to the endpoint; every
+ * attempt, including retries and hedges, passes through it.
+ *
+ * <p>The settings are read per endpoint, falling back to the settings of all endpoints; the name of
+ * an endpoint is its last path segment in lower case, e.g. {@code books} for {@code api/v1/Books}:
+ *
+ * <ul>
+ *   <li>{@code http.governor.<name>.rate} or {@code http.governor.rate} - requests per second,
+ *       {@code 0} for no limit
+ *   <li>{@code http.governor.<name>.burst} or {@code http.governor.burst} - requests that may be
+ *       sent at once after a quiet period
+ *   <li>{@code http.governor.<name>.maxConcurrent} or {@code http.governor.maxConcurrent} -
+ *       requests in flight, {@code 0} for no limit
+ * </ul>
+ *
+ * <p>The time an attempt waits here is recorded in {@link LatencyRegistry#queueTimes()}, separately
+ * from the latency of the request itself.
+ */
+final class RequestGovernor {
+
+  private final TokenBucket bucket;
+  private final Semaphore slots;
+  private final LatencyRegistry queueTimes;
+  private final GovernorStats stats = new GovernorStats();
+  private final LongSupplier nanoClock;
+  private final LongPredicate waiter;
+
+  RequestGovernor(double rate, int burst, int maxConcurrent, LatencyRegistry queueTimes) {
+    this(rate, burst, maxConcurrent, queueTimes, System::nanoTime, RequestGovernor::parkNanos);
+  }
+
+  /**
+   * Creates a governor that reads the time from the given clock and waits for tokens with the given
+   * waiter, which returns {@code false} if the thread was interrupted.
+   */
+  RequestGovernor(
+      double rate,
+      int burst,
+      int maxConcurrent,
+      LatencyRegistry queueTimes,
+      LongSupplier nanoClock,
+      LongPredicate waiter) {
+    if (rate < 0 || maxConcurrent < 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Governor rate and maxConcurrent must not be negative: rate=%s, maxConcurrent=%d",
+              rate, maxConcurrent));
+    }
+    this.bucket = rate > 0 ? new TokenBucket(rate, burst, nanoClock) : null;
+    this.slots = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+    this.queueTimes = queueTimes;
+    this.nanoClock = nanoClock;
+    this.waiter = waiter;
+  }
+
+  /**
+   * Reads the {@code http.governor.*} settings of the endpoint through {@link ConfigurationLoader}.
+   */
+  static RequestGovernor fromConfiguration(String endpoint, LatencyRegistry queueTimes) {
+    String name = endpoint.substring(endpoint.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+    double rate =
+        ConfigurationLoader.getDoubleProperty(
+            "http.governor." + name + ".rate",
+            ConfigurationLoader.getDoubleProperty("http.governor.rate", 0));
+    int burst =
+        ConfigurationLoader.getIntProperty(
+            "http.governor." + name + ".burst",
+            ConfigurationLoader.getIntProperty("http.governor.burst", 10));
+    int maxConcurrent =
+        ConfigurationLoader.getIntProperty(
+            "http.governor." + name + ".maxConcurrent",
+            ConfigurationLoader.getIntProperty("http.governor.maxConcurrent", 0));
+    return new RequestGovernor(rate, burst, maxConcurrent, queueTimes);
+  }
+
+  /** Returns whether this governor limits anything; if not, it does not need to be called. */
+  boolean isEnabled() {
+    return bucket != null || slots != null;
+  }
+
+  GovernorStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Waits for a free slot and then for a token, and records the wait under the key. Every
+   * successful call must be followed by {@link #release()}.
+   *
+   * @param key the latency key of the request, e.g. {@code GET /api/v1/Books/{id}}
+   * @throws IllegalStateException if the thread is interrupted while waiting
+   */
+  void acquire(String key) {
+    long start = nanoClock.getAsLong();
+    boolean waited = false;
+    if (slots != null && !slots.tryAcquire()) {
+      waited = true;
+      try {
+        slots.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a request slot", e);
+      }
+    }
+    // The token is taken once the slot is held, so requests leave at the paced rate.
+    long tokenWait = bucket != null ? bucket.reserve() : 0;
+    if (tokenWait > 0) {
+      waited = true;
+      if (!waiter.test(tokenWait)) {
+        if (slots != null) {
+          slots.release();
+        }
+        throw new IllegalStateException("Interrupted while waiting for a rate limiter token");
+      }
+    }
+    long waitedNanos = nanoClock.getAsLong() - start;
+    queueTimes.record(key, waitedNanos);
+    stats.recordAdmitted(waited, waitedNanos);
+  }
+
+  void release() {
+    stats.recordReleased();
+    if (slots != null) {
+      slots.release();
+    }
+  }
+
+  /** Parks until the time has passed; returns {@code false} if the thread was interrupted. */
+  private static boolean parkNanos(long nanos) {
+    long deadline = System.nanoTime() + nanos;
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (Thread.currentThread().isInterrupted()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
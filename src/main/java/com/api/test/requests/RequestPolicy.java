@@ -0,0 +1,145 @@
+package com.api.test.requests;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.configs.PerformanceConfig;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable timeout, retry and hedging settings of the requests of an {@link ApiClientContext}.
+ *
+ * <ul>
+ *   <li>{@code getTimeout}, {@code postTimeout}, {@code putTimeout}, {@code deleteTimeout} - {@code
+ *       http.timeout.<method>.millis}, the time one attempt of the operation may take from sending
+ *       the request to reading the whole body; {@link PerformanceConfig#getRequestTimeout()} by
+ *       default, and {@code 0} for none
+ *   <li>{@code maxAttempts} - {@code http.retry.maxAttempts}, attempts of a GET, PUT or DELETE,
+ *       including the first; POST is never retried
+ *   <li>{@code initialBackoff}, {@code maxBackoff} - {@code http.retry.initialBackoffMillis} and
+ *       {@code http.retry.maxBackoffMillis}; retry {@code n} waits a random time between 0 and
+ *       {@code min(maxBackoff, initialBackoff * 2^(n-1))} ("full jitter")
+ *   <li>{@code retryStatusCodes} - {@code http.retry.statusCodes}, statuses that are retried like
+ *       an I/O error or a timeout
+ *   <li>{@code hedgingEnabled} - {@code http.hedge.enabled}, whether a GET that has not answered
+ *       after the {@code hedgePercentile} ({@code http.hedge.percentile}) latency of its endpoint
+ *       is sent a second time, the first answer winning
+ *   <li>{@code hedgeMinSamples}, {@code hedgeMinDelay} - {@code http.hedge.minSamples} and {@code
+ *       http.hedge.minDelayMillis}: no hedging before the endpoint has that many samples, and never
+ *       earlier than that delay
+ * </ul>
+ */
+@Value
+@Builder
+public class RequestPolicy {
+
+  private static final Set<String> IDEMPOTENT = Set.of("GET", "PUT", "DELETE");
+
+  @Builder.Default Duration getTimeout = Duration.ofSeconds(60);
+  @Builder.Default Duration postTimeout = Duration.ofSeconds(60);
+  @Builder.Default Duration putTimeout = Duration.ofSeconds(60);
+  @Builder.Default Duration deleteTimeout = Duration.ofSeconds(60);
+  @Builder.Default int maxAttempts = 3;
+  @Builder.Default Duration initialBackoff = Duration.ofMillis(100);
+  @Builder.Default Duration maxBackoff = Duration.ofSeconds(2);
+  @Builder.Default Set<Integer> retryStatusCodes = Set.of(502, 503, 504);
+  @Builder.Default boolean hedgingEnabled = false;
+  @Builder.Default double hedgePercentile = 95;
+  @Builder.Default int hedgeMinSamples = 100;
+  @Builder.Default Duration hedgeMinDelay = Duration.ofMillis(10);
+
+  /** Reads the {@code http.timeout.*}, {@code http.retry.*} and {@code http.hedge.*} properties. */
+  public static RequestPolicy fromConfiguration() {
+    long requestMillis = PerformanceConfig.get().getRequestTimeout().toMillis();
+    RequestPolicy policy =
+        RequestPolicy.builder()
+            .getTimeout(timeout("GET", requestMillis))
+            .postTimeout(timeout("POST", requestMillis))
+            .putTimeout(timeout("PUT", requestMillis))
+            .deleteTimeout(timeout("DELETE", requestMillis))
+            .maxAttempts(ConfigurationLoader.getIntProperty("http.retry.maxAttempts", 3))
+            .initialBackoff(
+                Duration.ofMillis(
+                    ConfigurationLoader.getLongProperty("http.retry.initialBackoffMillis", 100)))
+            .maxBackoff(
+                Duration.ofMillis(
+                    ConfigurationLoader.getLongProperty("http.retry.maxBackoffMillis", 2000)))
+            .retryStatusCodes(
+                parseStatusCodes(ConfigurationLoader.getProperty("http.retry.statusCodes", "")))
+            .hedgingEnabled(
+                Boolean.parseBoolean(
+                    ConfigurationLoader.getProperty("http.hedge.enabled", "false")))
+            .hedgePercentile(ConfigurationLoader.getDoubleProperty("http.hedge.percentile", 95))
+            .hedgeMinSamples(ConfigurationLoader.getIntProperty("http.hedge.minSamples", 100))
+            .hedgeMinDelay(
+                Duration.ofMillis(
+                    ConfigurationLoader.getLongProperty("http.hedge.minDelayMillis", 10)))
+            .build();
+    if (policy.maxAttempts < 1) {
+      throw new IllegalArgumentException(
+          "http.retry.maxAttempts must be at least 1: " + policy.maxAttempts);
+    }
+    if (policy.hedgePercentile <= 0 || policy.hedgePercentile >= 100) {
+      throw new IllegalArgumentException(
+          "http.hedge.percentile must be between 0 and 100: " + policy.hedgePercentile);
+    }
+    return policy;
+  }
+
+  /** Returns the timeout of one attempt of the method, {@link Duration#ZERO} for none. */
+  public Duration timeoutOf(String method) {
+    switch (method.toUpperCase(Locale.ROOT)) {
+      case "GET":
+        return getTimeout;
+      case "POST":
+        return postTimeout;
+      case "PUT":
+        return putTimeout;
+      case "DELETE":
+        return deleteTimeout;
+      default:
+        throw new IllegalArgumentException("Invalid HTTP method: " + method);
+    }
+  }
+
+  /** Returns how many attempts a request of the method gets: 1 unless it is idempotent. */
+  public int attemptsOf(String method) {
+    return IDEMPOTENT.contains(method.toUpperCase(Locale.ROOT)) ? maxAttempts : 1;
+  }
+
+  /** Returns the jittered wait before the given retry, counted from 1. */
+  public long backoffNanos(int retry) {
+    long ceiling = initialBackoff.toNanos() << Math.min(retry - 1, 30);
+    if (ceiling <= 0 || ceiling > maxBackoff.toNanos()) {
+      ceiling = maxBackoff.toNanos();
+    }
+    return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+
+  private static Duration timeout(String method, long defaultMillis) {
+    return Duration.ofMillis(
+        ConfigurationLoader.getLongProperty(
+            "http.timeout." + method.toLowerCase(Locale.ROOT) + ".millis", defaultMillis));
+  }
+
+  private static Set<Integer> parseStatusCodes(String codes) {
+    if (codes.trim().isEmpty()) {
+      return Set.of(502, 503, 504);
+    }
+    try {
+      return Collections.unmodifiableSet(
+          Arrays.stream(codes.split(","))
+              .map(String::trim)
+              .map(Integer::valueOf)
+              .collect(Collectors.toSet()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid http.retry.statusCodes: " + codes, e);
+    }
+  }
+}
@@ -0,0 +1,270 @@
+package com.api.test.requests;
+
+import com.api.test.metrics.LatencyRegistry;
+import io.restassured.response.Response;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends the requests of an {@link ApiClientContext} under its {@link RequestPolicy}: every attempt
+ * is bounded by the timeout of its method, failed idempotent requests are retried with jittered
+ * exponential backoff, and GETs are optionally hedged.
+ *
+ * <p>A hedged GET is sent on the calling thread as usual. If it has not answered once the
+ * configured percentile of its endpoint's latency has passed, a duplicate is sent on {@link
+ * RequestExecutors#shared()}; whichever answers first is returned and the other one is aborted. The
+ * percentile is taken from the {@link LatencyRegistry} the latency filter records into and is
+ * refreshed at most once a second.
+ *
+ * <p>Every attempt, retries and hedges included, first passes the {@link RequestGovernor} of the
+ * endpoint, whose waiting time is not part of the attempt's timeout.
+ */
+final class RequestRunner {
+
+  private static final long HEDGE_DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final RequestPolicy policy;
+  private final RequestGovernor governor;
+  private final ResilienceStats stats = new ResilienceStats();
+  private final LatencyRegistry latencies;
+  private final Map<String, HedgeDelay> hedgeDelays = new ConcurrentHashMap<>();
+
+  RequestRunner(RequestPolicy policy, RequestGovernor governor, LatencyRegistry latencies) {
+    this.policy = policy;
+    this.governor = governor.isEnabled() ? governor : null;
+    this.latencies = latencies;
+  }
+
+  ResilienceStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Sends the request, retrying and hedging it as the policy allows.
+   *
+   * @param method the HTTP method, in upper case
+   * @param path the path template of the request, e.g. {@code api/v1/Books/{id}}
+   * @param attempt sends one attempt; called once per attempt, possibly from several threads
+   * @return the response of the last attempt, or of the first answering one of a hedged GET
+   * @throws RequestTimeoutException if the last attempt timed out
+   * @throws UncheckedIOException if the last attempt failed with an I/O error
+   */
+  Response run(String method, String path, Supplier<Response> attempt) {
+    return run(method, path, true, attempt);
+  }
+
+  /**
+   * Sends the request, retrying and hedging it as the policy allows if {@code retried} is set, or
+   * else with a single attempt that is still bounded by the timeout and passes the governor.
+   */
+  Response run(String method, String path, boolean retried, Supplier<Response> attempt) {
+    Duration timeout = policy.timeoutOf(method);
+    int attempts = retried ? policy.attemptsOf(method) : 1;
+    boolean hedged = retried && policy.isHedgingEnabled() && "GET".equals(method);
+    String key = LatencyFilter.keyOf(method, path);
+    for (int n = 1; ; n++) {
+      Response response;
+      try {
+        response =
+            hedged
+                ? runHedged(key, timeout, attempt)
+                : send(key, new RequestDeadline(timeout, stats), attempt);
+      } catch (RuntimeException e) {
+        if (n >= attempts || !isRetryable(e)) {
+          stats.recordFailure();
+          throw e;
+        }
+        backOff(n);
+        continue;
+      }
+      if (n >= attempts || !policy.getRetryStatusCodes().contains(response.statusCode())) {
+        return response;
+      }
+      backOff(n);
+    }
+  }
+
+  private Response runHedged(String key, Duration timeout, Supplier<Response> attempt) {
+    long delayNanos = hedgeDelayNanos(key);
+    RequestDeadline primary = new RequestDeadline(timeout, stats);
+    if (delayNanos < 0) {
+      return send(key, primary, attempt);
+    }
+    Hedge hedge = new Hedge(key, timeout, attempt, primary);
+    ScheduledFuture<?> trigger;
+    Response response = null;
+    RuntimeException failure = null;
+    acquire(key);
+    try {
+      // The hedge delay counts from the moment the original leaves the governor.
+      trigger = RequestDeadline.timer().schedule(hedge::launch, delayNanos, TimeUnit.NANOSECONDS);
+      try {
+        response = primary.run(attempt);
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+    } finally {
+      // Released before waiting for the hedge, which may need this very slot.
+      release();
+    }
+    if (failure == null) {
+      if (!trigger.cancel(false)) {
+        hedge.claimForPrimary();
+      }
+      return response;
+    }
+    if (trigger.cancel(false)) {
+      throw failure;
+    }
+    // The hedge is in flight and may still answer, or has already answered and aborted this one.
+    Response hedged = hedge.await();
+    if (hedged == null) {
+      throw failure;
+    }
+    return hedged;
+  }
+
+  /** Sends one attempt once the governor, if any, lets it through. */
+  private Response send(String key, RequestDeadline deadline, Supplier<Response> attempt) {
+    acquire(key);
+    try {
+      return deadline.run(attempt);
+    } finally {
+      release();
+    }
+  }
+
+  private void acquire(String key) {
+    if (governor != null) {
+      governor.acquire(key);
+    }
+  }
+
+  private void release() {
+    if (governor != null) {
+      governor.release();
+    }
+  }
+
+  /** Returns the hedge delay of the key, or {@code -1} while it has too few samples to tell. */
+  private long hedgeDelayNanos(String key) {
+    HedgeDelay delay = hedgeDelays.computeIfAbsent(key, k -> new HedgeDelay());
+    long now = System.nanoTime();
+    if (now - delay.nextRefresh >= 0) {
+      synchronized (delay) {
+        if (now - delay.nextRefresh >= 0) {
+          Histogram histogram = latencies.recorder(key).totalHistogram();
+          delay.nanos =
+              histogram.getTotalCount() < policy.getHedgeMinSamples()
+                  ? -1
+                  : Math.max(
+                      policy.getHedgeMinDelay().toNanos(),
+                      TimeUnit.MICROSECONDS.toNanos(
+                          histogram.getValueAtPercentile(policy.getHedgePercentile())));
+          delay.nextRefresh = now + HEDGE_DELAY_REFRESH_NANOS;
+        }
+      }
+    }
+    return delay.nanos;
+  }
+
+  private void backOff(int retry) {
+    stats.recordRetry();
+    long deadline = System.nanoTime() + policy.backoffNanos(retry);
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (Thread.interrupted()) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while backing off before a retry");
+      }
+    }
+  }
+
+  private static boolean isRetryable(RuntimeException e) {
+    return e instanceof RequestTimeoutException || e instanceof UncheckedIOException;
+  }
+
+  /** The duplicate of a hedged GET. */
+  private final class Hedge {
+
+    private final String key;
+    private final Duration timeout;
+    private final Supplier<Response> attempt;
+    private final RequestDeadline primary;
+    private final AtomicBoolean answered = new AtomicBoolean();
+    private final CompletableFuture<Response> result = new CompletableFuture<>();
+    private volatile RequestDeadline deadline;
+
+    private Hedge(
+        String key, Duration timeout, Supplier<Response> attempt, RequestDeadline primary) {
+      this.key = key;
+      this.timeout = timeout;
+      this.attempt = attempt;
+      this.primary = primary;
+    }
+
+    /** Runs on the timer thread, so the duplicate itself is sent on the shared executor. */
+    private void launch() {
+      stats.recordHedge();
+      RequestExecutors.shared().execute(this::send);
+    }
+
+    private void send() {
+      RequestDeadline hedgeDeadline = new RequestDeadline(timeout, stats);
+      deadline = hedgeDeadline;
+      try {
+        acquire(key);
+      } catch (RuntimeException e) {
+        result.complete(null);
+        return;
+      }
+      try {
+        if (!answered.get()) {
+          Response response = hedgeDeadline.run(attempt);
+          if (answered.compareAndSet(false, true)) {
+            stats.recordHedgeWin();
+            primary.abandon();
+          }
+          result.complete(response);
+        }
+      } catch (RuntimeException e) {
+        // The hedge failed or was abandoned; the original decides the outcome.
+      } finally {
+        // No-op if the hedge answered, and never leaves the caller waiting otherwise.
+        result.complete(null);
+        release();
+      }
+    }
+
+    /** Marks the original as the winner and aborts the duplicate if it is still running. */
+    private void claimForPrimary() {
+      if (answered.compareAndSet(false, true)) {
+        RequestDeadline hedgeDeadline = deadline;
+        if (hedgeDeadline != null) {
+          hedgeDeadline.abandon();
+        }
+      }
+    }
+
+    /** Waits for the duplicate and returns its response, or {@code null} if it failed. */
+    private Response await() {
+      return result.join();
+    }
+  }
+
+  /** The cached hedge delay of one endpoint. */
+  private static final class HedgeDelay {
+    private volatile long nanos = -1;
+    private volatile long nextRefresh = System.nanoTime();
+  }
+}
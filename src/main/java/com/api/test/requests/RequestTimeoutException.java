@@ -0,0 +1,23 @@
+package com.api.test.requests;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an attempt of a request was aborted because it did not complete within the timeout of
+ * its operation, see {@link RequestPolicy#timeoutOf(String)}.
+ */
+public class RequestTimeoutException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Duration timeout;
+
+  public RequestTimeoutException(Duration timeout, Throwable cause) {
+    super("Request did not complete within " + timeout.toMillis() + " ms", cause);
+    this.timeout = timeout;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+}
@@ -0,0 +1,82 @@
+package com.api.test.requests;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ResilienceStats} class counts what the {@link RequestPolicy} of an {@link
+ * ApiClientContext} did: attempts that timed out, retries after an error or a retryable status,
+ * requests that failed after their last attempt, and hedged GETs together with how often the hedge
+ * answered first. Comparing these with the endpoint latencies shows whether retries and hedging
+ * actually shorten the tail, and what they cost in extra requests.
+ *
+ * <p>All counters are {@link LongAdder}s so they can be updated from many request threads without
+ * contention.
+ */
+public class ResilienceStats {
+
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder hedgeWins = new LongAdder();
+
+  void recordTimeout() {
+    timeouts.increment();
+  }
+
+  void recordRetry() {
+    retries.increment();
+  }
+
+  void recordFailure() {
+    failures.increment();
+  }
+
+  void recordHedge() {
+    hedges.increment();
+  }
+
+  void recordHedgeWin() {
+    hedgeWins.increment();
+  }
+
+  /** Returns the number of attempts, first tries, retries and hedges alike, that were aborted. */
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  /** Returns the number of attempts sent after a failed or retryable one. */
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  /** Returns the number of requests that threw after their last attempt. */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /** Returns the number of duplicate GETs sent because the first had not answered in time. */
+  public long getHedges() {
+    return hedges.sum();
+  }
+
+  /** Returns the number of hedged GETs whose duplicate answered before the original. */
+  public long getHedgeWins() {
+    return hedgeWins.sum();
+  }
+
+  public void reset() {
+    timeouts.reset();
+    retries.reset();
+    failures.reset();
+    hedges.reset();
+    hedgeWins.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "timeouts=%d, retries=%d, failures=%d, hedges=%d, hedgeWins=%d",
+        getTimeouts(), getRetries(), getFailures(), getHedges(), getHedgeWins());
+  }
+}
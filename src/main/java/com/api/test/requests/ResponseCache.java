@@ -0,0 +1,195 @@
+package com.api.test.requests;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.http.HttpStatus;
+
+/**
+ * REST-assured filter that caches the {@code 200} responses of GET requests by URI, with a time to
+ * live and a least-recently-used bound on the number of entries.
+ *
+ * <ul>
+ *   <li>A fresh entry is served without contacting the server.
+ *   <li>An expired entry with an {@code ETag} is revalidated with {@code If-None-Match}; on {@code
+ *       304 Not Modified} the cached body is served again and the entry is refreshed.
+ *   <li>Any other method invalidates the entry of its URI and of the collection above it, so {@code
+ *       PUT api/v1/Books/5} drops both {@code api/v1/Books/5} and {@code api/v1/Books}.
+ * </ul>
+ *
+ * <p>A GET that was in flight while a write invalidated the cache does not store its response,
+ * since it may have been read before the write. Unbuffered requests, see {@link
+ * ApiClientContext#sendUnbuffered(java.util.function.Supplier)}, bypass the cache.
+ *
+ * <p>The cache runs before {@link LatencyFilter}, so the endpoint latencies, and the hedge delay
+ * taken from them, hold only real round trips. Hits are counted in {@link CacheStats} instead.
+ */
+class ResponseCache implements OrderedFilter {
+
+  private static final String GET = "GET";
+
+  private final long ttlNanos;
+  private final LongSupplier nanoClock;
+  private final CacheStats stats = new CacheStats();
+  private final AtomicLong invalidations = new AtomicLong();
+  private final Map<String, CachedResponse> entries;
+
+  ResponseCache(int maxEntries, long ttlMillis) {
+    this(maxEntries, ttlMillis, System::nanoTime);
+  }
+
+  /** Creates a cache that reads the time from the given clock, in nanoseconds. */
+  ResponseCache(int maxEntries, long ttlMillis, LongSupplier nanoClock) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.nanoClock = nanoClock;
+    this.entries =
+        new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            if (size() > maxEntries) {
+              stats.recordEviction();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  CacheStats getStats() {
+    return stats;
+  }
+
+  @Override
+  public Response filter(
+      FilterableRequestSpecification requestSpec,
+      FilterableResponseSpecification responseSpec,
+      FilterContext ctx) {
+    String uri = requestSpec.getURI();
+    if (!GET.equalsIgnoreCase(requestSpec.getMethod())) {
+      Response response = ctx.next(requestSpec, responseSpec);
+      invalidate(uri);
+      return response;
+    }
+    if (ApiClientContext.isUnbuffered()) {
+      return ctx.next(requestSpec, responseSpec);
+    }
+
+    long now = nanoClock.getAsLong();
+    CachedResponse cached = get(uri);
+    if (cached != null && now < cached.expiresAt) {
+      stats.recordHit();
+      return cached.toResponse();
+    }
+    if (cached != null && cached.etag != null) {
+      requestSpec.header("If-None-Match", cached.etag);
+    }
+
+    long generation = invalidations.get();
+    Response response = ctx.next(requestSpec, responseSpec);
+    if (cached != null && response.statusCode() == HttpStatus.SC_NOT_MODIFIED) {
+      stats.recordRevalidated();
+      put(uri, cached.refresh(nanoClock.getAsLong() + ttlNanos), generation);
+      return cached.toResponse();
+    }
+    stats.recordMiss();
+    if (response.statusCode() == HttpStatus.SC_OK) {
+      put(uri, CachedResponse.of(response, nanoClock.getAsLong() + ttlNanos), generation);
+    }
+    return response;
+  }
+
+  @Override
+  public int getOrder() {
+    // Before LatencyFilter, so cache hits, which never reach the server, are not timed.
+    return HIGHEST_PRECEDENCE;
+  }
+
+  private synchronized CachedResponse get(String uri) {
+    return entries.get(uri);
+  }
+
+  private synchronized void put(String uri, CachedResponse entry, long generation) {
+    if (invalidations.get() == generation) {
+      entries.put(uri, entry);
+    }
+  }
+
+  private synchronized void invalidate(String uri) {
+    invalidations.incrementAndGet();
+    remove(uri);
+    int slash = uri.lastIndexOf('/');
+    if (slash > 0) {
+      remove(uri.substring(0, slash));
+    }
+  }
+
+  private void remove(String uri) {
+    if (entries.remove(uri) != null) {
+      stats.recordInvalidation();
+    }
+  }
+
+  /** An immutable copy of a cached response. */
+  private static final class CachedResponse {
+
+    private final int statusCode;
+    private final String statusLine;
+    private final Headers headers;
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final long expiresAt;
+
+    private CachedResponse(
+        int statusCode,
+        String statusLine,
+        Headers headers,
+        String contentType,
+        byte[] body,
+        String etag,
+        long expiresAt) {
+      this.statusCode = statusCode;
+      this.statusLine = statusLine;
+      this.headers = headers;
+      this.contentType = contentType;
+      this.body = body;
+      this.etag = etag;
+      this.expiresAt = expiresAt;
+    }
+
+    private static CachedResponse of(Response response, long expiresAt) {
+      return new CachedResponse(
+          response.statusCode(),
+          response.statusLine(),
+          response.headers(),
+          response.contentType(),
+          response.asByteArray(),
+          response.header("ETag"),
+          expiresAt);
+    }
+
+    private CachedResponse refresh(long newExpiresAt) {
+      return new CachedResponse(
+          statusCode, statusLine, headers, contentType, body, etag, newExpiresAt);
+    }
+
+    private Response toResponse() {
+      return new ResponseBuilder()
+          .setStatusCode(statusCode)
+          .setStatusLine(statusLine)
+          .setHeaders(headers)
+          .setContentType(contentType)
+          .setBody(body)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.api.test.requests;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free token bucket that refills at {@code rate} tokens per second and holds at most {@code
+ * burst} tokens. It is implemented as the generic cell rate algorithm: instead of a token count it
+ * keeps the theoretical arrival time of the next request, so taking a token is a single
+ * compare-and-set and no thread has to refill the bucket.
+ *
+ * <p>A caller never gets a token it does not wait for: {@link #reserve()} always takes the next
+ * free slot and returns how long the caller has to wait until it starts.
+ */
+final class TokenBucket {
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final LongSupplier nanoClock;
+  private final AtomicLong theoreticalArrival;
+
+  TokenBucket(double rate, int burst) {
+    this(rate, burst, System::nanoTime);
+  }
+
+  /** Creates a bucket that reads the time from the given clock, in nanoseconds. */
+  TokenBucket(double rate, int burst, LongSupplier nanoClock) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("rate must be positive: " + rate);
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be at least 1: " + burst);
+    }
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    this.toleranceNanos = (burst - 1) * intervalNanos;
+    this.nanoClock = nanoClock;
+    this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+  }
+
+  /** Takes the next token and returns the nanoseconds until it may be used, 0 if right away. */
+  long reserve() {
+    long now = nanoClock.getAsLong();
+    while (true) {
+      long arrival = theoreticalArrival.get();
+      long base = arrival - now > 0 ? arrival : now;
+      if (theoreticalArrival.compareAndSet(arrival, base + intervalNanos)) {
+        return Math.max(0, base - toleranceNanos - now);
+      }
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.api.test.server;
+
+/** An in-process server that the suite and the load runs can target instead of the remote API. */
+public interface ApiServer {
+
+  /** Returns the base URL of the server, e.g. {@code http://127.0.0.1:8080/}. */
+  String getBaseUrl();
+
+  void stop();
+}
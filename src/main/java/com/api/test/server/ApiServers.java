@@ -0,0 +1,57 @@
+package com.api.test.server;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.replay.ReplayServer;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Starts the in-process server selected by {@code api.server}:
+ *
+ * <ul>
+ *   <li>{@code remote} - none, requests go to {@code baseUrl}
+ *   <li>{@code local} - a {@link LocalApiServer} serving generated books and authors
+ *   <li>{@code replay} - a {@link ReplayServer} answering from the recording in {@code
+ *       api.replay.dir}
+ * </ul>
+ *
+ * <p>An embedded server listens on {@code api.server.port} and {@code baseUrl} is pointed at it for
+ * everything that reads it through {@link ConfigurationLoader} afterwards, so tests and load runs
+ * switch source without a code change.
+ */
+public final class ApiServers {
+
+  private ApiServers() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Starts the server selected by {@code api.server}.
+   *
+   * @return the running server, or empty if the remote service is configured
+   * @throws IllegalArgumentException if {@code api.server} has an unknown value
+   */
+  public static Optional<ApiServer> startIfEnabled() {
+    String mode = ConfigurationLoader.getProperty("api.server", "remote").toLowerCase(Locale.ROOT);
+    ApiServer server;
+    switch (mode) {
+      case "remote":
+        return Optional.empty();
+      case "local":
+        server = LocalApiServer.start(ConfigurationLoader.getIntProperty("api.server.port", 0));
+        break;
+      case "replay":
+        server =
+            ReplayServer.start(
+                Paths.get(ConfigurationLoader.getProperty("api.replay.dir", "target/recordings")),
+                ConfigurationLoader.getIntProperty("api.server.port", 0));
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Unknown api.server " + mode + ", expected remote, local or replay");
+    }
+    System.setProperty("baseUrl", server.getBaseUrl());
+    return Optional.of(server);
+  }
+}
@@ -0,0 +1,89 @@
+package com.api.test.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The JSON field types of the Books and Authors API, named after the .NET types the real service
+ * binds them to. Each type knows which JSON values the service accepts and the default it returns
+ * when a field is missing, unless the field is required.
+ */
+enum FieldType {
+  INT32("System.Int32", JsonNodeFactory.instance.numberNode(0)) {
+    @Override
+    boolean accepts(JsonNode value) {
+      return value.isInt();
+    }
+  },
+  /**
+   * A page count: an {@code Int32} from {@code 0} to {@value #MAX_PAGE_COUNT}, or the largest
+   * {@code Int32}, as the page count tests expect. A page count is required.
+   */
+  PAGE_COUNT("System.Int32", JsonNodeFactory.instance.numberNode(0)) {
+    @Override
+    boolean accepts(JsonNode value) {
+      return value.isInt()
+          && (value.intValue() >= 0 && value.intValue() <= MAX_PAGE_COUNT
+              || value.intValue() == Integer.MAX_VALUE);
+    }
+
+    @Override
+    boolean isRequired() {
+      return true;
+    }
+  },
+  STRING("System.String", JsonNodeFactory.instance.nullNode()) {
+    @Override
+    boolean accepts(JsonNode value) {
+      return value.isTextual() || value.isNull();
+    }
+  },
+  DATETIME("System.DateTime", JsonNodeFactory.instance.textNode("0001-01-01T00:00:00")) {
+    @Override
+    boolean accepts(JsonNode value) {
+      return value.isTextual() && isDateTime(value.asText());
+    }
+  };
+
+  private static final int MAX_PAGE_COUNT = 9999;
+
+  private final String dotNetType;
+  private final JsonNode defaultValue;
+
+  FieldType(String dotNetType, JsonNode defaultValue) {
+    this.dotNetType = dotNetType;
+    this.defaultValue = defaultValue;
+  }
+
+  abstract boolean accepts(JsonNode value);
+
+  /** Returns whether a body without the field is rejected instead of given the default. */
+  boolean isRequired() {
+    return false;
+  }
+
+  String getDotNetType() {
+    return dotNetType;
+  }
+
+  JsonNode getDefaultValue() {
+    return defaultValue;
+  }
+
+  private static boolean isDateTime(String text) {
+    try {
+      OffsetDateTime.parse(text);
+      return true;
+    } catch (DateTimeParseException e) {
+      try {
+        LocalDateTime.parse(text);
+        return true;
+      } catch (DateTimeParseException ignored) {
+        return false;
+      }
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.api.test.server;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import com.api.test.repositories.AuthorRepository;
+import com.api.test.repositories.BookRepository;
+import com.api.test.requests.RequestExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The {@code LocalApiServer} class is an embedded, in-process stand-in for the Books and Authors
+ * API. It serves {@code api/v1/Books} and {@code api/v1/Authors} on the loopback interface with the
+ * status codes and error bodies of the real service, so the suite and load runs can be measured
+ * without network noise and without an external dependency.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   LocalApiServer server = LocalApiServer.start(0);
+ *   System.setProperty("baseUrl", server.getBaseUrl());
+ *   ...
+ *   server.stop();
+ * }
+ * </pre>
+ *
+ * <p>The stores are seeded from {@code data/books/books.json} and {@code data/authors/authors.json}
+ * and then filled up with generated records, like the real service, to {@code api.server.books}
+ * books and {@code api.server.authors} authors. Connections are accepted by the NIO selector of the
+ * JDK HTTP server, so thousands of idle keep-alive connections cost no threads; requests are
+ * handled on {@link RequestExecutors}, which uses virtual threads when the JVM supports them.
+ *
+ * <p>The suite switches to this server with {@code api.server=local}, see {@link ApiServers}.
+ */
+public final class LocalApiServer implements ApiServer {
+
+  private static final String BOOKS_PATH = "/api/v1/Books";
+  private static final String AUTHORS_PATH = "/api/v1/Authors";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final ResourceHandler books;
+  private final ResourceHandler authors;
+
+  private LocalApiServer(HttpServer server, ExecutorService executor) {
+    ObjectMapper mapper = new ObjectMapper();
+    this.server = server;
+    this.executor = executor;
+    this.books = new ResourceHandler(mapper, BOOKS_PATH, ResourceSchema.BOOK);
+    this.authors = new ResourceHandler(mapper, AUTHORS_PATH, ResourceSchema.AUTHOR);
+    seed(mapper);
+    server.createContext(BOOKS_PATH, books);
+    server.createContext(AUTHORS_PATH, authors);
+    server.setExecutor(executor);
+  }
+
+  /**
+   * Starts a seeded server on the loopback interface.
+   *
+   * @param port the port to listen on, or {@code 0} for any free port
+   * @return the running server
+   */
+  public static LocalApiServer start(int port) {
+    // The JDK server writes headers and body separately; without TCP_NODELAY, Nagle's algorithm and
+    // the client's delayed ACK stall every response by about 40 ms. Read once per JVM.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+    HttpServer httpServer;
+    try {
+      httpServer =
+          HttpServer.create(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+              ConfigurationLoader.getIntProperty("api.server.backlog", 4096));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to start the local API server on port " + port, e);
+    }
+    LocalApiServer server =
+        new LocalApiServer(
+            httpServer,
+            RequestExecutors.create(
+                ConfigurationLoader.getProperty("api.server.executor", RequestExecutors.VIRTUAL),
+                ConfigurationLoader.getIntProperty("api.server.threads", 200)));
+    httpServer.start();
+    return server;
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return String.format(
+        "http://%s:%d/", server.getAddress().getAddress().getHostAddress(), getPort());
+  }
+
+  public int getBookCount() {
+    return books.getStore().size();
+  }
+
+  public int getAuthorCount() {
+    return authors.getStore().size();
+  }
+
+  @Override
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void seed(ObjectMapper mapper) {
+    BookRepository bookRepository = new BookRepository();
+    bookRepository.loadBooks("books.json");
+    List<Book> seedBooks = bookRepository.getAllBooks();
+    seedBooks.forEach(book -> books.seed(mapper.valueToTree(book)));
+
+    AuthorRepository authorRepository = new AuthorRepository();
+    authorRepository.loadAuthors("authors.json");
+    authorRepository.getAllAuthors().forEach(author -> authors.seed(mapper.valueToTree(author)));
+
+    Book template = seedBooks.get(0);
+    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    int bookCount = ConfigurationLoader.getIntProperty("api.server.books", 200);
+    for (int id = 1; id <= bookCount; id++) {
+      if (books.getStore().contains(id)) {
+        continue;
+      }
+      ObjectNode book = mapper.valueToTree(template);
+      book.put("id", id)
+          .put("title", "Book " + id)
+          .put("pageCount", Math.min(id * 100, 9999))
+          .put("publishDate", now.minusDays(id).toString());
+      books.seed(book);
+    }
+
+    int authorCount = ConfigurationLoader.getIntProperty("api.server.authors", 400);
+    for (int id = 1; id <= authorCount; id++) {
+      if (authors.getStore().contains(id)) {
+        continue;
+      }
+      authors.seed(
+          mapper.valueToTree(
+              Author.builder()
+                  .id(id)
+                  .idBook((id - 1) / 2 + 1)
+                  .firstName("First Name " + id)
+                  .lastName("Last Name " + id)
+                  .build()));
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package com.api.test.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Serves the CRUD endpoints of one resource, e.g. {@code api/v1/Books} and {@code
+ * api/v1/Books/{id}}, with the status codes and RFC 7807 error bodies of the real service:
+ *
+ * <ul>
+ *   <li>{@code 400} with {@code errors.id} when the id in the URL is not an integer
+ *   <li>{@code 400} with {@code errors.$.<field>} when a field of the body has the wrong type or a
+ *       required field is missing
+ *   <li>{@code 400} when the body id is already taken (create) or differs from the URL (update)
+ *   <li>{@code 404} with title {@code Not Found} when no record has the requested id
+ * </ul>
+ *
+ * <p>Successful GETs carry an {@code ETag} derived from the body and are answered with {@code 304
+ * Not Modified} when the request's {@code If-None-Match} matches it.
+ */
+final class ResourceHandler implements HttpHandler {
+
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String PROBLEM_JSON = "application/problem+json; charset=utf-8";
+  private static final String VALIDATION_TITLE = "One or more validation errors occurred.";
+  private static final String BAD_REQUEST_TYPE =
+      "https://tools.ietf.org/html/rfc7231#section-6.5.1";
+  private static final String NOT_FOUND_TYPE = "https://tools.ietf.org/html/rfc7231#section-6.5.4";
+  private static final byte[] NO_BODY = new byte[0];
+
+  private final ObjectMapper mapper;
+  private final String basePath;
+  private final ResourceSchema schema;
+  private final ResourceStore store = new ResourceStore();
+
+  ResourceHandler(ObjectMapper mapper, String basePath, ResourceSchema schema) {
+    this.mapper = mapper;
+    this.basePath = basePath;
+    this.schema = schema;
+  }
+
+  ResourceStore getStore() {
+    return store;
+  }
+
+  /** Validates and stores a seed record, ignoring records whose id is already taken. */
+  void seed(JsonNode record) {
+    Map<String, List<String>> errors = new LinkedHashMap<>();
+    ObjectNode normalized = normalize(record, errors);
+    if (!errors.isEmpty()) {
+      throw new IllegalArgumentException("Invalid " + schema.getName() + " seed: " + errors);
+    }
+    store.create(normalized.get(ResourceSchema.ID).intValue(), toBytes(normalized));
+  }
+
+  @Override
+  public void handle(HttpExchange exchange) throws IOException {
+    try {
+      byte[] body = exchange.getRequestBody().readAllBytes();
+      String rest = exchange.getRequestURI().getPath().substring(basePath.length());
+      Reply reply;
+      if (rest.isEmpty() || rest.equals("/")) {
+        reply = handleCollection(exchange.getRequestMethod(), body);
+      } else if (rest.charAt(0) == '/' && rest.indexOf('/', 1) < 0) {
+        reply = handleItem(exchange.getRequestMethod(), rest.substring(1), body);
+      } else {
+        reply = new Reply(404, null, NO_BODY);
+      }
+      if ("GET".equals(exchange.getRequestMethod()) && reply.status == 200) {
+        String etag = etag(reply.body);
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+          reply = new Reply(304, null, NO_BODY);
+        }
+      }
+      send(exchange, reply);
+    } catch (RuntimeException e) {
+      send(exchange, new Reply(500, null, NO_BODY));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private Reply handleCollection(String method, byte[] body) {
+    switch (method) {
+      case "GET":
+        return new Reply(200, JSON, store.getAll());
+      case "POST":
+        return create(body);
+      default:
+        return new Reply(405, null, NO_BODY);
+    }
+  }
+
+  private Reply handleItem(String method, String idSegment, byte[] body) {
+    int id;
+    try {
+      id = Integer.parseInt(idSegment);
+    } catch (NumberFormatException e) {
+      return validationProblem(
+          ResourceSchema.ID, String.format("The value '%s' is not valid.", idSegment));
+    }
+    switch (method) {
+      case "GET":
+        byte[] record = store.get(id);
+        return record == null ? notFound() : new Reply(200, JSON, record);
+      case "PUT":
+        return update(id, body);
+      case "DELETE":
+        return store.delete(id) ? new Reply(200, null, NO_BODY) : notFound();
+      default:
+        return new Reply(405, null, NO_BODY);
+    }
+  }
+
+  private Reply create(byte[] body) {
+    Map<String, List<String>> errors = new LinkedHashMap<>();
+    ObjectNode record = parse(body, errors);
+    if (!errors.isEmpty()) {
+      return validationProblem(errors);
+    }
+    int id = record.get(ResourceSchema.ID).intValue();
+    if (id == 0) {
+      do {
+        id = store.nextId();
+        record.put(ResourceSchema.ID, id);
+      } while (!store.create(id, toBytes(record)));
+    } else if (!store.create(id, toBytes(record))) {
+      return validationProblem(
+          ResourceSchema.ID,
+          String.format("A %s with id %d already exists.", schema.getName(), id));
+    }
+    return new Reply(200, JSON, toBytes(record));
+  }
+
+  private Reply update(int id, byte[] body) {
+    Map<String, List<String>> errors = new LinkedHashMap<>();
+    ObjectNode record = parse(body, errors);
+    if (!errors.isEmpty()) {
+      return validationProblem(errors);
+    }
+    if (!store.contains(id)) {
+      return notFound();
+    }
+    int bodyId = record.get(ResourceSchema.ID).intValue();
+    if (bodyId != 0 && bodyId != id) {
+      return validationProblem(
+          ResourceSchema.ID,
+          String.format(
+              "The id in the URL (%d) does not match the id in the body (%d).", id, bodyId));
+    }
+    record.put(ResourceSchema.ID, id);
+    byte[] bytes = toBytes(record);
+    return store.update(id, bytes) ? new Reply(200, JSON, bytes) : notFound();
+  }
+
+  private ObjectNode parse(byte[] body, Map<String, List<String>> errors) {
+    if (body.length == 0) {
+      errors.put("", Collections.singletonList("A non-empty request body is required."));
+      return null;
+    }
+    JsonNode node;
+    try {
+      node = mapper.readTree(body);
+    } catch (IOException e) {
+      errors.put("$", Collections.singletonList("The JSON value is not valid. Path: $."));
+      return null;
+    }
+    return normalize(node, errors);
+  }
+
+  /**
+   * Copies the known fields of the body into a new record in schema order, matching names
+   * case-insensitively and filling missing fields with their defaults. Type errors and missing
+   * required fields are added to {@code errors} with the {@code $.<field>} keys of the real
+   * service.
+   */
+  private ObjectNode normalize(JsonNode node, Map<String, List<String>> errors) {
+    if (node == null || !node.isObject()) {
+      errors.put(
+          "$",
+          Collections.singletonList(
+              "The JSON value could not be converted to " + schema.getName() + ". Path: $."));
+      return null;
+    }
+    ObjectNode record = mapper.createObjectNode();
+    for (Map.Entry<String, FieldType> field : schema.getFields().entrySet()) {
+      record.set(field.getKey(), field.getValue().getDefaultValue());
+    }
+    Set<String> present = new HashSet<>();
+    for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> entry = it.next();
+      for (Map.Entry<String, FieldType> field : schema.getFields().entrySet()) {
+        if (!field.getKey().equalsIgnoreCase(entry.getKey())) {
+          continue;
+        }
+        present.add(field.getKey());
+        if (field.getValue().accepts(entry.getValue())) {
+          record.set(field.getKey(), entry.getValue());
+        } else {
+          addTypeError(errors, field.getKey(), field.getValue());
+        }
+      }
+    }
+    for (Map.Entry<String, FieldType> field : schema.getFields().entrySet()) {
+      if (field.getValue().isRequired() && !present.contains(field.getKey())) {
+        addTypeError(errors, field.getKey(), field.getValue());
+      }
+    }
+    return errors.isEmpty() ? record : null;
+  }
+
+  private static void addTypeError(
+      Map<String, List<String>> errors, String fieldName, FieldType type) {
+    String path = "$." + fieldName;
+    errors.put(
+        path,
+        Collections.singletonList(
+            String.format(
+                "The JSON value could not be converted to %s. Path: %s.",
+                type.getDotNetType(), path)));
+  }
+
+  private Reply validationProblem(String key, String message) {
+    Map<String, List<String>> errors = new LinkedHashMap<>();
+    errors.put(key, Collections.singletonList(message));
+    return validationProblem(errors);
+  }
+
+  private Reply validationProblem(Map<String, List<String>> errors) {
+    ObjectNode problem = problem(BAD_REQUEST_TYPE, VALIDATION_TITLE, 400);
+    problem.set("errors", mapper.valueToTree(errors));
+    return new Reply(400, PROBLEM_JSON, toBytes(problem));
+  }
+
+  private Reply notFound() {
+    return new Reply(404, PROBLEM_JSON, toBytes(problem(NOT_FOUND_TYPE, "Not Found", 404)));
+  }
+
+  private ObjectNode problem(String type, String title, int status) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return mapper
+        .createObjectNode()
+        .put("type", type)
+        .put("title", title)
+        .put("status", status)
+        .put(
+            "traceId",
+            String.format(
+                "00-%016x%016x-%016x-00", random.nextLong(), random.nextLong(), random.nextLong()));
+  }
+
+  private byte[] toBytes(JsonNode node) {
+    try {
+      return mapper.writeValueAsBytes(node);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize " + node, e);
+    }
+  }
+
+  private static String etag(byte[] body) {
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    return String.format("\"%08x-%x\"", crc.getValue(), body.length);
+  }
+
+  private static void send(HttpExchange exchange, Reply reply) throws IOException {
+    if (reply.contentType != null) {
+      exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+    }
+    exchange.sendResponseHeaders(reply.status, reply.body.length == 0 ? -1 : reply.body.length);
+    if (reply.body.length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(reply.body);
+      }
+    }
+  }
+
+  /** Status, content type and body of a response. */
+  private static final class Reply {
+
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    private Reply(int status, String contentType, byte[] body) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+    }
+  }
+}
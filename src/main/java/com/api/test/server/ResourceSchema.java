@@ -0,0 +1,50 @@
+package com.api.test.server;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Describes one resource of the API: its name and its fields in the order the service writes them.
+ * The {@code id} field is always the first one.
+ */
+final class ResourceSchema {
+
+  static final String ID = "id";
+
+  static final ResourceSchema BOOK =
+      new ResourceSchema("Book")
+          .field(ID, FieldType.INT32)
+          .field("title", FieldType.STRING)
+          .field("description", FieldType.STRING)
+          .field("pageCount", FieldType.PAGE_COUNT)
+          .field("excerpt", FieldType.STRING)
+          .field("publishDate", FieldType.DATETIME);
+
+  static final ResourceSchema AUTHOR =
+      new ResourceSchema("Author")
+          .field(ID, FieldType.INT32)
+          .field("idBook", FieldType.INT32)
+          .field("firstName", FieldType.STRING)
+          .field("lastName", FieldType.STRING);
+
+  private final String name;
+  private final Map<String, FieldType> fields = new LinkedHashMap<>();
+
+  private ResourceSchema(String name) {
+    this.name = name;
+  }
+
+  private ResourceSchema field(String fieldName, FieldType type) {
+    fields.put(fieldName, type);
+    return this;
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Map<String, FieldType> getFields() {
+    return Collections.unmodifiableMap(fields);
+  }
+}
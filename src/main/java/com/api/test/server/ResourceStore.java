@@ -0,0 +1,73 @@
+package com.api.test.server;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent in-memory store of one resource. Records are kept already serialized, so reads only
+ * copy bytes, and sorted by id, so the collection endpoint lists them in id order like the real
+ * service. All operations are lock-free.
+ */
+final class ResourceStore {
+
+  private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+  private final ConcurrentNavigableMap<Integer, byte[]> records = new ConcurrentSkipListMap<>();
+  private final AtomicInteger lastId = new AtomicInteger();
+
+  byte[] get(int id) {
+    return records.get(id);
+  }
+
+  /** Returns every record as one JSON array. */
+  byte[] getAll() {
+    if (records.isEmpty()) {
+      return EMPTY_ARRAY;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(records.size() * 256);
+    out.write('[');
+    boolean first = true;
+    for (byte[] record : records.values()) {
+      if (!first) {
+        out.write(',');
+      }
+      out.write(record, 0, record.length);
+      first = false;
+    }
+    out.write(']');
+    return out.toByteArray();
+  }
+
+  boolean contains(int id) {
+    return records.containsKey(id);
+  }
+
+  /** Reserves a new id, higher than every id stored so far. */
+  int nextId() {
+    return lastId.incrementAndGet();
+  }
+
+  /** Stores the record unless the id is taken; returns {@code true} if it was stored. */
+  boolean create(int id, byte[] record) {
+    if (records.putIfAbsent(id, record) != null) {
+      return false;
+    }
+    lastId.accumulateAndGet(id, Math::max);
+    return true;
+  }
+
+  /** Replaces an existing record; returns {@code false} if there is no record with that id. */
+  boolean update(int id, byte[] record) {
+    return records.replace(id, record) != null;
+  }
+
+  boolean delete(int id) {
+    return records.remove(id) != null;
+  }
+
+  int size() {
+    return records.size();
+  }
+}
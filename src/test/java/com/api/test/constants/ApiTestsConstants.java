@@ -20,6 +20,10 @@ public final class ApiTestsConstants {
   public static final String ERROR_MESSAGE_COULD_NOT_CONVERT_DATE =
       "The JSON value could not be converted to System.DateTime";
 
+  // Latency budgets of the suite, see LatencySlo; generous enough for the remote service.
+  public static final long SLO_READ_MAX_MILLIS = 2000;
+  public static final long SLO_WRITE_P99_MILLIS = 3000;
+
   private ApiTestsConstants() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
   }
@@ -1,10 +1,24 @@
 package com.api.test.data_providers;
 
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.models.Author;
+import com.api.test.models.Book;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.DataProvider;
 
 public class DataProviderClass {
 
+  /** Seed of the generated cases; rerun with the seed of a failing case to reproduce it. */
+  private static final long DEFAULT_SEED = 20241001L;
+
+  private static final int DEFAULT_RANDOM_CASES = 500;
+
+  private static final String DEFAULT_STAGES = "boundary,random";
+
   @DataProvider(name = "pageCountProvider")
   public static Object[][] pageCountProvider() {
     return new Object[][] {
@@ -20,4 +34,58 @@ public class DataProviderClass {
       {null, 400, "Null value"}
     };
   }
+
+  /** Generated id, page count and publish date cases of a new book. */
+  @DataProvider(name = "newBookCaseProvider", parallel = true)
+  public static Iterator<Object[]> newBookCaseProvider() {
+    return configure(FieldCaseGenerator.<Book>builder())
+        .field("id", FieldKind.NEW_ID, Book::setId)
+        .field("pageCount", FieldKind.PAGE_COUNT, Book::setPageCount)
+        .field(
+            "publishDate", FieldKind.DATE_TIME, (book, date) -> book.setPublishDate((String) date))
+        .build()
+        .rows(stages());
+  }
+
+  /** Generated page count and publish date cases of an existing book. */
+  @DataProvider(name = "bookUpdateCaseProvider", parallel = true)
+  public static Iterator<Object[]> bookUpdateCaseProvider() {
+    return configure(FieldCaseGenerator.<Book>builder())
+        .field("pageCount", FieldKind.PAGE_COUNT, Book::setPageCount)
+        .field(
+            "publishDate", FieldKind.DATE_TIME, (book, date) -> book.setPublishDate((String) date))
+        .build()
+        .rows(stages());
+  }
+
+  /** Generated id and book id cases of a new author. */
+  @DataProvider(name = "newAuthorCaseProvider", parallel = true)
+  public static Iterator<Object[]> newAuthorCaseProvider() {
+    return configure(FieldCaseGenerator.<Author>builder())
+        .field("id", FieldKind.NEW_ID, Author::setId)
+        .field("idBook", FieldKind.INT32, Author::setIdBook)
+        .build()
+        .rows(stages());
+  }
+
+  /**
+   * Reads the stages to run from {@code dataprovider.stages}, e.g. {@code boundary,combination}.
+   */
+  private static Set<FieldCaseGenerator.Stage> stages() {
+    Set<FieldCaseGenerator.Stage> stages = EnumSet.noneOf(FieldCaseGenerator.Stage.class);
+    for (String stage :
+        ConfigurationLoader.getProperty("dataprovider.stages", DEFAULT_STAGES).split(",")) {
+      stages.add(FieldCaseGenerator.Stage.valueOf(stage.trim().toUpperCase(Locale.ROOT)));
+    }
+    return stages;
+  }
+
+  /** Applies {@code dataprovider.seed} and {@code dataprovider.randomCases}. */
+  private static <T> FieldCaseGenerator.Builder<T> configure(
+      FieldCaseGenerator.Builder<T> builder) {
+    return builder
+        .seed(ConfigurationLoader.getLongProperty("dataprovider.seed", DEFAULT_SEED))
+        .randomCases(
+            ConfigurationLoader.getIntProperty("dataprovider.randomCases", DEFAULT_RANDOM_CASES));
+  }
 }
@@ -0,0 +1,29 @@
+package com.api.test.data_providers;
+
+import lombok.Value;
+
+/**
+ * One value of one field of a generated case, e.g. {@code pageCount = 2147483647}, with whether the
+ * service accepts it and what it stands for.
+ */
+@Value
+public class FieldCase {
+  String field;
+  Object value;
+  boolean valid;
+  String description;
+
+  static FieldCase valid(String field, Object value, String description) {
+    return new FieldCase(field, value, true, description);
+  }
+
+  static FieldCase invalid(String field, Object value, String description) {
+    return new FieldCase(field, value, false, description);
+  }
+
+  @Override
+  public String toString() {
+    String shown = value instanceof String ? '"' + (String) value + '"' : String.valueOf(value);
+    return String.format("%s=%s (%s)", field, shown, description);
+  }
+}
@@ -0,0 +1,288 @@
+package com.api.test.data_providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * The {@code FieldCaseGenerator} class produces validation cases for the numeric, date and id
+ * fields of a payload as lazy TestNG data provider rows, each holding one {@link GeneratedCase}.
+ * There are three stages:
+ *
+ * <ul>
+ *   <li>{@link #boundary()} - every boundary value of every field, with the other fields at their
+ *       first, valid boundary value
+ *   <li>{@link #random()} - {@code randomCases} cases with a random value for every field, valid
+ *       seven times in ten
+ *   <li>{@link #combinations()} - every combination of the boundary values of all fields
+ * </ul>
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   FieldCaseGenerator<Book> generator =
+ *       FieldCaseGenerator.<Book>builder()
+ *           .field("pageCount", FieldKind.PAGE_COUNT, Book::setPageCount)
+ *           .field("publishDate", FieldKind.DATE_TIME, (book, date) -> book.setPublishDate((String) date))
+ *           .seed(42)
+ *           .randomCases(10_000)
+ *           .build();
+ *   Iterator<Object[]> rows = generator.all();
+ * }
+ * </pre>
+ *
+ * <p>Cases are built one row at a time as TestNG asks for them instead of up front like an {@code
+ * Object[][]}, and a row holds only its values. Every case is a function of its stage, index and
+ * the seed: the random case {@code n} draws from its own generator seeded with the seed and {@code
+ * n}, so a failing case is reproduced with {@link #randomCase(long)} whatever order the rows ran
+ * in.
+ *
+ * @param <T> the type of the payload the values are set on
+ */
+public final class FieldCaseGenerator<T> {
+
+  private final List<String> fields;
+  private final List<List<FieldCase>> boundaryCases;
+  private final Map<String, FieldKind> kinds;
+  private final Map<String, BiConsumer<T, Object>> setters;
+  private final long seed;
+  private final int randomCases;
+
+  private FieldCaseGenerator(Builder<T> builder) {
+    this.fields = Collections.unmodifiableList(new ArrayList<>(builder.kinds.keySet()));
+    this.kinds = Collections.unmodifiableMap(new LinkedHashMap<>(builder.kinds));
+    this.setters = Collections.unmodifiableMap(new LinkedHashMap<>(builder.setters));
+    this.seed = builder.seed;
+    this.randomCases = builder.randomCases;
+    List<List<FieldCase>> cases = new ArrayList<>();
+    for (String field : fields) {
+      cases.add(kinds.get(field).boundaryCases(field));
+    }
+    this.boundaryCases = Collections.unmodifiableList(cases);
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /** Returns the rows of the boundary stage. */
+  public Iterator<Object[]> boundary() {
+    long count = 1;
+    for (List<FieldCase> cases : boundaryCases) {
+      count += cases.size() - 1;
+    }
+    return new Rows(count, this::boundaryCase);
+  }
+
+  /** Returns the rows of the random stage. */
+  public Iterator<Object[]> random() {
+    return new Rows(randomCases, this::randomCase);
+  }
+
+  /** Returns the rows of the combination stage. */
+  public Iterator<Object[]> combinations() {
+    long count = 1;
+    for (List<FieldCase> cases : boundaryCases) {
+      count *= cases.size();
+    }
+    return new Rows(count, this::combination);
+  }
+
+  /** Returns the rows of the boundary, random and combination stages, in that order. */
+  public Iterator<Object[]> all() {
+    return rows(EnumSet.allOf(Stage.class));
+  }
+
+  /** Returns the rows of the given stages, in the order of {@link Stage}. */
+  public Iterator<Object[]> rows(Set<Stage> stages) {
+    List<Iterator<Object[]>> rows = new ArrayList<>();
+    for (Stage stage : EnumSet.copyOf(stages)) {
+      switch (stage) {
+        case BOUNDARY:
+          rows.add(boundary());
+          break;
+        case RANDOM:
+          rows.add(random());
+          break;
+        default:
+          rows.add(combinations());
+          break;
+      }
+    }
+    return new Chain(rows);
+  }
+
+  /**
+   * Builds one case of the random stage.
+   *
+   * @param index the index of the case, from {@code 0}
+   * @return the case, the same for the same seed and index
+   */
+  public GeneratedCase<T> randomCase(long index) {
+    // SplittableRandom mixes its seed, so neighbouring indexes draw unrelated values.
+    SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+    List<FieldCase> values = new ArrayList<>(fields.size());
+    for (String field : fields) {
+      values.add(kinds.get(field).randomCase(field, random));
+    }
+    return newCase(Stage.RANDOM, index, values);
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  private GeneratedCase<T> boundaryCase(long index) {
+    List<FieldCase> values = new ArrayList<>(fields.size());
+    for (List<FieldCase> cases : boundaryCases) {
+      values.add(cases.get(0));
+    }
+    // Case 0 has every field at its first value; each field then walks through the others.
+    long remaining = index;
+    for (int f = 0; f < fields.size() && remaining > 0; f++) {
+      List<FieldCase> cases = boundaryCases.get(f);
+      if (remaining < cases.size()) {
+        values.set(f, cases.get((int) remaining));
+        break;
+      }
+      remaining -= cases.size() - 1;
+    }
+    return newCase(Stage.BOUNDARY, index, values);
+  }
+
+  private GeneratedCase<T> combination(long index) {
+    FieldCase[] values = new FieldCase[fields.size()];
+    long remaining = index;
+    for (int f = fields.size() - 1; f >= 0; f--) {
+      List<FieldCase> cases = boundaryCases.get(f);
+      values[f] = cases.get((int) (remaining % cases.size()));
+      remaining /= cases.size();
+    }
+    return newCase(Stage.COMBINATION, index, Arrays.asList(values));
+  }
+
+  private GeneratedCase<T> newCase(Stage stage, long index, List<FieldCase> values) {
+    return new GeneratedCase<>(
+        stage.name().toLowerCase(Locale.ROOT),
+        seed,
+        index,
+        Collections.unmodifiableList(values),
+        kinds,
+        setters);
+  }
+
+  /** The stages of a generator, in the order {@link #rows(Set)} runs them. */
+  public enum Stage {
+    BOUNDARY,
+    RANDOM,
+    COMBINATION
+  }
+
+  /** The rows of one stage, built one at a time from their index. */
+  private final class Rows implements Iterator<Object[]> {
+
+    private final long count;
+    private final LongFunction<GeneratedCase<T>> factory;
+    private long next;
+
+    private Rows(long count, LongFunction<GeneratedCase<T>> factory) {
+      this.count = count;
+      this.factory = factory;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < count;
+    }
+
+    @Override
+    public Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return new Object[] {factory.apply(next++)};
+    }
+  }
+
+  /** The rows of several stages, one stage after the other. */
+  private static final class Chain implements Iterator<Object[]> {
+
+    private final Iterator<Iterator<Object[]>> stages;
+    private Iterator<Object[]> current = Collections.emptyIterator();
+
+    private Chain(List<Iterator<Object[]>> stages) {
+      this.stages = stages.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext() && stages.hasNext()) {
+        current = stages.next();
+      }
+      return current.hasNext();
+    }
+
+    @Override
+    public Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.next();
+    }
+  }
+
+  /** Builder of {@link FieldCaseGenerator}; fields keep the order of the payload. */
+  public static final class Builder<T> {
+
+    private final Map<String, FieldKind> kinds = new LinkedHashMap<>();
+    private final Map<String, BiConsumer<T, Object>> setters = new LinkedHashMap<>();
+    private long seed;
+    private int randomCases;
+
+    private Builder() {}
+
+    /**
+     * Adds a field. Fields must be added in the order the payload is serialized, so that the first
+     * invalid field is the one the service reports.
+     */
+    public Builder<T> field(String name, FieldKind kind, BiConsumer<T, Object> setter) {
+      if (kinds.containsKey(name)) {
+        throw new IllegalArgumentException("Duplicate field: " + name);
+      }
+      kinds.put(name, kind);
+      setters.put(name, setter);
+      return this;
+    }
+
+    public Builder<T> seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public Builder<T> randomCases(int randomCases) {
+      if (randomCases < 0) {
+        throw new IllegalArgumentException("Random cases must not be negative: " + randomCases);
+      }
+      this.randomCases = randomCases;
+      return this;
+    }
+
+    public FieldCaseGenerator<T> build() {
+      if (kinds.isEmpty()) {
+        throw new IllegalArgumentException("A generator needs at least one field");
+      }
+      return new FieldCaseGenerator<>(this);
+    }
+  }
+}
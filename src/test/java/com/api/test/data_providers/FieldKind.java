@@ -0,0 +1,263 @@
+package com.api.test.data_providers;
+
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_COULD_NOT_CONVERT_DATE;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The kinds of numeric, date and id fields of {@code Book} and {@code Author} that {@link
+ * FieldCaseGenerator} produces values for. Each kind knows its boundary values, how to draw a
+ * random value and whether the service binds a value, following the .NET binding of the real
+ * service: an {@code Int32} field takes any JSON integer of 32 bits and a {@code DateTime} field
+ * any ISO 8601 date-time, while a missing field ({@code null}, which the serializer leaves out)
+ * gets its default. Page counts are narrower, see {@link #PAGE_COUNT}.
+ */
+public enum FieldKind {
+  INT32(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32) {
+    @Override
+    List<FieldCase> boundaryCases(String field) {
+      return concat(
+          Arrays.asList(
+              FieldCase.valid(field, 0, "zero"),
+              FieldCase.valid(field, 1, "one"),
+              FieldCase.valid(field, -1, "minus one"),
+              FieldCase.valid(field, Integer.MAX_VALUE, "largest Int32"),
+              FieldCase.valid(field, Integer.MIN_VALUE, "smallest Int32"),
+              FieldCase.valid(field, null, "missing, defaults to 0")),
+          invalidIntCases(field));
+    }
+
+    @Override
+    FieldCase randomCase(String field, SplittableRandom random) {
+      if (random.nextInt(10) >= VALID_IN_TEN) {
+        return randomInvalidInt(field, random);
+      }
+      // Half of the valid values are small, like real page counts and ids.
+      int value = random.nextBoolean() ? random.nextInt(10_000) : random.nextInt();
+      return FieldCase.valid(field, value, "random Int32");
+    }
+  },
+
+  /**
+   * A page count, following the {@code pageCountProvider} rows: an {@code Int32} from {@code 0} to
+   * {@value #MAX_PAGE_COUNT}, or the largest {@code Int32}. A missing page count is invalid.
+   */
+  PAGE_COUNT(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32) {
+    @Override
+    List<FieldCase> boundaryCases(String field) {
+      return concat(
+          Arrays.asList(
+              FieldCase.valid(field, 0, "zero"),
+              FieldCase.valid(field, 1, "one"),
+              FieldCase.valid(field, MAX_PAGE_COUNT, "largest page count"),
+              FieldCase.valid(field, Integer.MAX_VALUE, "largest Int32"),
+              FieldCase.invalid(field, MAX_PAGE_COUNT + 1, "largest page count + 1"),
+              FieldCase.invalid(field, -1, "minus one"),
+              FieldCase.invalid(field, null, "missing")),
+          invalidIntCases(field));
+    }
+
+    @Override
+    FieldCase randomCase(String field, SplittableRandom random) {
+      if (random.nextInt(10) < VALID_IN_TEN) {
+        return FieldCase.valid(field, random.nextInt(MAX_PAGE_COUNT + 1), "random page count");
+      }
+      if (random.nextBoolean()) {
+        return randomInvalidInt(field, random);
+      }
+      int value =
+          random.nextBoolean()
+              ? random.nextInt(MAX_PAGE_COUNT + 1, Integer.MAX_VALUE)
+              : random.nextInt(Integer.MIN_VALUE, 0);
+      return FieldCase.invalid(field, value, "Int32 outside the page counts");
+    }
+  },
+
+  /**
+   * The id of a record that does not exist yet. Only {@code 0} and a missing id are valid, as the
+   * service assigns the id then; any other id may already be taken.
+   */
+  NEW_ID(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32) {
+    @Override
+    List<FieldCase> boundaryCases(String field) {
+      return concat(
+          Arrays.asList(
+              FieldCase.valid(field, 0, "zero, assigned by the service"),
+              FieldCase.valid(field, null, "missing, assigned by the service")),
+          invalidIntCases(field));
+    }
+
+    @Override
+    FieldCase randomCase(String field, SplittableRandom random) {
+      if (random.nextInt(10) >= VALID_IN_TEN) {
+        return randomInvalidInt(field, random);
+      }
+      return random.nextBoolean()
+          ? FieldCase.valid(field, 0, "zero, assigned by the service")
+          : FieldCase.valid(field, null, "missing, assigned by the service");
+    }
+
+    @Override
+    boolean isEchoed() {
+      return false;
+    }
+  },
+
+  DATE_TIME(ERROR_MESSAGE_COULD_NOT_CONVERT_DATE) {
+    @Override
+    List<FieldCase> boundaryCases(String field) {
+      return Arrays.asList(
+          FieldCase.valid(field, "0001-01-01T00:00:00", "smallest DateTime"),
+          FieldCase.valid(field, "9999-12-31T23:59:59", "largest DateTime"),
+          FieldCase.valid(field, "2024-02-29T12:30:00", "leap day"),
+          FieldCase.valid(field, "2024-06-01T10:15:30.1234567", "seven fraction digits"),
+          FieldCase.valid(field, "2024-06-01T10:15:30Z", "UTC"),
+          FieldCase.valid(field, "2024-06-01T10:15:30+14:00", "largest offset"),
+          FieldCase.valid(field, "2024-06-01T10:15:30-12:00", "smallest offset"),
+          FieldCase.valid(field, null, "missing, defaults to 0001-01-01"),
+          FieldCase.invalid(field, "2023-02-29T00:00:00", "leap day of a common year"),
+          FieldCase.invalid(field, "2024-04-31T00:00:00", "day after the end of the month"),
+          FieldCase.invalid(field, "2024-13-01T00:00:00", "month 13"),
+          FieldCase.invalid(field, "2024-06-01T10:60:00", "minute 60"),
+          FieldCase.invalid(field, "10000-01-01T00:00:00", "year 10000"),
+          FieldCase.invalid(field, "2024-06-01 10:15:30", "space instead of T"),
+          FieldCase.invalid(field, "Sat Jun 01 10:15:30 UTC 2024", "java.util.Date format"),
+          FieldCase.invalid(field, "", "empty"),
+          FieldCase.invalid(field, "yesterday", "not a date"));
+    }
+
+    @Override
+    FieldCase randomCase(String field, SplittableRandom random) {
+      // Years stay clear of 1 and 9999, where an offset could move the instant out of range.
+      int year = 1000 + random.nextInt(8000);
+      int month = 1 + random.nextInt(12);
+      int lengthOfMonth = YearMonth.of(year, month).lengthOfMonth();
+      int day = 1 + random.nextInt(lengthOfMonth);
+      int hour = random.nextInt(24);
+      int minute = random.nextInt(60);
+      String description = "random DateTime";
+      boolean valid = random.nextInt(10) < VALID_IN_TEN;
+      if (!valid) {
+        switch (random.nextInt(4)) {
+          case 0:
+            month = 13 + random.nextInt(87);
+            description = "month out of range";
+            break;
+          case 1:
+            day = lengthOfMonth + 1 + random.nextInt(99 - lengthOfMonth);
+            description = "day out of range";
+            break;
+          case 2:
+            hour = 25 + random.nextInt(75);
+            description = "hour out of range";
+            break;
+          default:
+            minute = 60 + random.nextInt(40);
+            description = "minute out of range";
+            break;
+        }
+      }
+      StringBuilder value =
+          new StringBuilder(
+              String.format(
+                  "%04d-%02d-%02dT%02d:%02d:%02d",
+                  year, month, day, hour, minute, random.nextInt(60)));
+      if (random.nextBoolean()) {
+        value.append('.');
+        for (int digits = 1 + random.nextInt(7); digits > 0; digits--) {
+          value.append((char) ('0' + random.nextInt(10)));
+        }
+      }
+      switch (random.nextInt(3)) {
+        case 0:
+          value.append('Z');
+          break;
+        case 1:
+          // Offsets range from -12:00 to +14:00.
+          int offsetMinutes = 15 * (random.nextInt(105) - 48);
+          value.append(
+              String.format(
+                  "%s%02d:%02d",
+                  offsetMinutes < 0 ? "-" : "+",
+                  Math.abs(offsetMinutes) / 60,
+                  Math.abs(offsetMinutes) % 60));
+          break;
+        default:
+          break;
+      }
+      return valid
+          ? FieldCase.valid(field, value.toString(), description)
+          : FieldCase.invalid(field, value.toString(), description);
+    }
+
+    @Override
+    boolean isEchoed() {
+      // The service writes date-times back in its own format.
+      return false;
+    }
+  };
+
+  private static final int VALID_IN_TEN = 7;
+  private static final int MAX_PAGE_COUNT = 9999;
+
+  private final String errorMessage;
+
+  FieldKind(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  /** Returns the boundary cases of the field, valid ones first. */
+  abstract List<FieldCase> boundaryCases(String field);
+
+  /** Draws a random case, valid seven times in ten. */
+  abstract FieldCase randomCase(String field, SplittableRandom random);
+
+  /** Returns whether a created or updated record carries a valid value back unchanged. */
+  boolean isEchoed() {
+    return true;
+  }
+
+  /** Returns the start of the message of the validation error of an invalid value. */
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  private static List<FieldCase> invalidIntCases(String field) {
+    return Arrays.asList(
+        FieldCase.invalid(field, (long) Integer.MAX_VALUE + 1, "largest Int32 + 1"),
+        FieldCase.invalid(field, (long) Integer.MIN_VALUE - 1, "smallest Int32 - 1"),
+        FieldCase.invalid(field, Long.MAX_VALUE, "largest Int64"),
+        FieldCase.invalid(field, 1.5, "fraction"),
+        FieldCase.invalid(field, -0.5, "negative fraction"),
+        FieldCase.invalid(field, "100", "number in a string"),
+        FieldCase.invalid(field, "two hundred", "text"),
+        FieldCase.invalid(field, true, "boolean"));
+  }
+
+  private static FieldCase randomInvalidInt(String field, SplittableRandom random) {
+    switch (random.nextInt(4)) {
+      case 0:
+        long overflow = (long) Integer.MAX_VALUE + 1 + random.nextInt(Integer.MAX_VALUE);
+        return FieldCase.invalid(
+            field, random.nextBoolean() ? overflow : -overflow - 1, "outside Int32");
+      case 1:
+        return FieldCase.invalid(field, random.nextInt(-1_000_000, 1_000_000) + 0.5, "fraction");
+      case 2:
+        return FieldCase.invalid(field, String.valueOf(random.nextInt()), "number in a string");
+      default:
+        return FieldCase.invalid(field, random.nextBoolean(), "boolean");
+    }
+  }
+
+  private static List<FieldCase> concat(List<FieldCase> first, List<FieldCase> second) {
+    List<FieldCase> all = new ArrayList<>(first);
+    all.addAll(second);
+    return Collections.unmodifiableList(all);
+  }
+}
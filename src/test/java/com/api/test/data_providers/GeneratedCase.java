@@ -0,0 +1,117 @@
+package com.api.test.data_providers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.apache.http.HttpStatus;
+
+/**
+ * A case produced by {@link FieldCaseGenerator}: one value for every field of the generator, the
+ * status the service is expected to answer with and the stage, seed and index that produce the same
+ * case again.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   Book book = bookRepository.getFakeNewBook();
+ *   testCase.applyTo(book);
+ *   Response response = bookRequests.createBook(book);
+ *   assertEquals(response.statusCode(), testCase.getExpectedStatus(), testCase.toString());
+ * }
+ * </pre>
+ *
+ * @param <T> the type of the payload the values are set on
+ */
+public final class GeneratedCase<T> {
+
+  private final String stage;
+  private final long seed;
+  private final long index;
+  private final List<FieldCase> values;
+  private final Map<String, FieldKind> kinds;
+  private final Map<String, BiConsumer<T, Object>> setters;
+
+  GeneratedCase(
+      String stage,
+      long seed,
+      long index,
+      List<FieldCase> values,
+      Map<String, FieldKind> kinds,
+      Map<String, BiConsumer<T, Object>> setters) {
+    this.stage = stage;
+    this.seed = seed;
+    this.index = index;
+    this.values = values;
+    this.kinds = kinds;
+    this.setters = setters;
+  }
+
+  /** Sets every value of the case on the payload. */
+  public void applyTo(T payload) {
+    for (FieldCase value : values) {
+      setters.get(value.getField()).accept(payload, value.getValue());
+    }
+  }
+
+  /** Returns {@code 200} if the service accepts every value, otherwise {@code 400}. */
+  public int getExpectedStatus() {
+    return getFirstInvalid() == null ? HttpStatus.SC_OK : HttpStatus.SC_BAD_REQUEST;
+  }
+
+  /**
+   * Returns the first invalid value in payload order, which the service reports even when it stops
+   * at the first error, or {@code null} if every value is valid.
+   */
+  public FieldCase getFirstInvalid() {
+    for (FieldCase value : values) {
+      if (!value.isValid()) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /** Returns the error key the service reports for the first invalid value, e.g. {@code $.id}. */
+  public String getErrorKey() {
+    FieldCase invalid = getFirstInvalid();
+    return invalid == null ? null : "$." + invalid.getField();
+  }
+
+  /** Returns the start of the error message the service reports for the first invalid value. */
+  public String getErrorMessage() {
+    FieldCase invalid = getFirstInvalid();
+    return invalid == null ? null : kinds.get(invalid.getField()).getErrorMessage();
+  }
+
+  /**
+   * Checks that a created or updated record carries the values of the case back, except for ids the
+   * service assigns and dates it reformats.
+   *
+   * @param record the parsed record of a {@code 200} response
+   * @return a description of the first value that differs, or {@code null} if none does
+   */
+  public String checkEchoed(JsonNode record) {
+    for (FieldCase value : values) {
+      if (!kinds.get(value.getField()).isEchoed()) {
+        continue;
+      }
+      int expected = value.getValue() == null ? 0 : (Integer) value.getValue();
+      JsonNode actual = record.get(value.getField());
+      if (actual == null || !actual.isInt() || actual.intValue() != expected) {
+        return String.format("%s expected [%d] but found [%s]", value.getField(), expected, actual);
+      }
+    }
+    return null;
+  }
+
+  public List<FieldCase> getValues() {
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s #%d (seed %d): %s -> %d", stage, index, seed, values, getExpectedStatus());
+  }
+}
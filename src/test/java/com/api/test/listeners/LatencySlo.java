@@ -0,0 +1,55 @@
+package com.api.test.listeners;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the latency budget of a test method, enforced by {@link LatencySloListener}. The API
+ * calls made by the method on its own thread are timed, from the moment the request is sent until
+ * the response has arrived, retries included.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   @LatencySlo(maxMillis = 500)
+ *   @Test
+ *   public void testGetBookById() { ... }
+ *
+ *   @LatencySlo(percentile = 99, percentileMillis = 300, measure = LatencySlo.Measure.REQUEST)
+ *   @Test(invocationCount = 50)
+ *   public void testGetBookByIdRepeatedly() { ... }
+ * }
+ * </pre>
+ *
+ * <p>{@code maxMillis} is checked after every invocation. The percentile is checked once, after the
+ * last invocation of the method, over the samples of all its invocations, so it is meant for
+ * methods with an {@code invocationCount} or a data provider. A bound of {@code 0} is not checked.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LatencySlo {
+
+  /** Largest latency allowed for any sample, in milliseconds. */
+  long maxMillis() default 0;
+
+  /** The percentile checked against {@link #percentileMillis()}, e.g. {@code 99}. */
+  double percentile() default 99;
+
+  /** Largest latency allowed at {@link #percentile()} over all invocations, in milliseconds. */
+  long percentileMillis() default 0;
+
+  /** What one latency sample is. */
+  Measure measure() default Measure.INVOCATION;
+
+  /** The unit of a latency sample. */
+  enum Measure {
+    /** The summed latency of all API calls of one invocation. */
+    INVOCATION,
+    /** The latency of each single API call. */
+    REQUEST
+  }
+}
@@ -0,0 +1,193 @@
+package com.api.test.listeners;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.LatencyCapture;
+import com.api.test.metrics.LatencyRecorder;
+import io.qameta.allure.Allure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.HdrHistogram.Histogram;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.TestRunner;
+
+/**
+ * The {@code LatencySloListener} class enforces the {@link LatencySlo} budgets of test methods. It
+ * captures the API calls of every invocation with a {@link LatencyCapture} and fails the invocation
+ * when a budget is breached, unless it already failed functionally. The breach is attached to the
+ * test in Allure as "Latency SLO breach", and the percentile check as "Latency SLO". When the
+ * percentile can only be checked after the test has finished, a breach fails the last result of the
+ * method instead.
+ *
+ * <p>The listener is registered in {@code testng.xml}. Budgets can be switched off for a noisy
+ * environment with {@code slo.enabled=false}; latencies are then still attached but not asserted.
+ */
+public class LatencySloListener implements IInvokedMethodListener, ITestListener {
+
+  private static final String CAPTURE_ATTRIBUTE = LatencyCapture.class.getName();
+
+  private final boolean enforced =
+      Boolean.parseBoolean(ConfigurationLoader.getProperty("slo.enabled", "true"));
+  private final Map<ITestNGMethod, Samples> samples = new ConcurrentHashMap<>();
+
+  @Override
+  public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+    if (method.isTestMethod() && sloOf(method.getTestMethod()) != null) {
+      result.setAttribute(CAPTURE_ATTRIBUTE, LatencyCapture.begin());
+    }
+  }
+
+  @Override
+  public void afterInvocation(IInvokedMethod method, ITestResult result) {
+    Object attribute = result.removeAttribute(CAPTURE_ATTRIBUTE);
+    if (!(attribute instanceof LatencyCapture)) {
+      return;
+    }
+    LatencyCapture capture = (LatencyCapture) attribute;
+    capture.close();
+    ITestNGMethod testMethod = method.getTestMethod();
+    LatencySlo slo = sloOf(testMethod);
+    Samples methodSamples = samples.computeIfAbsent(testMethod, m -> new Samples());
+    methodSamples.lastResult = result;
+
+    List<String> breaches = new ArrayList<>();
+    long[] latencies =
+        slo.measure() == LatencySlo.Measure.REQUEST
+            ? capture.getNanos()
+            : capture.getCount() > 0 ? new long[] {capture.getTotalNanos()} : new long[0];
+    for (long latency : latencies) {
+      methodSamples.recorder.record(latency);
+      if (slo.maxMillis() > 0 && latency > TimeUnit.MILLISECONDS.toNanos(slo.maxMillis())) {
+        breaches.add(
+            String.format(
+                "%s latency %.1f ms exceeds max %d ms (slowest call %s)",
+                slo.measure(), latency / 1e6, slo.maxMillis(), capture.getSlowestKey()));
+      }
+    }
+    int invocations = methodSamples.invocations.incrementAndGet();
+    if (isLastInvocation(testMethod, result, invocations)
+        && methodSamples.checked.compareAndSet(false, true)) {
+      percentileSummary(slo, methodSamples)
+          .ifPresent(
+              summary -> {
+                Allure.addAttachment("Latency SLO", summary);
+                if (isPercentileBreached(slo, methodSamples)) {
+                  breaches.add(summary);
+                }
+              });
+    }
+    if (!breaches.isEmpty()) {
+      String message = "Latency SLO breached: " + String.join("; ", breaches);
+      Allure.addAttachment("Latency SLO breach", message);
+      if (enforced && result.getStatus() != ITestResult.FAILURE) {
+        result.setStatus(ITestResult.FAILURE);
+        result.setThrowable(new AssertionError(message));
+      }
+    }
+  }
+
+  /**
+   * Checks the percentile of methods whose last invocation never ran, e.g. because it skipped. A
+   * breach fails the last result of the method, which has been reported already, so the failure is
+   * reported to the other test listeners again.
+   */
+  @Override
+  public void onFinish(ITestContext context) {
+    // Tests of the suite run in parallel, so only the methods of the finished test are complete.
+    for (ITestNGMethod method : context.getAllTestMethods()) {
+      Samples methodSamples = samples.get(method);
+      if (methodSamples == null || !methodSamples.checked.compareAndSet(false, true)) {
+        continue;
+      }
+      LatencySlo slo = sloOf(method);
+      ITestResult result = methodSamples.lastResult;
+      if (enforced
+          && result != null
+          && result.getStatus() != ITestResult.FAILURE
+          && isPercentileBreached(slo, methodSamples)) {
+        String message =
+            "Latency SLO breached: " + percentileSummary(slo, methodSamples).orElseThrow();
+        result.setStatus(ITestResult.FAILURE);
+        result.setThrowable(new AssertionError(message));
+        context.getPassedTests().removeResult(result);
+        context.getSkippedTests().removeResult(result);
+        context.getFailedTests().addResult(result);
+        if (context instanceof TestRunner) {
+          for (ITestListener listener : ((TestRunner) context).getTestListeners()) {
+            if (listener != this) {
+              listener.onTestFailure(result);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /** Returns the percentile of the samples against its budget, or empty if it is not checked. */
+  private static Optional<String> percentileSummary(LatencySlo slo, Samples methodSamples) {
+    Histogram histogram = methodSamples.recorder.totalHistogram();
+    if (slo.percentileMillis() <= 0 || histogram.getTotalCount() == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        String.format(
+            "p%s of %d %s samples is %.1f ms, budget %d ms",
+            formatPercentile(slo.percentile()),
+            histogram.getTotalCount(),
+            slo.measure(),
+            percentileMillis(slo, histogram),
+            slo.percentileMillis()));
+  }
+
+  private static boolean isPercentileBreached(LatencySlo slo, Samples methodSamples) {
+    Histogram histogram = methodSamples.recorder.totalHistogram();
+    return slo.percentileMillis() > 0
+        && histogram.getTotalCount() > 0
+        && percentileMillis(slo, histogram) > slo.percentileMillis();
+  }
+
+  private static double percentileMillis(LatencySlo slo, Histogram histogram) {
+    return histogram.getValueAtPercentile(slo.percentile()) / 1000.0;
+  }
+
+  private static String formatPercentile(double percentile) {
+    return percentile == Math.rint(percentile)
+        ? String.valueOf((long) percentile)
+        : String.valueOf(percentile);
+  }
+
+  /**
+   * Returns {@code true} after the last invocation of the method. TestNG reads data provider rows
+   * lazily, so the number of rows is only known once {@code hasMoreInvocation()} turns false.
+   */
+  private static boolean isLastInvocation(
+      ITestNGMethod method, ITestResult result, int invocations) {
+    if (result.getParameters().length > 0) {
+      return !method.hasMoreInvocation();
+    }
+    return invocations >= method.getInvocationCount();
+  }
+
+  private static LatencySlo sloOf(ITestNGMethod method) {
+    return method.getConstructorOrMethod().getMethod().getAnnotation(LatencySlo.class);
+  }
+
+  /** The latency samples of all invocations of one test method. */
+  private static final class Samples {
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicBoolean checked = new AtomicBoolean();
+    private volatile ITestResult lastResult;
+  }
+}
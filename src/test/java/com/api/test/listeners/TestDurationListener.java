@@ -0,0 +1,91 @@
+package com.api.test.listeners;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.sharding.ShardResults;
+import com.api.test.sharding.TestDurations;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * The {@code TestDurationListener} class records how long every test method took, from the start of
+ * its first invocation to the end of its last one, and writes the durations to {@code
+ * metrics.durations.output} at the end of the suite. The file is the duration history that {@code
+ * ShardPlanner} balances the shards of a forked run by; in a sharded run every fork publishes its
+ * share through {@link ShardResults} instead.
+ *
+ * <p>The wall-clock span is what a method adds to the run: the rows of a parallel data provider run
+ * side by side, so the sum of their times would count the same seconds many times over.
+ *
+ * <p>The listener is registered in {@code testng.xml}.
+ */
+public class TestDurationListener implements ITestListener, ISuiteListener {
+
+  private final Map<String, Span> spans = new ConcurrentHashMap<>();
+
+  @Override
+  public void onTestSuccess(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onTestFailure(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onTestSkipped(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+    record(result);
+  }
+
+  @Override
+  public void onFinish(ISuite suite) {
+    Map<String, Long> millis = new TreeMap<>();
+    spans.forEach((method, span) -> millis.put(method, span.millis()));
+    if (millis.isEmpty()) {
+      return;
+    }
+    String shard = ShardResults.shardOf(suite);
+    if (shard != null) {
+      ShardResults.publishDurations(shard, millis);
+    } else {
+      TestDurations.write(
+          Paths.get(
+              ConfigurationLoader.getProperty(
+                  "metrics.durations.output", "target/latency/test-durations.properties")),
+          millis);
+    }
+  }
+
+  private void record(ITestResult result) {
+    spans
+        .computeIfAbsent(result.getMethod().getQualifiedName(), m -> new Span())
+        .add(result.getStartMillis(), result.getEndMillis());
+  }
+
+  /** The earliest start and the latest end of the invocations of one method. */
+  private static final class Span {
+
+    private long start = Long.MAX_VALUE;
+    private long end = Long.MIN_VALUE;
+
+    synchronized void add(long invocationStart, long invocationEnd) {
+      start = Math.min(start, invocationStart);
+      end = Math.max(end, invocationEnd);
+    }
+
+    synchronized long millis() {
+      return Math.max(0, end - start);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.api.test.replay;
+
+import static org.testng.Assert.assertEquals;
+
+import com.api.test.json.JsonSerializer;
+import com.api.test.models.Book;
+import com.api.test.repositories.BookRepository;
+import com.api.test.server.LocalApiServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Records a conversation with a {@link LocalApiServer} and replays it with a {@link ReplayServer}:
+ * a book is created, read, updated, read again, deleted and read once more, so the same request is
+ * answered differently over time, and a replay must give every answer in the order it was recorded.
+ *
+ * <p>The fake payloads are drawn once and sent again on replay, as a seeded suite would send them,
+ * instead of setting {@code payload.seed}, which would reseed the API tests running alongside.
+ */
+public class TrafficReplayTest {
+
+  private static final String BOOKS = "api/v1/Books";
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private Book created;
+  private Book update;
+  private Book invalid;
+  private Path recording;
+  private List<String> recorded;
+
+  @BeforeClass
+  public void record() throws Exception {
+    BookRepository books = new BookRepository();
+    created = books.getFakeNewBook();
+    update = books.getFakeNewBook();
+    invalid = books.getFakeNewBook();
+    invalid.setPageCount("two hundred");
+    recording = Files.createTempDirectory("recording");
+    LocalApiServer server = LocalApiServer.start(0);
+    try (TrafficLogWriter writer = TrafficLogWriter.open(recording)) {
+      recorded = conversation(server.getBaseUrl(), writer);
+    } finally {
+      server.stop();
+    }
+  }
+
+  @AfterClass(alwaysRun = true)
+  public void deleteRecording() throws IOException {
+    try (Stream<Path> paths = Files.walk(recording)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Test(description = "A replay answers every request as it was answered when it was recorded")
+  public void testReplayReproducesRecording() throws Exception {
+    ReplayServer server = ReplayServer.start(recording, 0);
+    try {
+      assertEquals(conversation(server.getBaseUrl(), null), recorded);
+      assertEquals(server.getStats().getExact(), recorded.size());
+      assertEquals(server.getStats().getByPath(), 0);
+      assertEquals(server.getStats().getMissed(), 0);
+
+      // Past the last recorded answer of a request, the last one is repeated.
+      String id = idOf(recorded.get(0));
+      assertEquals(send(server.getBaseUrl(), "GET", BOOKS + "/" + id, null, null), recorded.get(5));
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test(description = "A recording without its index is replayed the same after a scan of the log")
+  public void testReplayWithoutIndexReproducesRecording() throws Exception {
+    Path copy = Files.createTempDirectory("recording");
+    Files.copy(
+        recording.resolve(TrafficLogFormat.LOG_FILE), copy.resolve(TrafficLogFormat.LOG_FILE));
+    ReplayServer server = ReplayServer.start(copy, 0);
+    try {
+      assertEquals(server.getLog().getRecordCount(), recorded.size());
+      assertEquals(conversation(server.getBaseUrl(), null), recorded);
+
+      server.getLog().rewind();
+      assertEquals(conversation(server.getBaseUrl(), null), recorded);
+    } finally {
+      server.stop();
+      Files.delete(copy.resolve(TrafficLogFormat.LOG_FILE));
+      Files.delete(copy);
+    }
+  }
+
+  /**
+   * Creates, reads, updates, deletes and rereads a book, and sends one invalid book, returning
+   * every answer as its status and body. The same payloads are sent on every call.
+   */
+  private List<String> conversation(String baseUrl, TrafficLogWriter writer) throws Exception {
+    List<String> answers = new ArrayList<>();
+    answers.add(send(baseUrl, "POST", BOOKS, created, writer));
+    String path = BOOKS + "/" + idOf(answers.get(0));
+    answers.add(send(baseUrl, "GET", path, null, writer));
+    update.setId(Integer.parseInt(idOf(answers.get(0))));
+    answers.add(send(baseUrl, "PUT", path, update, writer));
+    answers.add(send(baseUrl, "GET", path, null, writer));
+    answers.add(send(baseUrl, "DELETE", path, null, writer));
+    answers.add(send(baseUrl, "GET", path, null, writer));
+    answers.add(send(baseUrl, "POST", BOOKS, invalid, writer));
+    return answers;
+  }
+
+  /** Sends a request and returns its status and body, recording both if a writer is given. */
+  private String send(
+      String baseUrl, String method, String path, Book book, TrafficLogWriter writer)
+      throws Exception {
+    byte[] body = book == null ? new byte[0] : JsonSerializer.toBytes(book);
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .method(
+                method,
+                book == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body));
+    if (book != null) {
+      request.header("Content-Type", "application/json");
+    }
+    HttpResponse<byte[]> response =
+        client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    if (writer != null) {
+      writer.append(
+          new TrafficRecord(
+              method,
+              "/" + path,
+              TrafficRecord.hash(body),
+              response.statusCode(),
+              response.headers().firstValue("Content-Type").orElse(null),
+              response.headers().firstValue("ETag").orElse(null),
+              response.body()));
+    }
+    return response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8);
+  }
+
+  private static String idOf(String answer) {
+    String body = answer.substring(answer.indexOf(' ') + 1);
+    return JsonSerializer.fromBytes(body.getBytes(StandardCharsets.UTF_8), JsonNode.class)
+        .get("id")
+        .asText();
+  }
+}
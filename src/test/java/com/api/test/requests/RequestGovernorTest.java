@@ -0,0 +1,101 @@
+package com.api.test.requests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.api.test.metrics.LatencyRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that {@link RequestGovernor} holds requests back and records how long they waited. The
+ * rate limiter waits on a manual clock, so the recorded queue times are exact.
+ */
+public class RequestGovernorTest {
+
+  private static final String KEY = "GET /api/v1/Books/{id}";
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test(description = "Time spent waiting for a token is recorded as queue time of the request")
+  public void testRecordsQueueTime() {
+    LatencyRegistry queueTimes = new LatencyRegistry();
+    RequestGovernor governor = rateLimited(10, 2, queueTimes);
+    for (int i = 0; i < 4; i++) {
+      governor.acquire(KEY);
+      governor.release();
+    }
+
+    Histogram histogram = queueTimes.recorder(KEY).totalHistogram();
+    assertEquals(histogram.getTotalCount(), 4);
+    // Two requests pass in the burst; sent back to back, the others wait one interval each.
+    // The histogram keeps three significant digits.
+    assertEquals(histogram.getMaxValue(), TimeUnit.MILLISECONDS.toMicros(100), 100.0);
+    assertEquals(histogram.getMean(), TimeUnit.MILLISECONDS.toMicros(50), 100.0);
+    GovernorStats stats = governor.getStats();
+    assertEquals(stats.getAdmitted(), 4);
+    assertEquals(stats.getDelayed(), 2);
+    assertEquals(stats.getTotalWaitMillis(), 200.0, 0.01);
+    assertEquals(stats.getInFlight(), 0);
+  }
+
+  @Test(description = "Requests at the rate pass without waiting")
+  public void testSteadyRateIsNotDelayed() {
+    LatencyRegistry queueTimes = new LatencyRegistry();
+    RequestGovernor governor = rateLimited(20, 1, queueTimes);
+    for (int i = 0; i < 50; i++) {
+      governor.acquire(KEY);
+      governor.release();
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+    assertEquals(governor.getStats().getDelayed(), 0);
+    assertEquals(queueTimes.recorder(KEY).totalHistogram().getMaxValue(), 0);
+  }
+
+  @Test(description = "A request waits for a free slot while maxConcurrent are in flight")
+  public void testConcurrencyLimit() throws Exception {
+    RequestGovernor governor = new RequestGovernor(0, 1, 1, new LatencyRegistry());
+    governor.acquire(KEY);
+    CompletableFuture<Void> second = CompletableFuture.runAsync(() -> governor.acquire(KEY));
+    // The second request can only be admitted once the first releases its slot.
+    assertFalse(waitFor(second, 200));
+    assertEquals(governor.getStats().getInFlight(), 1);
+
+    governor.release();
+    assertTrue(waitFor(second, 10_000));
+    assertEquals(governor.getStats().getDelayed(), 1);
+    governor.release();
+  }
+
+  @Test(description = "A governor without a rate and slot limit is disabled")
+  public void testDisabledWithoutLimits() {
+    assertFalse(new RequestGovernor(0, 10, 0, new LatencyRegistry()).isEnabled());
+  }
+
+  private RequestGovernor rateLimited(double rate, int burst, LatencyRegistry queueTimes) {
+    return new RequestGovernor(
+        rate,
+        burst,
+        0,
+        queueTimes,
+        clock::get,
+        nanos -> {
+          clock.addAndGet(nanos);
+          return true;
+        });
+  }
+
+  private static boolean waitFor(CompletableFuture<Void> future, long millis) throws Exception {
+    try {
+      future.get(millis, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    }
+  }
+}
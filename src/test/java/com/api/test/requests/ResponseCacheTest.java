@@ -0,0 +1,188 @@
+package com.api.test.requests;
+
+import static org.testng.Assert.assertEquals;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Drives {@link ResponseCache} directly with stub request specifications, a fake server and a
+ * manual clock, so expiry and revalidation do not depend on timing.
+ */
+public class ResponseCacheTest {
+
+  private static final String BOOKS = "http://localhost/api/v1/Books";
+  private static final String BOOK = BOOKS + "/5";
+  private static final long TTL_MILLIS = 1_000;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<String> sent = new ArrayList<>();
+  private ResponseCache cache;
+
+  @BeforeMethod
+  public void createCache() {
+    clock.set(0);
+    sent.clear();
+    cache = new ResponseCache(16, TTL_MILLIS, clock::get);
+  }
+
+  @Test(description = "A fresh entry is served without contacting the server until it expires")
+  public void testEntryExpiresAfterTtl() {
+    Function<Request, Response> server = request -> ok("book", null);
+    send("GET", BOOK, server);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MILLIS - 1));
+    assertEquals(send("GET", BOOK, server).asString(), "book");
+    assertEquals(sent.size(), 1, "The fresh entry should be served from the cache");
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    send("GET", BOOK, server);
+    assertEquals(sent.size(), 2, "The expired entry should be fetched again");
+    assertEquals(cache.getStats().getHits(), 1);
+    assertEquals(cache.getStats().getMisses(), 2);
+  }
+
+  @Test(description = "An expired entry with an ETag is revalidated and served again on 304")
+  public void testExpiredEntryIsRevalidatedWithEtag() {
+    List<String> conditions = new ArrayList<>();
+    Function<Request, Response> server =
+        request -> {
+          conditions.add(request.ifNoneMatch);
+          return "\"v1\"".equals(request.ifNoneMatch) ? notModified() : ok("book", "\"v1\"");
+        };
+    send("GET", BOOK, server);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MILLIS));
+
+    Response revalidated = send("GET", BOOK, server);
+    assertEquals(revalidated.statusCode(), 200);
+    assertEquals(revalidated.asString(), "book");
+    assertEquals(conditions, List.of("", "\"v1\""));
+    assertEquals(cache.getStats().getRevalidated(), 1);
+
+    send("GET", BOOK, server);
+    assertEquals(sent.size(), 2, "The revalidated entry should be fresh again");
+  }
+
+  @Test(description = "A write drops the entry of its URI and of the collection above it")
+  public void testWriteInvalidatesUriAndParent() {
+    Function<Request, Response> server = request -> ok("body", null);
+    send("GET", BOOKS, server);
+    send("GET", BOOK, server);
+    send("GET", BOOKS + "/6", server);
+    send("PUT", BOOK, server);
+    assertEquals(cache.getStats().getInvalidations(), 2);
+
+    sent.clear();
+    send("GET", BOOKS, server);
+    send("GET", BOOK, server);
+    send("GET", BOOKS + "/6", server);
+    assertEquals(sent, List.of("GET " + BOOKS, "GET " + BOOK), "Only the sibling should be cached");
+  }
+
+  @Test(description = "A GET in flight while a write invalidates the cache is not stored")
+  public void testResponseReadBeforeWriteIsNotCached() {
+    Function<Request, Response> server = request -> ok("body", null);
+    send(
+        "GET",
+        BOOK,
+        request -> {
+          // The write completes while the GET is waiting for its response.
+          send("DELETE", BOOK, server);
+          return ok("stale", null);
+        });
+
+    Response next = send("GET", BOOK, server);
+    assertEquals(next.asString(), "body", "The stale response should not have been cached");
+    assertEquals(cache.getStats().getHits(), 0);
+  }
+
+  private Response send(String method, String uri, Function<Request, Response> server) {
+    Request request = new Request();
+    FilterableRequestSpecification requestSpec =
+        proxy(
+            FilterableRequestSpecification.class,
+            (self, name, args) -> {
+              switch (name) {
+                case "getURI":
+                  return uri;
+                case "getMethod":
+                  return method;
+                case "header":
+                  if ("If-None-Match".equals(args[0])) {
+                    request.ifNoneMatch = String.valueOf(args[1]);
+                  }
+                  return self;
+                default:
+                  throw new UnsupportedOperationException(name);
+              }
+            });
+    FilterContext ctx =
+        proxy(
+            FilterContext.class,
+            (self, name, args) -> {
+              if (!"next".equals(name)) {
+                throw new UnsupportedOperationException(name);
+              }
+              sent.add(method + ' ' + uri);
+              return server.apply(request);
+            });
+    FilterableResponseSpecification responseSpec =
+        proxy(
+            FilterableResponseSpecification.class,
+            (self, name, args) -> {
+              throw new UnsupportedOperationException(name);
+            });
+    return cache.filter(requestSpec, responseSpec, ctx);
+  }
+
+  private static Response ok(String body, String etag) {
+    ResponseBuilder builder =
+        new ResponseBuilder()
+            .setStatusCode(200)
+            .setStatusLine("HTTP/1.1 200 OK")
+            .setContentType("text/plain")
+            .setBody(body);
+    if (etag != null) {
+      builder.setHeaders(new Headers(new Header("ETag", etag)));
+    }
+    return builder.build();
+  }
+
+  private static Response notModified() {
+    return new ResponseBuilder()
+        .setStatusCode(304)
+        .setStatusLine("HTTP/1.1 304 Not Modified")
+        .setBody("")
+        .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, Handler handler) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (self, method, args) -> handler.handle(self, method.getName(), args));
+  }
+
+  private interface Handler {
+    Object handle(Object self, String method, Object[] args);
+  }
+
+  /** What the fake server sees of a request. */
+  private static final class Request {
+    private String ifNoneMatch = "";
+  }
+}
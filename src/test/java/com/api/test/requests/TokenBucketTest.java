@@ -0,0 +1,64 @@
+package com.api.test.requests;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.Test;
+
+/** Checks {@link TokenBucket} against a manual clock: 10 tokens per second, bursts of 3. */
+public class TokenBucketTest {
+
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(5));
+
+  @Test(description = "A full bucket lets a burst through, then paces one token per interval")
+  public void testBurstThenPaced() {
+    TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), INTERVAL);
+    assertEquals(bucket.reserve(), 2 * INTERVAL);
+  }
+
+  @Test(description = "Requests at the configured rate never wait")
+  public void testSteadyRateDoesNotWait() {
+    TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(bucket.reserve(), 0, "request " + i);
+      clock.addAndGet(INTERVAL);
+    }
+  }
+
+  @Test(description = "Requests faster than the rate are spread out at the rate")
+  public void testFasterThanRateIsPaced() {
+    TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+    // Every 50 ms, twice the rate: each request waits 50 ms longer than the one before.
+    for (int i = 0; i < 20; i++) {
+      assertEquals(bucket.reserve(), i * INTERVAL / 2, "request " + i);
+      clock.addAndGet(INTERVAL / 2);
+    }
+  }
+
+  @Test(description = "A quiet period refills the bucket up to the burst, not beyond")
+  public void testIdleRefillsUpToBurst() {
+    TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+    for (int i = 0; i < 5; i++) {
+      bucket.reserve();
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), 0);
+    assertEquals(bucket.reserve(), INTERVAL);
+  }
+
+  @Test(description = "The rate must be positive and the burst at least 1")
+  public void testRejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, clock::get));
+    assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0, clock::get));
+  }
+}
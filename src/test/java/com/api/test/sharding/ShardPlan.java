@@ -0,0 +1,114 @@
+package com.api.test.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code ShardPlan} class splits test methods into shards of about the same total duration.
+ *
+ * <p>Methods are placed longest first, each on the shard with the least estimated time so far (the
+ * longest-processing-time rule), which keeps every shard within 4/3 of the best possible split.
+ * Methods without a recorded duration are estimated at the mean of the recorded ones. Ties are
+ * broken by method name and shard number, so the same methods and durations always give the same
+ * plan, on every machine and in every fork.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ShardPlan plan = ShardPlan.balance(methods, TestDurations.read(history), 4);
+ *   List<String> firstShard = plan.getMethods(0);
+ * }
+ * </pre>
+ */
+public final class ShardPlan {
+
+  /** Estimate of every method when no durations are recorded at all: balance by count. */
+  private static final long DEFAULT_ESTIMATE_MILLIS = 1;
+
+  private final List<List<String>> shards;
+  private final long[] estimatedMillis;
+
+  private ShardPlan(List<List<String>> shards, long[] estimatedMillis) {
+    this.shards = shards;
+    this.estimatedMillis = estimatedMillis;
+  }
+
+  /**
+   * Splits methods into shards balanced by their recorded durations.
+   *
+   * @param methods the qualified names of the methods to split
+   * @param durations the recorded milliseconds by qualified method name, see {@link TestDurations}
+   * @param shardCount the number of shards
+   * @return the plan
+   * @throws IllegalArgumentException if {@code shardCount} is not between 1 and the number of
+   *     methods
+   */
+  public static ShardPlan balance(
+      Collection<String> methods, Map<String, Long> durations, int shardCount) {
+    if (shardCount < 1 || shardCount > methods.size()) {
+      throw new IllegalArgumentException(
+          "Cannot split " + methods.size() + " test methods into " + shardCount + " shards");
+    }
+    long estimate =
+        Math.max(
+            DEFAULT_ESTIMATE_MILLIS,
+            Math.round(
+                methods.stream()
+                    .filter(durations::containsKey)
+                    .mapToLong(durations::get)
+                    .average()
+                    .orElse(DEFAULT_ESTIMATE_MILLIS)));
+    List<String> longestFirst = new ArrayList<>(methods);
+    longestFirst.sort(
+        Comparator.comparingLong((String method) -> durations.getOrDefault(method, estimate))
+            .reversed()
+            .thenComparing(Comparator.naturalOrder()));
+
+    List<List<String>> shards = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      shards.add(new ArrayList<>());
+    }
+    long[] estimatedMillis = new long[shardCount];
+    for (String method : longestFirst) {
+      int least = 0;
+      for (int i = 1; i < shardCount; i++) {
+        if (estimatedMillis[i] < estimatedMillis[least]) {
+          least = i;
+        }
+      }
+      shards.get(least).add(method);
+      estimatedMillis[least] += durations.getOrDefault(method, estimate);
+    }
+    shards.forEach(Collections::sort);
+    return new ShardPlan(shards, estimatedMillis);
+  }
+
+  public int getShardCount() {
+    return shards.size();
+  }
+
+  /** Returns the qualified names of the methods of a shard, sorted, for shard index 0 to n-1. */
+  public List<String> getMethods(int shard) {
+    return Collections.unmodifiableList(shards.get(shard));
+  }
+
+  /** Returns the sum of the recorded or estimated durations of the methods of a shard. */
+  public long getEstimatedMillis(int shard) {
+    return estimatedMillis[shard];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder plan = new StringBuilder();
+    for (int i = 0; i < shards.size(); i++) {
+      plan.append(
+          String.format(
+              "shard %d: %d methods, ~%d ms%n", i + 1, shards.get(i).size(), estimatedMillis[i]));
+    }
+    return plan.toString();
+  }
+}
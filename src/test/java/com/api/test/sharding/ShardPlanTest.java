@@ -0,0 +1,92 @@
+package com.api.test.sharding;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.testng.annotations.Test;
+
+/** Checks how {@link ShardPlan} places methods, without running or timing any tests. */
+public class ShardPlanTest {
+
+  @Test(description = "Methods are placed longest first on the shard with the least time so far")
+  public void testLongestFirstOnLeastLoadedShard() {
+    Map<String, Long> durations = durations("a", 7L, "b", 5L, "c", 4L, "d", 3L, "e", 3L);
+    ShardPlan plan = ShardPlan.balance(durations.keySet(), durations, 2);
+
+    // a(7) -> 0, b(5) -> 1, c(4) -> 1 (5 < 7), d(3) -> 0 (7 < 9), e(3) -> 1 (9 < 10)
+    assertEquals(plan.getMethods(0), List.of("a", "d"));
+    assertEquals(plan.getMethods(1), List.of("b", "c", "e"));
+    assertEquals(plan.getEstimatedMillis(0), 10);
+    assertEquals(plan.getEstimatedMillis(1), 12);
+  }
+
+  @Test(description = "Equal durations are ordered by name and equal loads go to the lower shard")
+  public void testTiesAreBrokenByNameAndShardNumber() {
+    Map<String, Long> durations = durations("d", 1L, "b", 1L, "c", 1L, "a", 1L);
+    ShardPlan plan = ShardPlan.balance(durations.keySet(), durations, 3);
+
+    assertEquals(plan.getMethods(0), List.of("a", "d"));
+    assertEquals(plan.getMethods(1), List.of("b"));
+    assertEquals(plan.getMethods(2), List.of("c"));
+  }
+
+  @Test(description = "The same methods and durations give the same plan in any input order")
+  public void testPlanIsDeterministic() {
+    Map<String, Long> durations = durations("a", 4L, "b", 4L, "c", 2L, "d", 2L, "e", 1L, "f", 1L);
+    List<String> methods = new ArrayList<>(durations.keySet());
+    ShardPlan expected = ShardPlan.balance(methods, durations, 3);
+
+    Collections.reverse(methods);
+    ShardPlan reversed = ShardPlan.balance(new LinkedHashSet<>(methods), durations, 3);
+    Collections.shuffle(methods, new Random(7));
+    ShardPlan shuffled = ShardPlan.balance(methods, durations, 3);
+    for (int shard = 0; shard < 3; shard++) {
+      assertEquals(reversed.getMethods(shard), expected.getMethods(shard));
+      assertEquals(shuffled.getMethods(shard), expected.getMethods(shard));
+    }
+  }
+
+  @Test(description = "Methods without history count as the mean, or as equal when none has any")
+  public void testMethodsWithoutHistory() {
+    ShardPlan plan =
+        ShardPlan.balance(Arrays.asList("a", "b", "new"), durations("a", 6L, "b", 2L), 2);
+    assertEquals(plan.getMethods(0), List.of("a"));
+    assertEquals(plan.getMethods(1), List.of("b", "new"));
+    assertEquals(plan.getEstimatedMillis(1), 2 + 4);
+
+    ShardPlan byCount = ShardPlan.balance(Arrays.asList("a", "b", "c", "d"), Map.of(), 2);
+    assertEquals(byCount.getMethods(0), List.of("a", "c"));
+    assertEquals(byCount.getMethods(1), List.of("b", "d"));
+  }
+
+  @Test(description = "The shard count must be between 1 and the number of methods")
+  public void testShardCountBounds() {
+    List<String> methods = Arrays.asList("a", "b", "c");
+    assertThrows(IllegalArgumentException.class, () -> ShardPlan.balance(methods, Map.of(), 0));
+    assertThrows(IllegalArgumentException.class, () -> ShardPlan.balance(methods, Map.of(), 4));
+
+    assertEquals(ShardPlan.balance(methods, Map.of(), 1).getMethods(0), methods);
+    ShardPlan oneEach = ShardPlan.balance(methods, Map.of(), 3);
+    assertEquals(oneEach.getShardCount(), 3);
+    for (int shard = 0; shard < 3; shard++) {
+      assertEquals(oneEach.getMethods(shard).size(), 1);
+    }
+  }
+
+  /** Returns durations from alternating method names and milliseconds. */
+  private static Map<String, Long> durations(Object... methodsAndMillis) {
+    Map<String, Long> durations = new TreeMap<>();
+    for (int i = 0; i < methodsAndMillis.length; i += 2) {
+      durations.put((String) methodsAndMillis[i], (Long) methodsAndMillis[i + 1]);
+    }
+    return durations;
+  }
+}
@@ -0,0 +1,158 @@
+package com.api.test.sharding;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+/**
+ * The {@code ShardPlanner} class writes one TestNG suite per shard, for the {@code shards} Maven
+ * profile to run each in its own surefire fork.
+ *
+ * <p>Every {@code @Test} method of the classes in the suite template is placed on a shard by a
+ * {@link ShardPlan} balanced by the duration history. Each shard suite is the template with only
+ * the methods of that shard included, so listeners, parallel modes and thread counts are kept, and
+ * the suite and test names are kept too, so Allure shows the shards as one run. The shard number is
+ * passed to the fork as the suite parameter {@value ShardResults#SHARD_PARAMETER}.
+ *
+ * <p>The output directory is emptied first, so the results that the forks publish to it are never
+ * mixed with those of an earlier run.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ShardPlanner src/test/resources/testng.xml src/test/resources/test-durations.properties \
+ *       target/shards 4
+ * }
+ * </pre>
+ */
+public final class ShardPlanner {
+
+  private ShardPlanner() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 4) {
+      throw new IllegalArgumentException(
+          "Usage: ShardPlanner <suite template> <duration history> <output directory> <shards>");
+    }
+    Path template = Paths.get(args[0]);
+    Map<String, Long> durations = TestDurations.read(Paths.get(args[1]));
+    Path outputDirectory = Paths.get(args[2]);
+    int shardCount = Integer.parseInt(args[3]);
+
+    ShardPlan plan = ShardPlan.balance(testMethods(parse(template)), durations, shardCount);
+    clean(outputDirectory);
+    Files.createDirectories(outputDirectory);
+    for (int i = 0; i < shardCount; i++) {
+      XmlSuite suite = shardSuite(parse(template), plan.getMethods(i), i + 1);
+      Files.write(
+          outputDirectory.resolve("shard-" + (i + 1) + ".xml"),
+          suite.toXml().getBytes(StandardCharsets.UTF_8));
+    }
+    System.out.printf(
+        "Split %s into %d shards by %s:%n%s",
+        template,
+        shardCount,
+        durations.isEmpty() ? "method count, no duration history" : "duration history",
+        plan);
+  }
+
+  /** Returns the qualified names of the {@code @Test} methods of every class in the suite. */
+  private static Set<String> testMethods(XmlSuite suite) {
+    Set<String> methods = new TreeSet<>();
+    for (XmlTest test : suite.getTests()) {
+      for (XmlClass xmlClass : test.getXmlClasses()) {
+        for (Method method : load(xmlClass.getName()).getMethods()) {
+          if (method.isAnnotationPresent(Test.class)) {
+            methods.add(xmlClass.getName() + '.' + method.getName());
+          }
+        }
+      }
+    }
+    return methods;
+  }
+
+  /**
+   * Narrows every class of the suite to the given methods, dropping classes and tests left empty.
+   */
+  private static XmlSuite shardSuite(XmlSuite suite, List<String> methods, int shard) {
+    Map<String, List<XmlInclude>> includes = new HashMap<>();
+    for (String method : methods) {
+      int dot = method.lastIndexOf('.');
+      includes
+          .computeIfAbsent(method.substring(0, dot), c -> new ArrayList<>())
+          .add(new XmlInclude(method.substring(dot + 1)));
+    }
+    List<XmlTest> tests = new ArrayList<>();
+    for (XmlTest test : suite.getTests()) {
+      List<XmlClass> classes = new ArrayList<>();
+      for (XmlClass xmlClass : test.getXmlClasses()) {
+        List<XmlInclude> classIncludes = includes.get(xmlClass.getName());
+        if (classIncludes != null) {
+          xmlClass.setIncludedMethods(classIncludes);
+          classes.add(xmlClass);
+        }
+      }
+      if (!classes.isEmpty()) {
+        test.setXmlClasses(classes);
+        tests.add(test);
+      }
+    }
+    suite.setTests(tests);
+    Map<String, String> parameters = new HashMap<>(suite.getParameters());
+    parameters.put(ShardResults.SHARD_PARAMETER, String.valueOf(shard));
+    suite.setParameters(parameters);
+    return suite;
+  }
+
+  private static XmlSuite parse(Path template) throws IOException {
+    Parser parser = new Parser(template.toString());
+    parser.setLoadClasses(false);
+    return parser.parseToList().get(0);
+  }
+
+  private static Class<?> load(String className) {
+    try {
+      return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException("Test class " + className + " is not on the classpath", e);
+    }
+  }
+
+  private static void clean(Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              path -> {
+                try {
+                  Files.delete(path);
+                } catch (IOException e) {
+                  throw new UncheckedIOException("Failed to delete " + path, e);
+                }
+              });
+    }
+  }
+}
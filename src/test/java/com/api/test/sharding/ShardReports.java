@@ -0,0 +1,172 @@
+package com.api.test.sharding;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * The {@code ShardReports} class merges the surefire reports of the forks of a sharded run into one
+ * {@code TEST-TestSuite.xml}, for the {@code shards} Maven profile to run after the tests.
+ *
+ * <p>Surefire names the report of every TestNG fork {@code TEST-TestSuite.xml}, so the profile
+ * gives each fork its own {@code fork-<n>} report directory and this class writes the merged report
+ * to the directory above them: every {@code testcase} of every fork, with the test, failure, error
+ * and skip counts added up and the time of the slowest fork, as the forks run side by side.
+ *
+ * <p>The profile lets surefire carry on past failing tests so the reports are merged even then, and
+ * this class fails the build instead if the merged report has failures or errors, unless {@code
+ * maven.test.failure.ignore} is set.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ShardReports target/surefire-reports 4 false
+ * }
+ * </pre>
+ */
+public final class ShardReports {
+
+  private static final String REPORT = "TEST-TestSuite.xml";
+  private static final String[] COUNTS = {"tests", "errors", "skipped", "failures"};
+
+  private ShardReports() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 3) {
+      throw new IllegalArgumentException(
+          "Usage: ShardReports <reports directory> <shards> <ignore test failures>");
+    }
+    Path reportsDirectory = Paths.get(args[0]);
+    List<Path> forkReports = forkReports(reportsDirectory, Integer.parseInt(args[1]));
+    if (forkReports.isEmpty()) {
+      System.out.println("No fork reports in " + reportsDirectory + ", nothing to merge");
+      return;
+    }
+    Document merged = merge(forkReports);
+    write(merged, reportsDirectory.resolve(REPORT));
+
+    Element suite = merged.getDocumentElement();
+    long failures = parseLong(suite.getAttribute("failures"));
+    long errors = parseLong(suite.getAttribute("errors"));
+    System.out.printf(
+        "Merged %d fork reports into %s: tests %s, failures %d, errors %d, skipped %s%n",
+        forkReports.size(),
+        reportsDirectory.resolve(REPORT),
+        suite.getAttribute("tests"),
+        failures,
+        errors,
+        suite.getAttribute("skipped"));
+    if (failures + errors > 0 && !Boolean.parseBoolean(args[2])) {
+      throw new IllegalStateException(
+          "There are test failures, see " + reportsDirectory.resolve(REPORT));
+    }
+  }
+
+  /**
+   * Merges surefire reports into the first one.
+   *
+   * @param reports the {@code TEST-TestSuite.xml} of every fork
+   * @return the merged report
+   */
+  static Document merge(List<Path> reports) throws IOException {
+    DocumentBuilder builder = documentBuilder();
+    Document merged = null;
+    for (Path report : reports) {
+      Document fork;
+      try {
+        fork = builder.parse(report.toFile());
+      } catch (SAXException e) {
+        throw new IOException("Not a surefire report: " + report, e);
+      }
+      if (merged == null) {
+        merged = fork;
+        continue;
+      }
+      Element suite = merged.getDocumentElement();
+      Element forkSuite = fork.getDocumentElement();
+      for (String count : COUNTS) {
+        suite.setAttribute(
+            count,
+            String.valueOf(
+                parseLong(suite.getAttribute(count)) + parseLong(forkSuite.getAttribute(count))));
+      }
+      suite.setAttribute(
+          "time",
+          String.valueOf(
+              Math.max(
+                  parseDouble(suite.getAttribute("time")),
+                  parseDouble(forkSuite.getAttribute("time")))));
+      for (Node child = forkSuite.getFirstChild(); child != null; child = child.getNextSibling()) {
+        if ("testcase".equals(child.getNodeName())) {
+          suite.appendChild(merged.importNode(child, true));
+        }
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the reports of forks 1 to n that have one, so reports left by an earlier run with more
+   * shards are not merged.
+   */
+  private static List<Path> forkReports(Path reportsDirectory, int shards) {
+    List<Path> reports = new ArrayList<>();
+    for (int fork = 1; fork <= shards; fork++) {
+      Path report = reportsDirectory.resolve("fork-" + fork).resolve(REPORT);
+      if (Files.exists(report)) {
+        reports.add(report);
+      } else {
+        System.out.println("Fork " + fork + " left no report in " + report.getParent());
+      }
+    }
+    return reports;
+  }
+
+  private static DocumentBuilder documentBuilder() {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      return factory.newDocumentBuilder();
+    } catch (ParserConfigurationException e) {
+      throw new IllegalStateException("No XML parser available", e);
+    }
+  }
+
+  private static void write(Document report, Path file) throws IOException {
+    try {
+      Transformer transformer = TransformerFactory.newInstance().newTransformer();
+      transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+      transformer.transform(new DOMSource(report), new StreamResult(file.toFile()));
+    } catch (TransformerException e) {
+      throw new IOException("Failed to write the merged report " + file, e);
+    }
+  }
+
+  private static long parseLong(String value) {
+    return value.isEmpty() ? 0 : Long.parseLong(value);
+  }
+
+  /** Parses a surefire time, which may have grouping separators, e.g. {@code 1,234.5}. */
+  private static double parseDouble(String value) {
+    return value.isEmpty() ? 0 : Double.parseDouble(value.replace(",", ""));
+  }
+}
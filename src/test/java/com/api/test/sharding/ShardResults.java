@@ -0,0 +1,127 @@
+package com.api.test.sharding;
+
+import com.api.test.configs.ConfigurationLoader;
+import com.api.test.metrics.LatencyRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import org.testng.ISuite;
+
+/**
+ * The {@code ShardResults} class merges the latency summaries and test durations of the forks of a
+ * sharded run, see {@link ShardPlanner}.
+ *
+ * <p>Percentiles cannot be merged, so every fork publishes its raw latency histograms and the
+ * durations of its test methods to {@code <test.shard.dir>/results}, and then merges everything
+ * published so far into the usual outputs ({@code metrics.latency.output}, {@code
+ * metrics.queue.output} and {@code metrics.durations.output}) under a file lock. Merging does not
+ * depend on the order of the forks, so the last fork to finish leaves the summary of the whole run,
+ * even when tests failed. Allure needs no merging: all forks write their results to the same {@code
+ * allure.results.directory}. The surefire reports are merged after the forks by {@link
+ * ShardReports}.
+ */
+public final class ShardResults {
+
+  /** The suite parameter that holds the shard number of a fork, 1 to n. */
+  public static final String SHARD_PARAMETER = "test.shard";
+
+  private static final String LATENCY_SUFFIX = "-latency.json";
+  private static final String QUEUE_SUFFIX = "-queue.json";
+  private static final String DURATIONS_SUFFIX = "-durations.properties";
+
+  private static final Path RESULTS =
+      Paths.get(ConfigurationLoader.getProperty("test.shard.dir", "target/shards"), "results");
+
+  private ShardResults() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /** Returns the shard number of a suite written by {@link ShardPlanner}, or null if unsharded. */
+  public static String shardOf(ISuite suite) {
+    return suite.getParameter(SHARD_PARAMETER);
+  }
+
+  /** Publishes the latency histograms of a fork and merges the summaries of all forks. */
+  public static void publishLatencies(
+      String shard, LatencyRegistry latencies, LatencyRegistry queueTimes) {
+    latencies.writeHistograms(RESULTS.resolve(shard + LATENCY_SUFFIX));
+    if (!queueTimes.isEmpty()) {
+      queueTimes.writeHistograms(RESULTS.resolve(shard + QUEUE_SUFFIX));
+    }
+    merge();
+  }
+
+  /** Publishes the test durations of a fork and merges the durations of all forks. */
+  public static void publishDurations(String shard, Map<String, Long> durations) {
+    TestDurations.write(RESULTS.resolve(shard + DURATIONS_SUFFIX), durations);
+    merge();
+  }
+
+  private static void merge() {
+    try {
+      Files.createDirectories(RESULTS);
+      try (FileChannel lockFile =
+          FileChannel.open(
+              RESULTS.resolve("merge.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        FileLock lock = lockFile.lock();
+        try {
+          mergePublished();
+        } finally {
+          lock.release();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to merge the shard results in " + RESULTS, e);
+    }
+  }
+
+  /** Merges everything the forks have published so far; called under the merge lock. */
+  private static void mergePublished() throws IOException {
+    mergeLatencies(
+        LATENCY_SUFFIX,
+        ConfigurationLoader.getProperty(
+            "metrics.latency.output", "target/latency/latency-summary.json"));
+    mergeLatencies(
+        QUEUE_SUFFIX,
+        ConfigurationLoader.getProperty(
+            "metrics.queue.output", "target/latency/queue-summary.json"));
+    Map<String, Long> durations = new TreeMap<>();
+    for (Path file : published(DURATIONS_SUFFIX)) {
+      TestDurations.read(file)
+          .forEach((method, millis) -> durations.merge(method, millis, Long::sum));
+    }
+    if (!durations.isEmpty()) {
+      TestDurations.write(
+          Paths.get(
+              ConfigurationLoader.getProperty(
+                  "metrics.durations.output", "target/latency/test-durations.properties")),
+          durations);
+    }
+  }
+
+  private static void mergeLatencies(String suffix, String output) throws IOException {
+    LatencyRegistry merged = new LatencyRegistry();
+    for (Path file : published(suffix)) {
+      merged.addHistograms(file);
+    }
+    if (!merged.isEmpty()) {
+      merged.writeJson(Paths.get(output));
+    }
+  }
+
+  private static Iterable<Path> published(String suffix) throws IOException {
+    Map<String, Path> files = new TreeMap<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(RESULTS, "*" + suffix)) {
+      stream.forEach(file -> files.put(file.getFileName().toString(), file));
+    }
+    return files.values();
+  }
+}
@@ -0,0 +1,71 @@
+package com.api.test.sharding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the duration history of test methods: a properties file of the wall-clock
+ * milliseconds from the start of the first invocation of each method to the end of its last one,
+ * keyed by the qualified method name, e.g. {@code
+ * com.api.test.tests.BooksTests.testGetBookById=412}.
+ */
+public final class TestDurations {
+
+  private TestDurations() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+
+  /**
+   * Reads a duration history.
+   *
+   * @param file the history file
+   * @return the milliseconds by qualified method name, sorted; empty if the file does not exist
+   */
+  public static Map<String, Long> read(Path file) {
+    Map<String, Long> durations = new TreeMap<>();
+    if (!Files.exists(file)) {
+      return durations;
+    }
+    Properties properties = new Properties();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read the test durations from " + file, e);
+    }
+    properties.forEach(
+        (method, millis) -> durations.put((String) method, Long.parseLong((String) millis)));
+    return durations;
+  }
+
+  /**
+   * Writes a duration history sorted by method name, so runs with the same durations write the same
+   * file.
+   *
+   * @param file the history file; its parent directories are created
+   * @param durations the milliseconds by qualified method name
+   */
+  public static void write(Path file, Map<String, Long> durations) {
+    try {
+      if (file.getParent() != null) {
+        Files.createDirectories(file.getParent());
+      }
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        writer.write(
+            "# Wall-clock milliseconds from the first to the end of the last invocation\n");
+        for (Map.Entry<String, Long> entry : new TreeMap<>(durations).entrySet()) {
+          writer.write(entry.getKey() + '=' + entry.getValue() + '\n');
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write the test durations to " + file, e);
+    }
+  }
+}
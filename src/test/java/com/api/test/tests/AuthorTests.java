@@ -2,7 +2,12 @@ package com.api.test.tests;
 
 import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
 import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static com.api.test.constants.ApiTestsConstants.SLO_READ_MAX_MILLIS;
 
+import com.api.test.data_providers.DataProviderClass;
+import com.api.test.data_providers.GeneratedCase;
+import com.api.test.json.JsonArrayReader;
+import com.api.test.listeners.LatencySlo;
 import com.api.test.models.Author;
 import com.api.test.repositories.AuthorRepository;
 import com.api.test.requests.AuthorRequests;
@@ -14,7 +19,9 @@ import org.testng.annotations.Test;
 
 public class AuthorTests extends BaseApiTest {
 
-  private AuthorRepository authorRepository;
+  // Faker is not thread-safe, so every test thread generates its authors with its own repository.
+  private final ThreadLocal<AuthorRepository> authorRepository =
+      ThreadLocal.withInitial(AuthorRepository::new);
   private Author expectedAuthor;
   private AuthorRequests authorRequests;
 
@@ -22,20 +29,35 @@ public class AuthorTests extends BaseApiTest {
   public void beforeClass() {
 
     authorRequests = new AuthorRequests();
-    authorRepository = new AuthorRepository();
-    authorRepository.loadAuthors("authors.json");
-    expectedAuthor = authorRepository.getAllAuthors().get(0);
+    AuthorRepository fixtures = new AuthorRepository();
+    fixtures.loadAuthors("authors.json");
+    expectedAuthor = fixtures.getAllAuthors().get(0);
+  }
+
+  /**
+   * Creates an author that only the calling test uses, so tests that update or delete an author do
+   * not interfere with tests running in parallel that read the fixture authors.
+   */
+  private Object createTestAuthor() {
+    return authorRequests
+        .createAuthor(authorRepository.get().getFakeNewAuthor())
+        .then()
+        .statusCode(HttpStatus.SC_OK)
+        .extract()
+        .path("id");
   }
 
   @Test(description = "Get all authors")
   public void testGetAllAuthors() {
-    Response response =
-        authorRequests.getAllAuthors().then().statusCode(HttpStatus.SC_OK).extract().response();
+    Response response = authorRequests.streamAllAuthors();
+    try (JsonArrayReader authors = JsonArrayReader.of(response)) {
+      Assert.assertEquals(response.statusCode(), HttpStatus.SC_OK);
 
-    Assert.assertFalse(
-        response.jsonPath().getList("id").isEmpty(), "Authors list should not be empty");
+      Assert.assertTrue(authors.count() > 0, "Authors list should not be empty");
+    }
   }
 
+  @LatencySlo(maxMillis = SLO_READ_MAX_MILLIS)
   @Test(description = "Get an author by ID")
   public void testGetAuthorById() {
     Author responseAuthor =
@@ -102,9 +124,8 @@ public class AuthorTests extends BaseApiTest {
 
   @Test(description = "Create an Author with valid data")
   public void testCreateAuthor() {
-    Author newAuthor = authorRepository.getFakeNewAuthor();
-    String payLoad = gson.toJson(newAuthor);
-    Response response = authorRequests.createAuthor(payLoad).then().extract().response();
+    Author newAuthor = authorRepository.get().getFakeNewAuthor();
+    Response response = authorRequests.createAuthor(newAuthor).then().extract().response();
     Assert.assertEquals(response.statusCode(), HttpStatus.SC_OK); // HTTP 201 Created
     Assert.assertNotNull(response.jsonPath().getString("id"), "Should generate an id");
 
@@ -123,23 +144,30 @@ public class AuthorTests extends BaseApiTest {
 
   @Test(description = "Create an Author with invalid data type")
   public void testCreateAuthorWithInvalidDataType() {
-    Author newAuthor = authorRepository.getFakeNewAuthor();
+    Author newAuthor = authorRepository.get().getFakeNewAuthor();
     newAuthor.setIdBook(INVALID_ID_DATA_TYPE);
-    String payLoad = gson.toJson(newAuthor);
-    Response response = authorRequests.createAuthor(payLoad).then().extract().response();
+    Response response = authorRequests.createAuthor(newAuthor).then().extract().response();
     Assert.assertEquals(response.statusCode(), HttpStatus.SC_BAD_REQUEST); // HTTP 201 Created
     verifyError.verifyErrorInvalidIdBookType(response);
   }
 
+  @Test(
+      description = "Create an Author with generated id and book id values",
+      dataProvider = "newAuthorCaseProvider",
+      dataProviderClass = DataProviderClass.class)
+  public void testCreateAuthorWithGeneratedValues(GeneratedCase<Author> testCase) {
+    Author newAuthor = authorRepository.get().getFakeNewAuthor();
+    testCase.applyTo(newAuthor);
+    verifyGeneratedCase(authorRequests.createAuthor(newAuthor), testCase);
+  }
+
   @Test(description = "Update Author with valid data")
   public void updateAuthor() {
-    Author author = authorRepository.getFakeNewAuthor();
-    author.setId(expectedAuthor.getId());
-    String payload = gson.toJson(author);
-
+    Author author = authorRepository.get().getFakeNewAuthor();
+    author.setId(createTestAuthor());
     Author updatedAuthor =
         authorRequests
-            .updateAuthor(author.getId(), payload)
+            .updateAuthor(author.getId(), author)
             .then()
             .statusCode(HttpStatus.SC_OK)
             .extract()
@@ -176,20 +204,18 @@ public class AuthorTests extends BaseApiTest {
   @Test(description = "Update Author with mismatch id ")
   public void updateAuthorMistMatchID() {
     Integer misMatchId = ((Integer) expectedAuthor.getId()) + 1;
-    Author author = authorRepository.getFakeNewAuthor();
+    Author author = authorRepository.get().getFakeNewAuthor();
     author.setId(expectedAuthor.getId());
-    String payload = gson.toJson(author);
-    authorRequests.updateAuthor(misMatchId, payload).then().statusCode(HttpStatus.SC_BAD_REQUEST);
+    authorRequests.updateAuthor(misMatchId, author).then().statusCode(HttpStatus.SC_BAD_REQUEST);
   }
 
   @Test(description = "Update Author with NON-existent id ")
   public void updateAuthorNonExistentID() {
-    Author author = authorRepository.getFakeNewAuthor();
+    Author author = authorRepository.get().getFakeNewAuthor();
     author.setId(expectedAuthor.getId());
-    String payload = gson.toJson(author);
     Response response =
         authorRequests
-            .updateAuthor(NON_EXISTENT_ID, payload)
+            .updateAuthor(NON_EXISTENT_ID, author)
             .then()
             .statusCode(HttpStatus.SC_NOT_FOUND)
             .extract()
@@ -199,13 +225,12 @@ public class AuthorTests extends BaseApiTest {
 
   @Test(description = "Update Author with invalid data type  ")
   public void updateAuthorInvalidDataType() {
-    Author author = authorRepository.getFakeNewAuthor();
+    Author author = authorRepository.get().getFakeNewAuthor();
     author.setId(expectedAuthor.getId());
     author.setIdBook(INVALID_ID_DATA_TYPE);
-    String payload = gson.toJson(author);
     Response response =
         authorRequests
-            .updateAuthor(author.getId(), payload)
+            .updateAuthor(author.getId(), author)
             .then()
             .statusCode(HttpStatus.SC_BAD_REQUEST)
             .extract()
@@ -215,7 +240,7 @@ public class AuthorTests extends BaseApiTest {
 
   @Test(description = "Delete author with valid Id")
   public void testDeleteAuthorWithValidId() {
-    authorRequests.deleteAuthor(expectedAuthor.getId()).then().statusCode(HttpStatus.SC_OK);
+    authorRequests.deleteAuthor(createTestAuthor()).then().statusCode(HttpStatus.SC_OK);
   }
 
   @Test(description = "Delete author with NON-existent ID")
@@ -1,22 +1,163 @@
 package com.api.test.tests;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
 import com.api.test.configs.ConfigurationLoader;
+import com.api.test.data_providers.GeneratedCase;
+import com.api.test.json.JsonSerializer;
+import com.api.test.listeners.LatencySlo;
+import com.api.test.metrics.LatencyRegistry;
+import com.api.test.replay.ReplayServer;
+import com.api.test.repositories.PayloadSeed;
+import com.api.test.requests.ApiClientContext;
+import com.api.test.requests.BookRequests;
+import com.api.test.requests.CacheStats;
+import com.api.test.server.ApiServer;
+import com.api.test.server.ApiServers;
+import com.api.test.sharding.ShardResults;
 import com.api.test.verifications.ErrorMessagesVerification;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import io.restassured.RestAssured;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.qameta.allure.Allure;
+import io.restassured.response.Response;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import org.apache.http.HttpStatus;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 
 public class BaseApiTest {
-  protected Gson gson;
+  private static ApiServer localServer;
 
   protected ErrorMessagesVerification verifyError;
 
+  @BeforeSuite(alwaysRun = true)
+  public void startLocalServer() {
+    localServer = ApiServers.startIfEnabled().orElse(null);
+  }
+
+  /**
+   * Sends one request before the tests, so the one-off start-up of REST-assured is not charged to
+   * the latency budget of whichever test happens to run first, see {@link LatencySlo}.
+   */
+  @BeforeSuite(alwaysRun = true, dependsOnMethods = "startLocalServer")
+  public void warmUpClient() {
+    new BookRequests().getBookById(1);
+  }
+
   @BeforeClass
   public void setup() {
-
-    RestAssured.baseURI = ConfigurationLoader.getProperty("baseUrl");
-    gson = new GsonBuilder().setPrettyPrinting().create();
     verifyError = new ErrorMessagesVerification();
+    PayloadSeed.reseed(getClass().getName());
+  }
+
+  /**
+   * Restarts the fake payloads of the calling thread from the test method and its parameters, so a
+   * recording or replaying run sends the same bodies in every test whatever thread runs it, see
+   * {@link PayloadSeed}.
+   */
+  @BeforeMethod(alwaysRun = true)
+  public void seedPayloads(Method method, Object[] parameters) {
+    PayloadSeed.reseed(
+        getClass().getName() + '.' + method.getName() + Arrays.deepToString(parameters));
+  }
+
+  /**
+   * Verifies the response to a generated case: the expected status, then the validation error of
+   * the first invalid value or the values carried back by the created or updated record.
+   */
+  protected void verifyGeneratedCase(Response response, GeneratedCase<?> testCase) {
+    assertEquals(response.statusCode(), testCase.getExpectedStatus(), testCase.toString());
+    if (testCase.getExpectedStatus() == HttpStatus.SC_BAD_REQUEST) {
+      verifyError.verifyErrorInvalidField(
+          response, testCase.getErrorKey(), testCase.getErrorMessage());
+    } else {
+      assertNull(
+          testCase.checkEchoed(JsonSerializer.fromBytes(response.asByteArray(), JsonNode.class)),
+          testCase.toString());
+    }
+  }
+
+  /**
+   * Writes the latency summaries and attaches them to Allure. In a sharded run every fork only has
+   * its own share of the requests, so the summaries are merged from all forks, see {@link
+   * ShardResults}.
+   */
+  @AfterSuite(alwaysRun = true)
+  @Parameters(ShardResults.SHARD_PARAMETER)
+  public void reportEndpointLatencies(@Optional String shard) {
+    LatencyRegistry latencies = LatencyRegistry.global();
+    LatencyRegistry queueTimes = LatencyRegistry.queueTimes();
+    if (shard != null) {
+      ShardResults.publishLatencies(shard, latencies, queueTimes);
+    } else {
+      latencies.writeJson(
+          Paths.get(
+              ConfigurationLoader.getProperty(
+                  "metrics.latency.output", "target/latency/latency-summary.json")));
+      if (!queueTimes.isEmpty()) {
+        queueTimes.writeJson(
+            Paths.get(
+                ConfigurationLoader.getProperty(
+                    "metrics.queue.output", "target/latency/queue-summary.json")));
+      }
+    }
+    String suffix = shard != null ? " (shard " + shard + ")" : "";
+    Allure.addAttachment(
+        "Endpoint latency" + suffix, "application/json", latencies.toJson(), ".json");
+    if (!queueTimes.isEmpty()) {
+      Allure.addAttachment(
+          "Governor queue time" + suffix, "application/json", queueTimes.toJson(), ".json");
+    }
+  }
+
+  @AfterSuite(alwaysRun = true, dependsOnMethods = "reportEndpointLatencies")
+  public void reportConnectionStats() {
+    StringBuilder report = new StringBuilder();
+    ApiClientContext.getAllConnectionStats()
+        .forEach(
+            (endpoint, stats) -> report.append(endpoint).append(": ").append(stats).append('\n'));
+    Allure.addAttachment("Connection pool statistics", report.toString());
+    StringBuilder resilienceReport = new StringBuilder();
+    ApiClientContext.getAllResilienceStats()
+        .forEach(
+            (endpoint, stats) ->
+                resilienceReport.append(endpoint).append(": ").append(stats).append('\n'));
+    Allure.addAttachment("Retry and hedging statistics", resilienceReport.toString());
+    StringBuilder governorReport = new StringBuilder();
+    ApiClientContext.getAllGovernorStats()
+        .forEach(
+            (endpoint, stats) ->
+                governorReport.append(endpoint).append(": ").append(stats).append('\n'));
+    Allure.addAttachment("Rate and concurrency limits", governorReport.toString());
+    StringBuilder contractReport = new StringBuilder();
+    ApiClientContext.getAllContractStats()
+        .forEach(
+            (endpoint, stats) ->
+                contractReport.append(endpoint).append(": ").append(stats).append('\n'));
+    if (contractReport.length() > 0) {
+      Allure.addAttachment("Response contract violations", contractReport.toString());
+    }
+    Map<String, CacheStats> cacheStats = ApiClientContext.getAllCacheStats();
+    if (!cacheStats.isEmpty()) {
+      StringBuilder cacheReport = new StringBuilder();
+      cacheStats.forEach(
+          (endpoint, stats) ->
+              cacheReport.append(endpoint).append(": ").append(stats).append('\n'));
+      Allure.addAttachment("Response cache statistics", cacheReport.toString());
+    }
+    if (localServer instanceof ReplayServer) {
+      Allure.addAttachment("Replay statistics", ((ReplayServer) localServer).getStats().toString());
+    }
+    ApiClientContext.shutdownAll();
+    if (localServer != null) {
+      localServer.stop();
+    }
   }
 }
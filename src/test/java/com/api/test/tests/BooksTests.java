@@ -2,44 +2,88 @@ package com.api.test.tests;
 
 import static com.api.test.constants.ApiTestsConstants.INVALID_ID_DATA_TYPE;
 import static com.api.test.constants.ApiTestsConstants.NON_EXISTENT_ID;
+import static com.api.test.constants.ApiTestsConstants.SLO_READ_MAX_MILLIS;
+import static com.api.test.constants.ApiTestsConstants.SLO_WRITE_P99_MILLIS;
 import static org.testng.Assert.*;
 
 import com.api.test.data_providers.DataProviderClass;
+import com.api.test.data_providers.GeneratedCase;
+import com.api.test.json.JsonArrayReader;
+import com.api.test.listeners.LatencySlo;
 import com.api.test.models.Book;
 import com.api.test.repositories.BookRepository;
+import com.api.test.requests.BatchResult;
 import com.api.test.requests.BookRequests;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.apache.http.HttpStatus;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 public class BooksTests extends BaseApiTest {
 
+  private static final int SEEDED_BOOKS = 200;
+
+  // Faker is not thread-safe, so every test thread generates its books with its own repository.
+  private final ThreadLocal<BookRepository> bookRepository =
+      ThreadLocal.withInitial(BookRepository::new);
+  // The generated update cases all go to one book; an update answers with the book it was sent, so
+  // cases running in parallel do not see each other.
+  private Object generatedCaseBookId;
   private BookRequests bookRequests;
-  private BookRepository bookRepository;
   private Book expectedBook;
 
   @BeforeClass
   public void beforeClass() {
 
-    bookRepository = new BookRepository();
-    bookRepository.loadBooks("books.json");
-    expectedBook = bookRepository.getAllBooks().get(0);
+    BookRepository fixtures = new BookRepository();
+    fixtures.loadBooks("books.json");
+    expectedBook = fixtures.getAllBooks().get(0);
     bookRequests = new BookRequests();
+    generatedCaseBookId = createTestBook();
+  }
+
+  /**
+   * Creates a book that only the calling test uses, so tests that update or delete a book do not
+   * interfere with tests running in parallel that read the fixture books.
+   */
+  private Object createTestBook() {
+    return bookRequests
+        .createBook(bookRepository.get().getFakeNewBook())
+        .then()
+        .statusCode(HttpStatus.SC_OK)
+        .extract()
+        .path("id");
   }
 
   @Test(description = "Get all books")
   public void testGetAllBooks() {
-    Response response =
-        bookRequests.getAllBooks().then().statusCode(HttpStatus.SC_OK).extract().response();
-    assertFalse(response.jsonPath().getList("id").isEmpty(), "Books list should not be empty");
-
-    int totalBooks = response.jsonPath().getList("id").size();
-    assertEquals(totalBooks, 200, "Total number of books should be 200");
+    Response response = bookRequests.streamAllBooks();
+    try (JsonArrayReader books = JsonArrayReader.of(response)) {
+      assertEquals(response.statusCode(), HttpStatus.SC_OK);
+
+      // Tests running in parallel may have created books already, so only the seeded ones are
+      // counted.
+      Set<Integer> seededIds = new HashSet<>();
+      long total =
+          books.forEachInt(
+              "id",
+              id -> {
+                if (id >= 1 && id <= SEEDED_BOOKS) {
+                  seededIds.add(id);
+                }
+              });
+      assertTrue(total > 0, "Books list should not be empty");
+      assertEquals(seededIds.size(), SEEDED_BOOKS, "Total number of books should be 200");
+    }
   }
 
+  @LatencySlo(maxMillis = SLO_READ_MAX_MILLIS)
   @Test(description = "Get a book by ID")
   public void testGetBookById() {
     Book responseBook =
@@ -86,6 +130,22 @@ public class BooksTests extends BaseApiTest {
     verifyError.verifyErrorNotFound(response);
   }
 
+  @Test(description = "Get many books by NON-Existent ID")
+  public void testGetBooksByIdNotFoundInBulk() {
+    List<CompletableFuture<Response>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(bookRequests.getBookByIdAsync(NON_EXISTENT_ID - i));
+    }
+    List<Response> responses = new ArrayList<>();
+    for (CompletableFuture<Response> future : futures) {
+      Response response = future.join();
+      assertEquals(response.statusCode(), HttpStatus.SC_NOT_FOUND);
+      responses.add(response);
+    }
+
+    verifyError.verifyAllNotFound(responses).assertSuccess();
+  }
+
   @Test(description = "Get a book by invalid ID data ype")
   public void testGetBookByInvalidIdDataType() {
     Response response =
@@ -100,9 +160,8 @@ public class BooksTests extends BaseApiTest {
 
   @Test(description = "Create a Book with valid data")
   public void testCreateBookValid() {
-    Book newBook = bookRepository.getFakeNewBook();
-    String newBookJson = gson.toJson(newBook);
-    Response response = bookRequests.createBook(newBookJson).then().extract().response();
+    Book newBook = bookRepository.get().getFakeNewBook();
+    Response response = bookRequests.createBook(newBook).then().extract().response();
 
     assertEquals(response.statusCode(), HttpStatus.SC_OK); // HTTP 201 Created
     assertNotNull(response.jsonPath().getString("id"), "The bookId should not be empty");
@@ -131,10 +190,9 @@ public class BooksTests extends BaseApiTest {
   public void testCreateBookDuplicateId() {
     // Assuming we can only create books with a unique ID
     int existentID = (Integer) expectedBook.getId();
-    Book newBook = bookRepository.getFakeNewBook();
+    Book newBook = bookRepository.get().getFakeNewBook();
     newBook.setId(existentID);
-    String newBookJson = gson.toJson(newBook);
-    Response response = bookRequests.createBook(newBookJson).then().extract().response();
+    Response response = bookRequests.createBook(newBook).then().extract().response();
 
     assertEquals(
         response.statusCode(),
@@ -145,12 +203,12 @@ public class BooksTests extends BaseApiTest {
 
   @Test(description = "Create a book invalid date format")
   public void testCreateWithInvalidDateFormat() {
-    Book newBook = bookRepository.getFakeNewBook();
-    newBook.setPublishDate(new Date().toString());
-    String newBookJson = gson.toJson(newBook);
+    Book newBook = bookRepository.get().getFakeNewBook();
+    // A java.util.Date string; fixed, so the request is the same on every run.
+    newBook.setPublishDate("Sat Jun 01 10:15:30 UTC 2024");
     Response response =
         bookRequests
-            .createBook(newBookJson)
+            .createBook(newBook)
             .then()
             .assertThat()
             .statusCode(HttpStatus.SC_BAD_REQUEST) // Expecting HTTP 400 Bad Request
@@ -161,16 +219,16 @@ public class BooksTests extends BaseApiTest {
     verifyError.verifyErrorInvalidDateFormat(response);
   }
 
+  @LatencySlo(percentileMillis = SLO_WRITE_P99_MILLIS, measure = LatencySlo.Measure.REQUEST)
   @Test(
       description = "Create a Book with different values for page count",
       dataProvider = "pageCountProvider",
       dataProviderClass = DataProviderClass.class)
   public void testCreateBookWithPageCount(
       Object pageCount, int expectedStatus, String description) {
-    Book newBook = bookRepository.getFakeNewBook();
+    Book newBook = bookRepository.get().getFakeNewBook();
     newBook.setPageCount(pageCount);
-    String newBookJson = gson.toJson(newBook);
-    Response response = bookRequests.createBook(newBookJson).then().extract().response();
+    Response response = bookRequests.createBook(newBook).then().extract().response();
 
     assertEquals(
         response.statusCode(),
@@ -187,14 +245,23 @@ public class BooksTests extends BaseApiTest {
     }
   }
 
+  @Test(
+      description = "Create a Book with generated id, page count and publish date values",
+      dataProvider = "newBookCaseProvider",
+      dataProviderClass = DataProviderClass.class)
+  public void testCreateBookWithGeneratedValues(GeneratedCase<Book> testCase) {
+    Book newBook = bookRepository.get().getFakeNewBook();
+    testCase.applyTo(newBook);
+    verifyGeneratedCase(bookRequests.createBook(newBook), testCase);
+  }
+
   @Test(description = "Update Book with valid data")
   public void testUpdateBook() {
-    Book newBook = bookRepository.getFakeNewBook();
-    newBook.setId(expectedBook.getId());
-    String newBookJson = gson.toJson(newBook);
+    Book newBook = bookRepository.get().getFakeNewBook();
+    newBook.setId(createTestBook());
     Book updatedBook =
         bookRequests
-            .updateBook(newBook.getId(), newBookJson)
+            .updateBook(newBook.getId(), newBook)
             .then()
             .extract()
             .response()
@@ -225,11 +292,10 @@ public class BooksTests extends BaseApiTest {
 
   @Test(description = "Update Book with NON-Existent ID")
   public void testUpdateBookNonExistentID() {
-    Book newBook = bookRepository.getFakeNewBook();
-    String newBookJson = gson.toJson(newBook);
+    Book newBook = bookRepository.get().getFakeNewBook();
     Response response =
         bookRequests
-            .updateBook(NON_EXISTENT_ID, newBookJson)
+            .updateBook(NON_EXISTENT_ID, newBook)
             .then()
             .statusCode(HttpStatus.SC_NOT_FOUND)
             .extract()
@@ -239,11 +305,10 @@ public class BooksTests extends BaseApiTest {
 
   @Test(description = "Update Book with invalid Data type ID")
   public void testUpdateBookInvalidDataTypeID() {
-    Book newBook = bookRepository.getFakeNewBook();
-    String newBookJson = gson.toJson(newBook);
+    Book newBook = bookRepository.get().getFakeNewBook();
     Response response =
         bookRequests
-            .updateBook(INVALID_ID_DATA_TYPE, newBookJson)
+            .updateBook(INVALID_ID_DATA_TYPE, newBook)
             .then()
             .statusCode(HttpStatus.SC_BAD_REQUEST)
             .extract()
@@ -254,12 +319,10 @@ public class BooksTests extends BaseApiTest {
   @Test(description = "Update Book with mismatching ID")
   public void testUpdateBookWithMisMatchingID() {
     int idMismatch = (Integer) expectedBook.getId() + 1;
-    Book newBook = bookRepository.getFakeNewBook();
+    Book newBook = bookRepository.get().getFakeNewBook();
     newBook.setId(expectedBook.getId());
-    String newBookJson = gson.toJson(newBook);
-
     bookRequests
-        .updateBook(idMismatch, newBookJson)
+        .updateBook(idMismatch, newBook)
         .then()
         .statusCode(HttpStatus.SC_BAD_REQUEST)
         .extract()
@@ -272,12 +335,10 @@ public class BooksTests extends BaseApiTest {
       dataProviderClass = DataProviderClass.class)
   public void testUpdateBookWithPageCount(
       Object pageCount, int expectedStatus, String description) {
-    Book book = bookRepository.getFakeNewBook();
-    book.setId(expectedBook.getId());
+    Book book = bookRepository.get().getFakeNewBook();
+    book.setId(createTestBook());
     book.setPageCount(pageCount);
-    String newBookJson = gson.toJson(book);
-    Response response =
-        bookRequests.updateBook(book.getId(), newBookJson).then().extract().response();
+    Response response = bookRequests.updateBook(book.getId(), book).then().extract().response();
 
     assertEquals(
         response.statusCode(),
@@ -295,10 +356,22 @@ public class BooksTests extends BaseApiTest {
     }
   }
 
+  @Test(
+      description = "Update Book with generated page count and publish date values",
+      dataProvider = "bookUpdateCaseProvider",
+      dataProviderClass = DataProviderClass.class)
+  public void testUpdateBookWithGeneratedValues(GeneratedCase<Book> testCase) {
+    Book book = bookRepository.get().getFakeNewBook();
+    book.setId(generatedCaseBookId);
+    testCase.applyTo(book);
+    verifyGeneratedCase(bookRequests.updateBook(book.getId(), book), testCase);
+  }
+
   @Test(description = "Delete book by ID")
   public void testDeleteBookByID() {
-    bookRequests.deleteBook(expectedBook.getId()).then().statusCode(HttpStatus.SC_OK);
-    bookRequests.getBookById(expectedBook.getId()).then().statusCode(HttpStatus.SC_NOT_FOUND);
+    Object bookId = createTestBook();
+    bookRequests.deleteBook(bookId).then().statusCode(HttpStatus.SC_OK);
+    bookRequests.getBookById(bookId).then().statusCode(HttpStatus.SC_NOT_FOUND);
   }
 
   @Test(description = "Delete Book with NON-Existent ID")
@@ -324,4 +397,30 @@ public class BooksTests extends BaseApiTest {
             .response();
     verifyError.verifyErrorInvalidIdType(response, INVALID_ID_DATA_TYPE);
   }
+
+  @Test(description = "Create and delete books in a batch")
+  public void testCreateAndDeleteBooksInBatch() {
+    List<Book> books = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      books.add(bookRepository.get().getFakeNewBook());
+    }
+
+    List<BatchResult> created = bookRequests.createBooks(books);
+    assertEquals(created.size(), books.size(), "Every book should have a result");
+    List<Object> ids = new ArrayList<>();
+    for (int i = 0; i < created.size(); i++) {
+      BatchResult result = created.get(i);
+      assertEquals(result.getIndex(), i, "Results should be in input order");
+      assertEquals(result.getStatusCode(), HttpStatus.SC_OK, String.valueOf(result.getError()));
+      assertNotNull(result.getId(), "The book id should be generated");
+      ids.add(result.getId());
+    }
+    assertEquals(new HashSet<>(ids).size(), ids.size(), "Every book should get its own id");
+
+    List<BatchResult> deleted = bookRequests.deleteBooks(ids);
+    for (int i = 0; i < deleted.size(); i++) {
+      assertEquals(deleted.get(i).getId(), ids.get(i), "Results should be in input order");
+      assertEquals(deleted.get(i).getStatusCode(), HttpStatus.SC_OK);
+    }
+  }
 }
@@ -0,0 +1,83 @@
+package com.api.test.verifications;
+
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_ERRORS_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_NOT_FOUND;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TITLE_KEY;
+import static com.api.test.constants.ApiTestsConstants.ERROR_MESSAGE_TRACEID_KEY;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Value;
+
+/**
+ * An immutable, precompiled expectation on the RFC 7807 error body of the API, checked against a
+ * body that has already been parsed into a tree by {@link ErrorVerificationEngine}:
+ *
+ * <ul>
+ *   <li>the {@code title} equals {@code title}
+ *   <li>a {@code traceId} is present
+ *   <li>if {@code errorKey} is set, {@code errors} has that key, e.g. {@code $.pageCount}
+ *   <li>if {@code messageFragment} is also set, the first message of that key contains it
+ * </ul>
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ErrorExpectation expectation =
+ *       ErrorExpectation.validation("$.pageCount", "could not be converted to System.Int32");
+ *   String failure = expectation.check(tree);
+ * }
+ * </pre>
+ */
+@Value
+public class ErrorExpectation {
+  String title;
+  String errorKey;
+  String messageFragment;
+
+  /** Expects a {@code 400} validation problem whose errors have the key and message fragment. */
+  public static ErrorExpectation validation(String errorKey, String messageFragment) {
+    return new ErrorExpectation(ERROR_MESSAGE_TITLE, errorKey, messageFragment);
+  }
+
+  /** Expects a {@code 404} problem, which has no errors. */
+  public static ErrorExpectation notFound() {
+    return new ErrorExpectation(ERROR_MESSAGE_NOT_FOUND, null, null);
+  }
+
+  /**
+   * Checks a parsed error body.
+   *
+   * @param body the parsed body
+   * @return a description of the first expectation the body does not meet, or {@code null} if it
+   *     meets all of them
+   */
+  public String check(JsonNode body) {
+    JsonNode actualTitle = body.get(ERROR_MESSAGE_TITLE_KEY);
+    if (actualTitle == null || !title.equals(actualTitle.asText())) {
+      return String.format(
+          "Title expected [%s] but found [%s]",
+          title, actualTitle == null ? null : actualTitle.asText());
+    }
+    JsonNode traceId = body.get(ERROR_MESSAGE_TRACEID_KEY);
+    if (traceId == null || traceId.isNull()) {
+      return "Trace id is missing";
+    }
+    if (errorKey == null) {
+      return null;
+    }
+    JsonNode messages = body.path(ERROR_MESSAGE_ERRORS_KEY).get(errorKey);
+    if (messages == null) {
+      return "Error key is missing: " + errorKey;
+    }
+    if (messageFragment != null) {
+      JsonNode message = messages.get(0);
+      if (message == null || !message.asText().contains(messageFragment)) {
+        return String.format(
+            "Expected error message is missing or incorrect: %s should contain [%s] but was [%s]",
+            errorKey, messageFragment, message == null ? null : message.asText());
+      }
+    }
+    return null;
+  }
+}
@@ -1,11 +1,9 @@
 package com.api.test.verifications;
 
 import static com.api.test.constants.ApiTestsConstants.*;
-import static org.testng.Assert.assertEquals;
-import static org.testng.Assert.assertNotNull;
 
 import io.restassured.response.Response;
-import org.testng.Assert;
+import java.util.List;
 
 /**
  * The {@code ErrorMessagesVerification} class provides utility methods for verifying specific error
@@ -13,7 +11,8 @@ import org.testng.Assert;
  * ensure they are returned correctly by the API in various error scenarios.
  *
  * <p>This class performs assertions on common error fields like the error message title, trace ID,
- * and specific error keys that correspond to different error types.
+ * and specific error keys that correspond to different error types. The expectations are built once
+ * and checked by an {@link ErrorVerificationEngine}, which parses each body a single time.
  *
  * <pre>
  * Example usage:
@@ -26,6 +25,21 @@ import org.testng.Assert;
  */
 public class ErrorMessagesVerification {
 
+  private static final ErrorVerificationEngine INVALID_PAGE_COUNT =
+      new ErrorVerificationEngine(
+          ErrorExpectation.validation(
+              ERROR_MESSAGE_PAGE_COUNT_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32));
+  private static final ErrorVerificationEngine INVALID_DATE_FORMAT =
+      new ErrorVerificationEngine(
+          ErrorExpectation.validation(
+              ERROR_MESSAGE_PUBLISH_DATE_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_DATE));
+  private static final ErrorVerificationEngine INVALID_ID_BOOK_TYPE =
+      new ErrorVerificationEngine(
+          ErrorExpectation.validation(
+              ERROR_MESSAGE_ID_BOOK_KEY, ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32));
+  private static final ErrorVerificationEngine NOT_FOUND =
+      new ErrorVerificationEngine(ErrorExpectation.notFound());
+
   /**
    * Verifies that the error message in the response indicates an invalid page count.
    *
@@ -37,23 +51,7 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidPageCount(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response
-            .jsonPath()
-            .getMap(ERROR_MESSAGE_ERRORS_KEY)
-            .containsKey(ERROR_MESSAGE_PAGE_COUNT_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format(
-                    "%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PAGE_COUNT_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32),
-        "Expected error message is missing or incorrect");
+    INVALID_PAGE_COUNT.verify(response);
   }
 
   /**
@@ -67,23 +65,7 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidDateFormat(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response
-            .jsonPath()
-            .getMap(ERROR_MESSAGE_ERRORS_KEY)
-            .containsKey(ERROR_MESSAGE_PUBLISH_DATE_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format(
-                    "%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_PUBLISH_DATE_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_DATE),
-        "Expected error message is missing or incorrect");
+    INVALID_DATE_FORMAT.verify(response);
   }
 
   /**
@@ -97,19 +79,7 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidIdBookType(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response.jsonPath().getMap(ERROR_MESSAGE_ERRORS_KEY).containsKey(ERROR_MESSAGE_ID_BOOK_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(
-                String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_ID_BOOK_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(ERROR_MESSAGE_COULD_NOT_CONVERT_SYSTEM32),
-        "Expected error message is missing or incorrect");
+    INVALID_ID_BOOK_TYPE.verify(response);
   }
 
   /**
@@ -124,18 +94,25 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorInvalidIdType(Response response, String value) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_TITLE);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
-    Assert.assertTrue(
-        response.jsonPath().getMap(ERROR_MESSAGE_ERRORS_KEY).containsKey(ERROR_MESSAGE_ID_KEY),
-        "Error key is missing");
-    String errorMessage =
-        response
-            .jsonPath()
-            .getString(String.format("%s.'%s'[0]", ERROR_MESSAGE_ERRORS_KEY, ERROR_MESSAGE_ID_KEY));
-    Assert.assertTrue(
-        errorMessage.contains(String.format(ERROR_MESSAGE_NOT_VALID_VALUE, value)),
-        "Expected error message is missing or incorrect");
+    new ErrorVerificationEngine(
+            ErrorExpectation.validation(
+                ERROR_MESSAGE_ID_KEY, String.format(ERROR_MESSAGE_NOT_VALID_VALUE, value)))
+        .verify(response);
+  }
+
+  /**
+   * Verifies that the error message in the response reports an invalid value of a field.
+   *
+   * <p>This method asserts that the error message title is correct, the trace ID exists, and the
+   * error map contains the key of the field with a message that contains the expected one.
+   *
+   * @param response the {@code Response} object containing the API response to verify
+   * @param errorKey the key of the field in the error map, e.g. {@code $.pageCount}
+   * @param message the message, or the start of it, expected for the field
+   * @throws AssertionError if any of the error message verifications fail
+   */
+  public void verifyErrorInvalidField(Response response, String errorKey, String message) {
+    new ErrorVerificationEngine(ErrorExpectation.validation(errorKey, message)).verify(response);
   }
 
   /**
@@ -148,7 +125,26 @@ public class ErrorMessagesVerification {
    * @throws AssertionError if any of the error message verifications fail
    */
   public void verifyErrorNotFound(Response response) {
-    assertEquals(response.jsonPath().getString(ERROR_MESSAGE_TITLE_KEY), ERROR_MESSAGE_NOT_FOUND);
-    assertNotNull(response.jsonPath().get(ERROR_MESSAGE_TRACEID_KEY));
+    NOT_FOUND.verify(response);
+  }
+
+  /**
+   * Verifies many not-found responses at once, e.g. of a bulk negative run, in parallel.
+   *
+   * @param responses the responses to verify
+   * @return the aggregated result; call {@link VerificationReport#assertSuccess()} to fail on it
+   */
+  public VerificationReport verifyAllNotFound(List<? extends Response> responses) {
+    return NOT_FOUND.verifyAllParallel(responses);
+  }
+
+  /**
+   * Verifies many invalid page count responses at once, in parallel.
+   *
+   * @param responses the responses to verify
+   * @return the aggregated result; call {@link VerificationReport#assertSuccess()} to fail on it
+   */
+  public VerificationReport verifyAllInvalidPageCount(List<? extends Response> responses) {
+    return INVALID_PAGE_COUNT.verifyAllParallel(responses);
   }
 }
@@ -0,0 +1,120 @@
+package com.api.test.verifications;
+
+import com.api.test.json.JsonSerializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ErrorVerificationEngine} class checks error responses against an {@link
+ * ErrorExpectation}. Each body is parsed into a tree exactly once with the shared {@link
+ * JsonSerializer} mapper, and every expectation is checked against that tree, instead of parsing
+ * the body again for every field as {@code response.jsonPath()} does.
+ *
+ * <pre>
+ * Example usage:
+ * {@code
+ *   ErrorVerificationEngine engine = new ErrorVerificationEngine(ErrorExpectation.notFound());
+ *   engine.verify(response);
+ *   engine.verifyAllParallel(responses).assertSuccess();
+ * }
+ * </pre>
+ *
+ * <p>Many responses can be checked in one go, on the calling thread with {@link #verifyAll(List)}
+ * or on the common fork-join pool with {@link #verifyAllParallel(List)}; both return a {@link
+ * VerificationReport} that aggregates the failures instead of stopping at the first one. The engine
+ * is immutable and thread-safe.
+ */
+public class ErrorVerificationEngine {
+
+  private static final int MAX_EXAMPLES = 10;
+
+  private final ErrorExpectation expectation;
+
+  public ErrorVerificationEngine(ErrorExpectation expectation) {
+    this.expectation = expectation;
+  }
+
+  /**
+   * Checks one response.
+   *
+   * @param response the response to verify
+   * @throws AssertionError if the body does not meet the expectation
+   */
+  public void verify(Response response) {
+    String failure = check(response.asByteArray());
+    if (failure != null) {
+      throw new AssertionError(failure);
+    }
+  }
+
+  /**
+   * Checks one body.
+   *
+   * @param body the raw JSON body
+   * @return a description of the first expectation that is not met, or {@code null} if all are
+   */
+  public String check(byte[] body) {
+    JsonNode tree;
+    try {
+      tree = JsonSerializer.mapper().readTree(body);
+    } catch (IOException e) {
+      return "Body is not valid JSON";
+    }
+    if (tree == null || !tree.isObject()) {
+      return "Body is not a JSON object";
+    }
+    return expectation.check(tree);
+  }
+
+  /** Checks every response on the calling thread. */
+  public VerificationReport verifyAll(List<? extends Response> responses) {
+    return verifyAll(responses, false);
+  }
+
+  /** Checks the responses in parallel on the common fork-join pool. */
+  public VerificationReport verifyAllParallel(List<? extends Response> responses) {
+    return verifyAll(responses, true);
+  }
+
+  private VerificationReport verifyAll(List<? extends Response> responses, boolean parallel) {
+    Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    // Keyed by index, so the first failures are reported whatever the order they are found in.
+    ConcurrentSkipListMap<Integer, String> examples = new ConcurrentSkipListMap<>();
+    IntStream indexes = IntStream.range(0, responses.size());
+    (parallel ? indexes.parallel() : indexes)
+        .forEach(
+            i -> {
+              String failure = check(responses.get(i).asByteArray());
+              if (failure == null) {
+                return;
+              }
+              counts.computeIfAbsent(failure, reason -> new LongAdder()).increment();
+              examples.put(i, failure);
+              if (examples.size() > MAX_EXAMPLES) {
+                examples.pollLastEntry();
+              }
+            });
+
+    Map<String, Long> failuresByReason = new TreeMap<>();
+    counts.forEach((reason, count) -> failuresByReason.put(reason, count.sum()));
+    List<String> firstFailures = new ArrayList<>();
+    examples.entrySet().stream()
+        .limit(MAX_EXAMPLES)
+        .forEach(e -> firstFailures.add("#" + e.getKey() + ": " + e.getValue()));
+    return new VerificationReport(
+        responses.size(),
+        failuresByReason.values().stream().mapToLong(Long::longValue).sum(),
+        Collections.unmodifiableMap(failuresByReason),
+        Collections.unmodifiableList(firstFailures));
+  }
+}
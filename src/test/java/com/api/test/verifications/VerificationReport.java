@@ -0,0 +1,46 @@
+package com.api.test.verifications;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Immutable, aggregated result of checking many responses with {@link ErrorVerificationEngine}: how
+ * many were checked, how many failed, how often each failure occurred, and the first failures with
+ * the index of their response.
+ */
+@Value
+public class VerificationReport {
+  long checked;
+  long failed;
+  Map<String, Long> failuresByReason;
+  List<String> examples;
+
+  public boolean isSuccess() {
+    return failed == 0;
+  }
+
+  /**
+   * Fails with all failure reasons and their counts if any response failed.
+   *
+   * @throws AssertionError if any response failed
+   */
+  public void assertSuccess() {
+    if (!isSuccess()) {
+      throw new AssertionError(toString());
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder out =
+        new StringBuilder(String.format("%d of %d responses failed", failed, checked));
+    failuresByReason.forEach(
+        (reason, count) -> out.append(String.format("%n  %dx %s", count, reason)));
+    if (!examples.isEmpty()) {
+      out.append(String.format("%nFirst failures:"));
+      examples.forEach(example -> out.append(String.format("%n  %s", example)));
+    }
+    return out.toString();
+  }
+}